@@ -0,0 +1,55 @@
+package com.kone.kitms.config;
+
+import com.kone.kitms.service.AttachmentStore;
+import com.kone.kitms.service.InMemoryAttachmentStore;
+import com.kone.kitms.service.LocalShardedAttachmentStore;
+import java.io.IOException;
+import java.nio.file.Paths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * KITMS 첨부파일 저장소 설정 클래스
+ *
+ * 이 클래스는 업로드 파일을 저장하는 AttachmentStore 빈을 구성합니다:
+ * - imageAttachmentStore: 업로드 이미지/파일 (KitmsAttachResource, UploadController, 분할 업로드)
+ *   이미지 색인 대상 디렉토리(app.upload.path) 아래에 저장하여 보안 이미지 API로 제공
+ * - fileAttachmentStore: FileService 첨부파일 (내용 주소 저장소, 키 = SHA-256)
+ * - attach.store.type: local(기본, 해시 분산 디렉토리) 또는 memory(테스트용)
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Configuration
+public class AttachmentStoreConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(AttachmentStoreConfiguration.class);
+
+    public static final String STORE_TYPE_MEMORY = "memory";
+
+    @Value("${attach.store.type:local}")
+    private String storeType;
+
+    @Bean(name = "imageAttachmentStore")
+    public AttachmentStore imageAttachmentStore(@Value("${app.upload.path:./images}") String uploadPath) throws IOException {
+        return createStore(uploadPath);
+    }
+
+    @Bean(name = "fileAttachmentStore")
+    public AttachmentStore fileAttachmentStore(@Value("${attach.file.cas-path:${attach.file.base-path}cas/}") String casPath)
+        throws IOException {
+        return createStore(casPath);
+    }
+
+    private AttachmentStore createStore(String rootPath) throws IOException {
+        if (STORE_TYPE_MEMORY.equalsIgnoreCase(storeType)) {
+            log.warn("메모리 첨부파일 저장소 사용 (재시작 시 파일이 사라짐): {}", rootPath);
+            return new InMemoryAttachmentStore();
+        }
+        return new LocalShardedAttachmentStore(Paths.get(rootPath));
+    }
+}
@@ -1,9 +1,12 @@
 package com.kone.kitms.config;
 
+import com.kone.kitms.service.NoticeReadCache;
+import com.kone.kitms.service.dto.KitmsNoticeDTO;
 import java.time.Duration;
 import org.ehcache.config.builders.*;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
@@ -24,6 +27,7 @@ import tech.jhipster.config.cache.PrefixedKeyGenerator;
  * - 키 생성기 설정
  * - Git 및 빌드 속성 기반 키 생성
  * - 캐시 성능 최적화
+ * - 공지사항 공개 조회 타입 캐시 (NoticeReadCache, 크기/TTL은 notice.cache.*)
  * 
  * @author KITMS Development Team
  * @version 1.0
@@ -37,6 +41,15 @@ public class CacheConfiguration {
     private BuildProperties buildProperties;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
 
+    @Value("${notice.cache.ttl-seconds:300}")
+    private long noticeCacheTtlSeconds = 300;
+
+    @Value("${notice.cache.page-max-entries:50}")
+    private long noticePageMaxEntries = 50;
+
+    @Value("${notice.cache.detail-max-entries:1000}")
+    private long noticeDetailMaxEntries = 1000;
+
     public CacheConfiguration(JHipsterProperties jHipsterProperties) {
         JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
 
@@ -56,6 +69,9 @@ public class CacheConfiguration {
             createCache(cm, com.kone.kitms.domain.KitmsLoginLog.class.getName());
             createCache(cm, com.kone.kitms.domain.KitmsNotice.class.getName());
             createCache(cm, com.kone.kitms.domain.KitmsAttach.class.getName());
+            createTypedCache(cm, NoticeReadCache.STATIC_LIST_CACHE, Integer.class, NoticeReadCache.NoticePage.class, noticePageMaxEntries);
+            createTypedCache(cm, NoticeReadCache.PAGE_CACHE, String.class, NoticeReadCache.NoticePage.class, noticePageMaxEntries);
+            createTypedCache(cm, NoticeReadCache.DETAIL_CACHE, Long.class, KitmsNoticeDTO.class, noticeDetailMaxEntries);
         };
     }
 
@@ -68,6 +84,29 @@ public class CacheConfiguration {
         }
     }
 
+    private <K, V> void createTypedCache(
+        javax.cache.CacheManager cm,
+        String cacheName,
+        Class<K> keyType,
+        Class<V> valueType,
+        long maxEntries
+    ) {
+        javax.cache.Cache<K, V> cache = cm.getCache(cacheName, keyType, valueType);
+        if (cache != null) {
+            cache.clear();
+        } else {
+            cm.createCache(
+                cacheName,
+                Eh107Configuration.fromEhcacheCacheConfiguration(
+                    CacheConfigurationBuilder
+                        .newCacheConfigurationBuilder(keyType, valueType, ResourcePoolsBuilder.heap(maxEntries))
+                        .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(noticeCacheTtlSeconds)))
+                        .build()
+                )
+            );
+        }
+    }
+
     @Autowired(required = false)
     public void setGitProperties(GitProperties gitProperties) {
         this.gitProperties = gitProperties;
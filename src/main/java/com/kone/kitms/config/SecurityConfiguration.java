@@ -7,6 +7,7 @@ import static org.springframework.security.config.Customizer.withDefaults;
 import com.kone.kitms.web.filter.SpaWebFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -145,6 +146,7 @@ public class SecurityConfiguration {
                     .requestMatchers(mvc.pattern("/api/newsrooms/public")).permitAll()      // 뉴스룸 공개 목록 조회
                     .requestMatchers(mvc.pattern("/api/newsrooms/recent")).permitAll()      // 최근 뉴스룸 조회
                     .requestMatchers(mvc.pattern("/api/newsrooms/{id}")).permitAll()        // 뉴스룸 상세 조회
+                    .requestMatchers(mvc.pattern(HttpMethod.GET, "/api/search")).permitAll() // 통합 검색 (재구성은 인증 필요)
                     
                     // 나머지 모든 API는 인증 필요 (핵심 변경)
                     .requestMatchers(mvc.pattern("/api/**")).authenticated()
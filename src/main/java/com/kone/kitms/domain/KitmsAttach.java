@@ -11,9 +11,12 @@ import java.time.ZonedDateTime;
  * 이 클래스는 KITMS 시스템의 첨부파일 정보를 저장하는 엔티티입니다:
  * - 다양한 테이블에 대한 첨부파일 관리
  * - 파일 경로, 이름, 크기 정보 저장
+ * - 내용 주소 저장소 파일의 SHA-256 해시 저장 (같은 해시의 행 수 = 참조 횟수)
  * - 썸네일 이미지 설정 지원
- * - 파일 바이너리 데이터 저장
+ * - 파일 바이너리 데이터(attach_file 컬럼)는 엔티티에 매핑하지 않음
+ *   (목록/상세 조회 시 BLOB을 읽지 않도록 KitmsAttachRepository의 전용 쿼리로만 조회/저장)
  * - 생성 일시 및 사용자 추적
+ * - 기본 키는 kitms_attach_seq 시퀀스로 미리 할당 (여러 파일 저장 시 INSERT 배치 처리)
  * - JPA 엔티티로 데이터베이스 매핑
  * 
  * @author KITMS Development Team
@@ -27,8 +30,10 @@ public class KitmsAttach implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    // IDENTITY는 INSERT마다 키를 받아와야 해서 JDBC 배치가 꺼지므로 시퀀스(50개 단위 할당) 사용
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "kitmsAttachSequence")
+    @SequenceGenerator(name = "kitmsAttachSequence", sequenceName = "kitms_attach_seq", allocationSize = 50)
     @Column(name = "attach_no")
     private Long attachNo;
 
@@ -54,6 +59,10 @@ public class KitmsAttach implements Serializable {
     @Column(name = "attach_file_size", nullable = true)
     private long attachFileSize;
 
+    @Size(max = 64)
+    @Column(name = "attach_file_hash", length = 64, nullable = true)
+    private String attachFileHash;
+
     @NotNull
     @Column(name = "create_dt", nullable = false)
     private ZonedDateTime createDt;
@@ -63,28 +72,11 @@ public class KitmsAttach implements Serializable {
     @Column(name = "create_user_id", length = 30, nullable = false)
     private String createUserId;
 
-    @Lob
-    @Column(name = "attach_file", nullable = true)
-    private byte[] attachFile;
-
     @Column(name = "is_thumbnail", nullable = false)
     private Boolean isThumbnail = false;
 
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
-    public byte[] getAttachFile() {
-        return this.attachFile;
-    }
-
-    public KitmsAttach attachFile(byte[] attachFile) {
-        this.setAttachFile(attachFile);
-        return this;
-    }
-
-    public void setAttachFile(byte[] attachFile) {
-        this.attachFile = attachFile;
-    }
-
     public Long getAttachNo() {
         return this.attachNo;
     }
@@ -150,6 +142,19 @@ public class KitmsAttach implements Serializable {
         this.attachFilePath = attachFilePath;
     }
 
+    public String getAttachFileHash() {
+        return this.attachFileHash;
+    }
+
+    public KitmsAttach attachFileHash(String attachFileHash) {
+        this.setAttachFileHash(attachFileHash);
+        return this;
+    }
+
+    public void setAttachFileHash(String attachFileHash) {
+        this.attachFileHash = attachFileHash;
+    }
+
     public String getAttachFileName() {
         return this.attachFileName;
     }
@@ -0,0 +1,151 @@
+package com.kone.kitms.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+
+/**
+ * KITMS 파일 삭제 대기열 엔티티 클래스
+ *
+ * 이 클래스는 트랜잭션 커밋 후 삭제할 물리 파일을 기록하는 엔티티입니다:
+ * - 경로 저장 방식 파일은 filePath, 내용 주소 저장소 파일은 fileHash로 기록
+ * - 첨부파일 행 삭제와 같은 트랜잭션에서 저장 (롤백 시 함께 취소)
+ * - 삭제 실패 시 시도 횟수와 다음 시도 일시를 갱신하여 재시도
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Entity
+@Table(name = "kitms_file_deletion")
+public class KitmsFileDeletion implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "deletion_no")
+    private Long deletionNo;
+
+    @Size(max = 500)
+    @Column(name = "file_path", length = 500)
+    private String filePath;
+
+    @Size(max = 64)
+    @Column(name = "file_hash", length = 64)
+    private String fileHash;
+
+    @Column(name = "attempt_count", nullable = false)
+    private int attemptCount;
+
+    @NotNull
+    @Column(name = "next_attempt_dt", nullable = false)
+    private ZonedDateTime nextAttemptDt;
+
+    @Size(max = 500)
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @NotNull
+    @Column(name = "create_dt", nullable = false)
+    private ZonedDateTime createDt;
+
+    public static KitmsFileDeletion ofPath(String filePath) {
+        KitmsFileDeletion deletion = new KitmsFileDeletion();
+        deletion.filePath = filePath;
+        deletion.createDt = ZonedDateTime.now();
+        deletion.nextAttemptDt = deletion.createDt;
+        return deletion;
+    }
+
+    public static KitmsFileDeletion ofHash(String fileHash) {
+        KitmsFileDeletion deletion = new KitmsFileDeletion();
+        deletion.fileHash = fileHash;
+        deletion.createDt = ZonedDateTime.now();
+        deletion.nextAttemptDt = deletion.createDt;
+        return deletion;
+    }
+
+    public Long getDeletionNo() {
+        return deletionNo;
+    }
+
+    public void setDeletionNo(Long deletionNo) {
+        this.deletionNo = deletionNo;
+    }
+
+    public String getFilePath() {
+        return filePath;
+    }
+
+    public void setFilePath(String filePath) {
+        this.filePath = filePath;
+    }
+
+    public String getFileHash() {
+        return fileHash;
+    }
+
+    public void setFileHash(String fileHash) {
+        this.fileHash = fileHash;
+    }
+
+    public int getAttemptCount() {
+        return attemptCount;
+    }
+
+    public void setAttemptCount(int attemptCount) {
+        this.attemptCount = attemptCount;
+    }
+
+    public ZonedDateTime getNextAttemptDt() {
+        return nextAttemptDt;
+    }
+
+    public void setNextAttemptDt(ZonedDateTime nextAttemptDt) {
+        this.nextAttemptDt = nextAttemptDt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public ZonedDateTime getCreateDt() {
+        return createDt;
+    }
+
+    public void setCreateDt(ZonedDateTime createDt) {
+        this.createDt = createDt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof KitmsFileDeletion)) {
+            return false;
+        }
+        return getDeletionNo() != null && getDeletionNo().equals(((KitmsFileDeletion) o).getDeletionNo());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "KitmsFileDeletion{" +
+            "deletionNo=" + getDeletionNo() +
+            ", filePath='" + getFilePath() + "'" +
+            ", fileHash='" + getFileHash() + "'" +
+            ", attemptCount=" + getAttemptCount() +
+            "}";
+    }
+}
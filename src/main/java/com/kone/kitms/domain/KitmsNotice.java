@@ -17,6 +17,7 @@ import java.time.ZonedDateTime;
  * - createUserId: 작성자 ID
  * - createDt: 작성일시
  * - staticFlag: 고정 공지 여부 (true: 상단 고정, false: 일반)
+ * - noticeSummary / noticeContentLength / noticeImage: 목록용 요약 정보 (저장 시 본문에서 생성)
  * 
  * @author KITMS Development Team
  * @version 1.0
@@ -54,6 +55,18 @@ public class KitmsNotice implements Serializable {
     @Column(name = "static_flag", nullable = false)
     private Boolean staticFlag;
 
+    // 목록용 요약 정보 (NoticeSummaryService가 저장 시 본문에서 생성)
+    @Size(max = 200)
+    @Column(name = "notice_summary", length = 200)
+    private String noticeSummary;
+
+    @Column(name = "notice_content_length")
+    private Integer noticeContentLength;
+
+    @Size(max = 500)
+    @Column(name = "notice_image", length = 500)
+    private String noticeImage;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getNoticeNo() {
@@ -134,6 +147,45 @@ public class KitmsNotice implements Serializable {
         this.staticFlag = staticFlag;
     }
 
+    public String getNoticeSummary() {
+        return this.noticeSummary;
+    }
+
+    public KitmsNotice noticeSummary(String noticeSummary) {
+        this.setNoticeSummary(noticeSummary);
+        return this;
+    }
+
+    public void setNoticeSummary(String noticeSummary) {
+        this.noticeSummary = noticeSummary;
+    }
+
+    public Integer getNoticeContentLength() {
+        return this.noticeContentLength;
+    }
+
+    public KitmsNotice noticeContentLength(Integer noticeContentLength) {
+        this.setNoticeContentLength(noticeContentLength);
+        return this;
+    }
+
+    public void setNoticeContentLength(Integer noticeContentLength) {
+        this.noticeContentLength = noticeContentLength;
+    }
+
+    public String getNoticeImage() {
+        return this.noticeImage;
+    }
+
+    public KitmsNotice noticeImage(String noticeImage) {
+        this.setNoticeImage(noticeImage);
+        return this;
+    }
+
+    public void setNoticeImage(String noticeImage) {
+        this.noticeImage = noticeImage;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -163,6 +215,7 @@ public class KitmsNotice implements Serializable {
             ", createDt='" + getCreateDt() + "'" +
             ", createUserId='" + getCreateUserId() + "'" +
             ", staticFlag='" + getStaticFlag() + "'" +
+            ", noticeContentLength=" + getNoticeContentLength() +
             "}";
     }
 }
@@ -13,7 +13,7 @@ import org.springframework.stereotype.Repository;
  * - 고정 공지사항 조회
  * - 전체 공지사항 조회
  * - 공지사항 검색 및 필터링
- * - 페이징 처리 지원
+ * - 페이징 처리 지원 (LIMIT/OFFSET 및 키셋 페이징, 총 개수는 별도 COUNT 쿼리)
  * 
  * @author KITMS Development Team
  * @version 1.0
@@ -23,4 +23,5 @@ import org.springframework.stereotype.Repository;
 public interface KitmsNoticeMapper {
     List<KitmsNoticeVO> getNoticeStaticList(KitmsCommonParamVO kitmsCommonParamVO);
     List<KitmsNoticeVO> getNoticeAllList(KitmsCommonParamVO kitmsCommonParamVO);
+    int getNoticeAllCount(KitmsCommonParamVO kitmsCommonParamVO);
 }
@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Value;
  * 
  * 이 클래스는 KITMS 시스템의 MyBatis 쿼리에서 사용되는 공통 파라미터를 담는 VO입니다:
  * - 페이징 처리 (start, end, page, size, totalCount)
+ * - 키셋(seek) 페이징 (lastStaticFlag, lastCreateDt, lastNoticeNo: 이전 페이지 마지막 행)
  * - 검색 조건 (searchColumn, searchValue, searchArray)
  * - 정렬 조건 (sortCol, order)
  * - 조직 정보 (organNo, organNoList)
@@ -34,6 +35,11 @@ public class KitmsCommonParamVO {
 
     int noticeStaticCount;
 
+    // 키셋 페이징 커서 (이전 페이지 마지막 행의 정렬 키)
+    Integer lastStaticFlag;
+    String lastCreateDt;
+    Long lastNoticeNo;
+
     String sortCol;
     String order;
 
@@ -182,6 +188,44 @@ public class KitmsCommonParamVO {
         this.noticeStaticCount = noticeStaticCount;
     }
 
+    public Integer getLastStaticFlag() {
+        return lastStaticFlag;
+    }
+
+    public void setLastStaticFlag(Integer lastStaticFlag) {
+        this.lastStaticFlag = lastStaticFlag;
+    }
+
+    public String getLastCreateDt() {
+        return lastCreateDt;
+    }
+
+    public void setLastCreateDt(String lastCreateDt) {
+        this.lastCreateDt = lastCreateDt;
+    }
+
+    public Long getLastNoticeNo() {
+        return lastNoticeNo;
+    }
+
+    public void setLastNoticeNo(Long lastNoticeNo) {
+        this.lastNoticeNo = lastNoticeNo;
+    }
+
+    /**
+     * 커서가 모두 있으면 키셋 페이징 (OFFSET 없이 이전 페이지 마지막 행 다음부터 조회)
+     */
+    public boolean isKeyset() {
+        return lastStaticFlag != null && lastCreateDt != null && !lastCreateDt.isEmpty() && lastNoticeNo != null;
+    }
+
+    /**
+     * LIMIT/OFFSET 페이징의 건너뛸 행 수
+     */
+    public int getOffset() {
+        return Math.max(start - 1, 0);
+    }
+
     public String getOrder() {
         return order;
     }
@@ -409,6 +453,13 @@ public class KitmsCommonParamVO {
             totalCount +
             ", noticeStaticCount=" +
             noticeStaticCount +
+            ", lastStaticFlag=" +
+            lastStaticFlag +
+            ", lastCreateDt='" +
+            lastCreateDt +
+            '\'' +
+            ", lastNoticeNo=" +
+            lastNoticeNo +
             ", sortCol='" +
             sortCol +
             '\'' +
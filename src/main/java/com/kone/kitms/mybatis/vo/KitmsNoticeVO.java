@@ -7,10 +7,11 @@ import org.apache.ibatis.type.Alias;
  * KITMS 공지사항 VO 클래스
  * 
  * 이 클래스는 KITMS 시스템의 공지사항 정보를 담는 VO입니다:
- * - 공지사항 기본 정보 (noticeNo, noticeTitle, noticeContent)
+ * - 공지사항 기본 정보 (noticeNo, noticeTitle)
+ * - 목록용 요약 정보 (noticeSummary, noticeContentLength, noticeImage: 본문 LOB는 목록에서 조회하지 않음)
  * - 공지사항 상태 정보 (staticFlag: 고정 공지 여부)
  * - 작성자 정보 (createUserId, createUserName)
- * - 생성 일시 (createDt)
+ * - 생성 일시 (createDt, 키셋 페이징 커서용 sortCreateDt)
  * - 첨부파일 존재 여부 (fileExist)
  * - 총 개수 정보 (totalCount)
  * 
@@ -23,11 +24,22 @@ public class KitmsNoticeVO {
 
     String noticeNo;
     String noticeTitle;
-    String noticeContent;
+    String noticeSummary;
+    Integer noticeContentLength;
+    String noticeImage;
     String staticFlag;
     String createUserId;
     String createUserName;
     String createDt;
+    String sortCreateDt;
+
+    public String getSortCreateDt() {
+        return sortCreateDt;
+    }
+
+    public void setSortCreateDt(String sortCreateDt) {
+        this.sortCreateDt = sortCreateDt;
+    }
 
     public String getCreateUserName() {
         return createUserName;
@@ -72,12 +84,28 @@ public class KitmsNoticeVO {
         this.noticeTitle = noticeTitle;
     }
 
-    public String getNoticeContent() {
-        return noticeContent;
+    public String getNoticeSummary() {
+        return noticeSummary;
+    }
+
+    public void setNoticeSummary(String noticeSummary) {
+        this.noticeSummary = noticeSummary;
+    }
+
+    public Integer getNoticeContentLength() {
+        return noticeContentLength;
+    }
+
+    public void setNoticeContentLength(Integer noticeContentLength) {
+        this.noticeContentLength = noticeContentLength;
+    }
+
+    public String getNoticeImage() {
+        return noticeImage;
     }
 
-    public void setNoticeContent(String noticeContent) {
-        this.noticeContent = noticeContent;
+    public void setNoticeImage(String noticeImage) {
+        this.noticeImage = noticeImage;
     }
 
     public String getStaticFlag() {
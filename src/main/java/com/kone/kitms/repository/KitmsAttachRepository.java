@@ -1,17 +1,40 @@
 package com.kone.kitms.repository;
 
 import com.kone.kitms.domain.KitmsAttach;
+import com.kone.kitms.service.dto.KitmsAttachDTO;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Spring Data JPA repository for the KitmsAttach entity.
+ *
+ * 파일 바이너리 데이터(attach_file)는 엔티티에 매핑되어 있지 않으므로 전용 쿼리로만 조회/저장합니다.
  */
 @SuppressWarnings("unused")
 @Repository
 public interface KitmsAttachRepository extends JpaRepository<KitmsAttach, Long> {
-    void deleteByAttachTableNameAndAttachTablePk(String attachTableName, Long attachTablePk);
+    String ATTACH_DTO_SELECT =
+        "select new com.kone.kitms.service.dto.KitmsAttachDTO(" +
+        "a.attachNo, a.attachTableName, a.attachTablePk, a.attachFilePath, a.attachFileName, " +
+        "a.attachFileSize, a.createDt, a.createUserId, a.isThumbnail) from KitmsAttach a ";
+
+    // 파생 삭제 메서드는 행을 하나씩 조회/삭제하므로 단일 DELETE 문으로 처리
+    @Transactional
+    @Modifying
+    @Query("delete from KitmsAttach a where a.attachTableName = :attachTableName and a.attachTablePk = :attachTablePk")
+    int deleteByAttachTableNameAndAttachTablePk(
+        @Param("attachTableName") String attachTableName,
+        @Param("attachTablePk") Long attachTablePk
+    );
+
+    @Transactional
+    @Modifying
+    @Query("delete from KitmsAttach a where a.attachNo in :attachNos")
+    int deleteAllByAttachNoIn(@Param("attachNos") Collection<Long> attachNos);
 
     List<KitmsAttach> findAllByAttachTableNameAndAttachTablePk(String attachTableName, Long attachTablePk);
 
@@ -20,4 +43,54 @@ public interface KitmsAttachRepository extends JpaRepository<KitmsAttach, Long>
     
     // 공지사항 이미지 조회
     List<KitmsAttach> findByAttachTableNameAndAttachTablePk(String attachTableName, Long attachTablePk);
+
+    // 내용 주소 저장소 파일 참조 횟수
+    long countByAttachFileHash(String attachFileHash);
+
+    // 같은 파일 경로를 가리키는 행 수 (해시 없는 기존 첨부파일 삭제 시 확인)
+    long countByAttachFilePath(String attachFilePath);
+
+    // 파일 경로/해시 목록 (고아 파일 정리용)
+    @Query("select a.attachFilePath from KitmsAttach a")
+    List<String> findAllAttachFilePaths();
+
+    @Query("select distinct a.attachFileHash from KitmsAttach a where a.attachFileHash is not null")
+    List<String> findAllAttachFileHashes();
+
+    // 첨부파일 저장소 이전 (분산 디렉토리/내용 주소 저장소로 옮긴 파일 경로 갱신)
+    @Query("select a from KitmsAttach a where a.attachFileHash is null and a.attachFilePath is not null")
+    List<KitmsAttach> findAllWithoutFileHash();
+
+    @Transactional
+    @Modifying
+    @Query("update KitmsAttach a set a.attachFilePath = :newPath where a.attachFilePath = :oldPath")
+    int updateAttachFilePath(@Param("oldPath") String oldPath, @Param("newPath") String newPath);
+
+    @Transactional
+    @Modifying
+    @Query("update KitmsAttach a set a.attachFilePath = :filePath, a.attachFileHash = :fileHash where a.attachNo = :attachNo")
+    int updateAttachFileLocation(
+        @Param("attachNo") Long attachNo,
+        @Param("filePath") String filePath,
+        @Param("fileHash") String fileHash
+    );
+
+    // 첨부파일 메타데이터 목록 조회 (바이너리 데이터 제외)
+    @Query(ATTACH_DTO_SELECT + "order by a.attachNo")
+    List<KitmsAttachDTO> findAllAttachDTOs();
+
+    @Query(ATTACH_DTO_SELECT + "where a.attachTableName = :attachTableName and a.attachTablePk = :attachTablePk order by a.attachNo")
+    List<KitmsAttachDTO> findAttachDTOsByTable(
+        @Param("attachTableName") String attachTableName,
+        @Param("attachTablePk") Long attachTablePk
+    );
+
+    // 파일 바이너리 데이터 조회 (DB 저장 방식 첨부파일 다운로드 시에만 사용)
+    @Query(value = "select attach_file from kitms_attach where attach_no = :attachNo", nativeQuery = true)
+    byte[] findAttachFileByAttachNo(@Param("attachNo") Long attachNo);
+
+    @Transactional
+    @Modifying
+    @Query(value = "update kitms_attach set attach_file = :attachFile where attach_no = :attachNo", nativeQuery = true)
+    int updateAttachFile(@Param("attachNo") Long attachNo, @Param("attachFile") byte[] attachFile);
 }
@@ -0,0 +1,37 @@
+package com.kone.kitms.repository;
+
+import com.kone.kitms.domain.KitmsFileDeletion;
+import jakarta.persistence.QueryHint;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the KitmsFileDeletion entity.
+ */
+@Repository
+public interface KitmsFileDeletionRepository extends JpaRepository<KitmsFileDeletion, Long> {
+    // 삭제 시도 시각이 된 대기 항목 (등록 순서)
+    @Query(
+        "select d from KitmsFileDeletion d where d.attemptCount < :maxAttempts and d.nextAttemptDt <= :now order by d.deletionNo"
+    )
+    List<KitmsFileDeletion> findDue(@Param("maxAttempts") int maxAttempts, @Param("now") ZonedDateTime now, Pageable pageable);
+
+    // 재시도 한도를 넘어 수동 확인이 필요한 항목 수
+    long countByAttemptCountGreaterThanEqual(int attemptCount);
+
+    // 본문/이미지 컬럼 전체 (정리 작업 시 한 번만 훑어 참조 파일명 수집, 에디터 삽입 이미지 보호용)
+    @Query(
+        value = "select notice_content from kitms_notice where notice_content is not null" +
+        " union all select page_content from cms_content where page_content is not null" +
+        " union all select preview_content from cms_content where preview_content is not null" +
+        " union all select newsroom_image from kitms_newsroom where newsroom_image is not null",
+        nativeQuery = true
+    )
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "50"))
+    Stream<String> streamContentColumns();
+}
@@ -46,4 +46,16 @@ public interface KitmsNewsroomRepository extends JpaRepository<KitmsNewsroom, Lo
      */
     @Query("SELECT COUNT(n) FROM KitmsNewsroom n")
     long countAllNewsrooms();
+
+    /**
+     * 활성 보도자료 번호/제목 목록 조회 (자동완성 색인용)
+     */
+    @Query("SELECT n.newsroomNo, n.newsroomTitle FROM KitmsNewsroom n WHERE n.newsroomStatus = 'ACTIVE'")
+    List<Object[]> findActiveNewsroomTitles();
+
+    /**
+     * 활성 보도자료 제목 조회 (자동완성 색인 갱신용)
+     */
+    @Query("SELECT n.newsroomTitle FROM KitmsNewsroom n WHERE n.newsroomNo = :newsroomNo AND n.newsroomStatus = 'ACTIVE'")
+    Optional<String> findActiveNewsroomTitle(@Param("newsroomNo") Long newsroomNo);
 }
@@ -1,7 +1,11 @@
 package com.kone.kitms.repository;
 
 import com.kone.kitms.domain.KitmsNotice;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +13,14 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface KitmsNoticeRepository extends JpaRepository<KitmsNotice, Long> {}
+public interface KitmsNoticeRepository extends JpaRepository<KitmsNotice, Long> {
+    // 목록용 요약 정보가 없는 공지사항 (기존 데이터 채우기용)
+    List<KitmsNotice> findByNoticeContentLengthIsNull(Pageable pageable);
+
+    // 자동완성 색인용 (번호, 제목) - 본문 LOB는 읽지 않음
+    @Query("select n.noticeNo, n.noticeTitle from KitmsNotice n")
+    List<Object[]> findAllNoticeTitles();
+
+    @Query("select n.noticeTitle from KitmsNotice n where n.noticeNo = :noticeNo")
+    Optional<String> findNoticeTitleByNoticeNo(@Param("noticeNo") Long noticeNo);
+}
@@ -42,4 +42,11 @@ public interface KitmsUserRepository extends JpaRepository<KitmsUser, Long> {
     boolean existsByUserEmail(String userEmail);
 
     boolean existsByUserIdIgnoreCase(String userId);
+
+    // 자동완성 색인용 (번호, 이름)
+    @Query("select m.userNo, m.userName from KitmsUser m")
+    List<Object[]> findAllUserNames();
+
+    @Query("select m.userName from KitmsUser m where m.userNo = :userNo")
+    Optional<String> findUserNameByUserNo(@Param("userNo") Long userNo);
 }
@@ -19,6 +19,7 @@ import java.util.Set;
  * - 허용된 파일 확장자 검증
  * - 실행 가능한 파일 차단
  * - 파일 크기 및 내용 검증
+ * - 업로드 스트림에서 먼저 읽은 헤더 바이트만으로 시그니처 검증 (단일 패스 업로드용)
  * - 멀웨어 및 악성 파일 차단
  *
  * @author KITMS Development Team
@@ -92,6 +93,49 @@ public class FileSecurityValidator {
         return validateFile(filename, inputStream, ALLOWED_DOCUMENT_EXTENSIONS, false);
     }
 
+    /**
+     * 확장자별 시그니처 길이 (업로드 스트림에서 먼저 모아야 할 헤더 바이트 수)
+     *
+     * @param filename 파일명
+     * @return 시그니처 길이, 시그니처가 없는 형식이면 0
+     */
+    public int getSignatureLength(String filename) {
+        byte[] expectedSignature = getExpectedSignature(filename);
+        return expectedSignature != null ? expectedSignature.length : 0;
+    }
+
+    /**
+     * 이미 읽은 파일 헤더로 시그니처 검증 (스트림을 다시 읽지 않는 업로드 처리용)
+     *
+     * @param filename 파일명
+     * @param header 파일 앞부분 바이트 (시그니처 길이보다 길어도 됨)
+     * @return 검증 결과
+     */
+    public ValidationResult validateSignature(String filename, byte[] header) {
+        return validateSignature(getExpectedSignature(filename), header);
+    }
+
+    private ValidationResult validateSignature(byte[] expectedSignature, byte[] header) {
+        if (expectedSignature == null || expectedSignature.length == 0) {
+            // 시그니처가 없는 파일 형식 (예: txt)
+            return ValidationResult.success();
+        }
+
+        if (header == null || header.length < expectedSignature.length) {
+            return ValidationResult.failure("파일이 손상되었거나 올바르지 않습니다.");
+        }
+
+        // 시그니처 비교
+        byte[] fileHeader = Arrays.copyOf(header, expectedSignature.length);
+        if (!Arrays.equals(fileHeader, expectedSignature)) {
+            log.warn("파일 시그니처 불일치: 예상={}, 실제={}", 
+                Arrays.toString(expectedSignature), Arrays.toString(fileHeader));
+            return ValidationResult.failure("파일 내용과 확장자가 일치하지 않습니다.");
+        }
+
+        return ValidationResult.success();
+    }
+
     /**
      * 파일 보안 검증 메인 메서드
      *
@@ -164,22 +208,9 @@ public class FileSecurityValidator {
                 return ValidationResult.success();
             }
 
-            // 파일 헤더 읽기
-            byte[] fileHeader = new byte[expectedSignature.length];
-            int bytesRead = inputStream.read(fileHeader);
-            
-            if (bytesRead < expectedSignature.length) {
-                return ValidationResult.failure("파일이 손상되었거나 올바르지 않습니다.");
-            }
-
-            // 시그니처 비교
-            if (!Arrays.equals(fileHeader, expectedSignature)) {
-                log.warn("파일 시그니처 불일치: 예상={}, 실제={}", 
-                    Arrays.toString(expectedSignature), Arrays.toString(fileHeader));
-                return ValidationResult.failure("파일 내용과 확장자가 일치하지 않습니다.");
-            }
-
-            return ValidationResult.success();
+            // 파일 헤더 읽기 (read 한 번은 요청보다 적게 읽을 수 있으므로 시그니처 길이만큼 채움)
+            byte[] fileHeader = inputStream.readNBytes(expectedSignature.length);
+            return validateSignature(expectedSignature, fileHeader);
 
         } catch (IOException e) {
             log.error("파일 시그니처 검증 중 오류", e);
@@ -187,6 +218,17 @@ public class FileSecurityValidator {
         }
     }
 
+    /**
+     * 파일명 확장자에 해당하는 시그니처
+     */
+    private byte[] getExpectedSignature(String filename) {
+        if (filename == null) {
+            return null;
+        }
+        String extension = getFileExtension(filename).toLowerCase();
+        return extension.isEmpty() ? null : FILE_SIGNATURES.get(extension.substring(1));
+    }
+
     /**
      * 파일 확장자 추출
      *
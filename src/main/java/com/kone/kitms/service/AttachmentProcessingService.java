@@ -0,0 +1,514 @@
+package com.kone.kitms.service;
+
+import com.kone.kitms.repository.KitmsAttachRepository;
+import com.kone.kitms.security.FileSecurityValidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * KITMS 업로드 후처리 파이프라인 서비스
+ *
+ * 이 클래스는 업로드 요청이 원본 파일과 kitms_attach 행을 저장한 뒤의 작업을 전용 스레드 풀에서 처리합니다:
+ * - 단계 1: SHA-256 해시 계산
+ * - 단계 2: 내용 검증 (파일 시그니처 재확인, 이미지는 실제로 읽을 수 있는지 확인)
+ * - 단계 3: 메타데이터 추출 (Content-Type, 이미지 너비/높이)
+ * - 단계 4: 이미지 변형(리사이즈) 파일 미리 생성
+ * - 작업 큐 크기가 제한되어 있어 가득 차면 새 업로드를 거절(503), 자리는 등록 시점에 동기적으로 확보
+ * - 호출자 트랜잭션이 있으면 커밋 후에 실행 (커밋 전 행을 다른 스레드에서 삭제하지 않도록), 롤백되면 작업 취소
+ * - 작업 ID로 진행 상태 조회 가능 (완료된 작업은 일정 시간 후 정리)
+ *
+ * 검증에 실패하거나 큐가 가득 차 거절된 파일은 kitms_attach 행을 삭제하고 파일은 FileDeletionQueue로 삭제합니다.
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Service
+public class AttachmentProcessingService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentProcessingService.class);
+
+    public static final String PROCESSING_METER_NAME = "attach.processing";
+
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of(".jpg", ".jpeg", ".png", ".gif", ".bmp", ".webp");
+
+    /**
+     * 후처리 작업 상태
+     */
+    public enum JobStatus {
+        QUEUED,
+        PROCESSING,
+        COMPLETED,
+        FAILED,
+    }
+
+    @Value("${attach.processing.threads:2}")
+    private int threads = 2;
+
+    @Value("${attach.processing.queue-capacity:100}")
+    private int queueCapacity = 100;
+
+    // 완료/실패 작업 상태 보관 시간 (기본 1시간)
+    @Value("${attach.processing.job-retention-ms:3600000}")
+    private long jobRetention = 60 * 60 * 1000;
+
+    // 미리 생성할 이미지 변형 너비
+    @Value("${attach.processing.derivative-widths:480,1024}")
+    private int[] derivativeWidths = { 480, 1024 };
+
+    private final FileSecurityValidator fileSecurityValidator;
+
+    private final KitmsAttachRepository kitmsAttachRepository;
+
+    private final FileDeletionQueue fileDeletionQueue;
+
+    private final ImageVariantService imageVariantService;
+
+    private final MeterRegistry registry;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final Map<String, ProcessingJob> jobs = new ConcurrentHashMap<>();
+
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+
+    private ThreadPoolExecutor executor;
+
+    // 실행 중 + 대기 중 작업 수 제한 (커밋 후 실행하므로 등록 시점에 자리를 먼저 확보)
+    private Semaphore slots;
+
+    public AttachmentProcessingService(
+        FileSecurityValidator fileSecurityValidator,
+        KitmsAttachRepository kitmsAttachRepository,
+        FileDeletionQueue fileDeletionQueue,
+        ImageVariantService imageVariantService,
+        MeterRegistry registry,
+        ApplicationEventPublisher applicationEventPublisher
+    ) {
+        this.fileSecurityValidator = fileSecurityValidator;
+        this.kitmsAttachRepository = kitmsAttachRepository;
+        this.fileDeletionQueue = fileDeletionQueue;
+        this.imageVariantService = imageVariantService;
+        this.registry = registry;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.completedCounter = Counter.builder(PROCESSING_METER_NAME + ".jobs").tag("result", "completed").register(registry);
+        this.failedCounter = Counter.builder(PROCESSING_METER_NAME + ".jobs").tag("result", "failed").register(registry);
+    }
+
+    @PostConstruct
+    public void init() {
+        slots = new Semaphore(threads + queueCapacity);
+        executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            60L,
+            TimeUnit.SECONDS,
+            // 크기 제한은 slots가 담당 (자리를 확보한 작업만 들어옴)
+            new LinkedBlockingQueue<>(),
+            new CustomizableThreadFactory("attach-processing-"),
+            // 종료 중에만 거절 (요청 스레드에서 후처리하지 않음)
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        Gauge.builder(PROCESSING_METER_NAME + ".queue.size", executor, e -> e.getQueue().size()).register(registry);
+        Gauge.builder(PROCESSING_METER_NAME + ".active", executor, ThreadPoolExecutor::getActiveCount).register(registry);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    /**
+     * 새 작업을 받을 수 있는지 확인 (큐가 가득 차면 업로드 요청을 503으로 거절)
+     */
+    public boolean isAcceptingJobs() {
+        return slots.availablePermits() > 0;
+    }
+
+    /**
+     * 후처리 작업 등록
+     *
+     * @param attachNo 첨부파일 번호 (DB에 저장하지 않은 임시 업로드는 null)
+     * @param file 저장된 원본 파일
+     * @param originalName 원본 파일명 (검증용 확장자 판단)
+     * @return 등록된 작업
+     */
+    public ProcessingJob submit(Long attachNo, Path file, String originalName) {
+        return submit(attachNo, file, originalName, null);
+    }
+
+    /**
+     * 후처리 작업 등록 (업로드 중 이미 계산한 해시가 있으면 해시 단계 생략)
+     *
+     * @param sha256 업로드 시 계산한 SHA-256 (없으면 null)
+     */
+    public ProcessingJob submit(Long attachNo, Path file, String originalName, String sha256) {
+        if (!slots.tryAcquire()) {
+            // 확인 후 저장하는 사이 큐가 가득 찬 경우: 호출자 트랜잭션 안에서 업로드를 되돌리고 호출자가 503 응답
+            log.warn("첨부파일 후처리 큐가 가득 차 업로드 거절: {}", originalName);
+            removeUpload(attachNo, file);
+            throw new RejectedExecutionException("첨부파일 후처리 큐가 가득 찼습니다.");
+        }
+        return enqueue(attachNo, file, originalName, sha256);
+    }
+
+    /**
+     * 파일을 게시하기 전에 작업 자리 확보 (되돌리기 어려운 작업 전에 503 여부를 결정할 때 사용)
+     *
+     * @return 자리를 확보하면 true, 이후 {@link #submitReserved} 또는 {@link #releaseReservation} 중 하나를 반드시 호출
+     */
+    public boolean tryReserve() {
+        return slots.tryAcquire();
+    }
+
+    /**
+     * 확보한 자리 반납 (작업을 등록하지 않게 된 경우)
+     */
+    public void releaseReservation() {
+        slots.release();
+    }
+
+    /**
+     * {@link #tryReserve}로 확보한 자리에 후처리 작업 등록 (거절되지 않음)
+     */
+    public ProcessingJob submitReserved(Long attachNo, Path file, String originalName, String sha256) {
+        return enqueue(attachNo, file, originalName, sha256);
+    }
+
+    private ProcessingJob enqueue(Long attachNo, Path file, String originalName, String sha256) {
+        ProcessingJob job = new ProcessingJob(UUID.randomUUID().toString(), attachNo, originalName);
+        job.sha256 = sha256;
+        jobs.put(job.jobId, job);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // 업로드 행이 커밋된 뒤에 실행 (작업 스레드의 조회/삭제가 커밋 전 행을 놓치지 않도록)
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        start(job, file);
+                    }
+
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status != STATUS_COMMITTED) {
+                            cancel(job);
+                        }
+                    }
+                }
+            );
+        } else {
+            start(job, file);
+        }
+        return job;
+    }
+
+    /**
+     * 작업 상태 조회
+     */
+    public Optional<ProcessingJob> getJob(String jobId) {
+        return Optional.ofNullable(jobId != null ? jobs.get(jobId) : null);
+    }
+
+    /**
+     * 보관 시간이 지난 완료/실패 작업 정리
+     */
+    @Scheduled(fixedDelayString = "${attach.processing.cleanup-interval-ms:600000}")
+    public void evictFinishedJobs() {
+        long expiredBefore = System.currentTimeMillis() - jobRetention;
+        Iterator<ProcessingJob> iterator = jobs.values().iterator();
+        while (iterator.hasNext()) {
+            ProcessingJob job = iterator.next();
+            if ((job.status == JobStatus.COMPLETED || job.status == JobStatus.FAILED) && job.updatedAt < expiredBefore) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void start(ProcessingJob job, Path file) {
+        try {
+            executor.execute(() -> {
+                try {
+                    process(job, file);
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중: 파일/행은 남기고 작업만 실패 처리
+            slots.release();
+            log.warn("첨부파일 후처리 실행 불가 (종료 중): {} ({})", job.fileName, job.jobId);
+            job.message = "후처리를 실행하지 못했습니다.";
+            job.update(JobStatus.FAILED, null);
+            failedCounter.increment();
+        }
+    }
+
+    /**
+     * 호출자 트랜잭션이 롤백된 작업 취소 (행이 없으므로 실행하지 않음)
+     */
+    private void cancel(ProcessingJob job) {
+        slots.release();
+        jobs.remove(job.jobId);
+        log.debug("업로드 트랜잭션 롤백으로 후처리 작업 취소: {} ({})", job.fileName, job.jobId);
+    }
+
+    private void process(ProcessingJob job, Path file) {
+        try {
+            job.update(JobStatus.PROCESSING, "hash");
+            if (job.sha256 == null) {
+                job.sha256 = sha256Hex(file);
+            }
+            job.fileSize = Files.size(file);
+
+            job.update(JobStatus.PROCESSING, "validate");
+            boolean image = isImage(job.fileName);
+            if (!validate(job, file, image)) {
+                reject(job, file);
+                return;
+            }
+
+            job.update(JobStatus.PROCESSING, "metadata");
+            job.contentType = Files.probeContentType(file);
+
+            if (image) {
+                job.update(JobStatus.PROCESSING, "derivatives");
+                for (int width : derivativeWidths) {
+                    if (job.width == null || width < job.width) {
+                        if (imageVariantService.getVariant(new FileSystemResource(file), width, null) != null) {
+                            job.derivativeCount++;
+                        }
+                    }
+                }
+            }
+
+            job.update(JobStatus.COMPLETED, null);
+            completedCounter.increment();
+        } catch (Exception e) {
+            log.error("첨부파일 후처리 오류: {} ({})", job.fileName, job.jobId, e);
+            job.message = "후처리 중 오류가 발생했습니다.";
+            job.update(JobStatus.FAILED, job.stage);
+            failedCounter.increment();
+        }
+    }
+
+    /**
+     * 파일 전체 기준 내용 검증 (이미지는 헤더를 읽어 크기까지 확인)
+     */
+    private boolean validate(ProcessingJob job, Path file, boolean image) throws IOException {
+        FileSecurityValidator.ValidationResult validationResult;
+        try (InputStream in = Files.newInputStream(file)) {
+            validationResult = image
+                ? fileSecurityValidator.validateImageFile(job.fileName, in)
+                : fileSecurityValidator.validateDocumentFile(job.fileName, in);
+        }
+        if (!validationResult.isValid()) {
+            job.message = validationResult.getErrorMessage();
+            return false;
+        }
+        if (image && !readImageDimensions(job, file)) {
+            job.message = "이미지 파일을 읽을 수 없습니다.";
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 이미지 전체를 디코딩하지 않고 헤더에서 너비/높이만 읽기
+     */
+    private static boolean readImageDimensions(ProcessingJob job, Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) {
+                return false;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                // WebP 등 ImageIO 리더가 없는 형식은 시그니처 검증만으로 통과
+                return job.fileName.toLowerCase(Locale.ROOT).endsWith(".webp");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                job.width = reader.getWidth(0);
+                job.height = reader.getHeight(0);
+                return true;
+            } catch (IOException e) {
+                return false;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 검증 실패 파일 및 kitms_attach 행 삭제
+     */
+    private void reject(ProcessingJob job, Path file) {
+        log.warn("첨부파일 후처리 검증 실패: {} - {}", job.fileName, job.message);
+        removeUpload(job.attachNo, file);
+        job.update(JobStatus.FAILED, job.stage);
+        failedCounter.increment();
+    }
+
+    /**
+     * 업로드 되돌리기 (kitms_attach 행 삭제 후 파일은 삭제 대기열에 등록)
+     */
+    private void removeUpload(Long attachNo, Path file) {
+        if (attachNo != null) {
+            kitmsAttachRepository
+                .findById(attachNo)
+                .ifPresent(attach -> {
+                    kitmsAttachRepository.delete(attach);
+                    applicationEventPublisher.publishEvent(new KitmsAttachChangedEvent(attach.getAttachTableName(), attach.getAttachTablePk()));
+                });
+        }
+        fileDeletionQueue.enqueuePaths(List.of(file));
+    }
+
+    private static boolean isImage(String fileName) {
+        int lastDotIndex = fileName != null ? fileName.lastIndexOf('.') : -1;
+        return lastDotIndex > 0 && IMAGE_EXTENSIONS.contains(fileName.substring(lastDotIndex).toLowerCase(Locale.ROOT));
+    }
+
+    private static String sha256Hex(Path file) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 후처리 작업 상태 (상태 조회 API 응답으로 사용)
+     */
+    public static final class ProcessingJob {
+
+        private final String jobId;
+        private final Long attachNo;
+        private final String fileName;
+        private final long createdAt;
+
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile String stage;
+        private volatile String message;
+        private volatile long updatedAt;
+        private volatile String sha256;
+        private volatile String contentType;
+        private volatile long fileSize;
+        private volatile Integer width;
+        private volatile Integer height;
+        private volatile int derivativeCount;
+
+        private ProcessingJob(String jobId, Long attachNo, String fileName) {
+            this.jobId = jobId;
+            this.attachNo = attachNo;
+            this.fileName = fileName;
+            this.createdAt = System.currentTimeMillis();
+            this.updatedAt = createdAt;
+        }
+
+        private void update(JobStatus status, String stage) {
+            this.status = status;
+            this.stage = stage;
+            this.updatedAt = System.currentTimeMillis();
+        }
+
+        public String getJobId() {
+            return jobId;
+        }
+
+        public Long getAttachNo() {
+            return attachNo;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public JobStatus getStatus() {
+            return status;
+        }
+
+        public String getStage() {
+            return stage;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public long getCreatedAt() {
+            return createdAt;
+        }
+
+        public long getUpdatedAt() {
+            return updatedAt;
+        }
+
+        public String getSha256() {
+            return sha256;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public long getFileSize() {
+            return fileSize;
+        }
+
+        public Integer getWidth() {
+            return width;
+        }
+
+        public Integer getHeight() {
+            return height;
+        }
+
+        public int getDerivativeCount() {
+            return derivativeCount;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.kone.kitms.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * KITMS 첨부파일 저장소 SPI
+ *
+ * 이 인터페이스는 업로드 파일의 물리 저장 방식을 감춥니다:
+ * - 키(UUID 파일명 또는 SHA-256 해시)로 파일 저장/조회/삭제
+ * - 저장은 "임시 저장(stage) -> 게시(publish)" 두 단계 (게시 전에는 키로 조회되지 않음)
+ * - 임시 저장 중 SHA-256과 크기를 함께 계산 (파일을 다시 읽지 않음)
+ * - 내용은 항상 스트림으로 주고받음 (byte[]로 전체를 올리지 않음)
+ *
+ * 구현체:
+ * - LocalShardedAttachmentStore: 키 해시 앞 4자리로 2단계 디렉토리 분산 (예: ab/cd/key)
+ * - InMemoryAttachmentStore: 메모리 저장 (테스트/로컬 확인용, attach.store.type=memory)
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+public interface AttachmentStore {
+    /**
+     * 스트림 내용을 임시 저장 (스트림에서 예외가 나면 임시 내용은 남지 않음)
+     */
+    StagedObject stage(InputStream in) throws IOException;
+
+    /**
+     * 이미 있는 로컬 파일을 임시 저장 (로컬 저장소는 복사 대신 이동)
+     */
+    StagedObject stage(Path file) throws IOException;
+
+    /**
+     * 임시 저장한 내용을 키로 게시 (원자적)
+     *
+     * @return 게시했으면 true, 같은 키가 이미 있으면 임시 내용을 버리고 false
+     */
+    boolean publish(StagedObject staged, String key) throws IOException;
+
+    /**
+     * 게시하지 않은 임시 내용 삭제
+     */
+    void discard(StagedObject staged) throws IOException;
+
+    /**
+     * 스트림 내용을 바로 키로 저장
+     *
+     * @return 저장한 크기
+     */
+    default long write(String key, InputStream in) throws IOException {
+        StagedObject staged = stage(in);
+        if (!publish(staged, key)) {
+            throw new IOException("이미 존재하는 첨부파일 키: " + key);
+        }
+        return staged.getSize();
+    }
+
+    InputStream open(String key) throws IOException;
+
+    boolean exists(String key);
+
+    long size(String key) throws IOException;
+
+    /**
+     * 마지막 변경 시각을 현재로 갱신 (중복 저장으로 새 참조가 생길 파일 표시용)
+     */
+    void touch(String key) throws IOException;
+
+    /**
+     * 마지막 변경(게시 또는 touch) 시각 (epoch 밀리초)
+     */
+    long lastModified(String key) throws IOException;
+
+    /**
+     * @return 삭제했으면 true, 없으면 false
+     */
+    boolean delete(String key) throws IOException;
+
+    /**
+     * 저장소 루트 기준 상대 위치 (예: ab/cd/key, 웹 경로 생성용)
+     */
+    String location(String key);
+
+    /**
+     * 로컬 파일 경로 (로컬 파일 시스템 저장소만, 이미지 색인/후처리/파일 전송용)
+     */
+    Optional<Path> localPath(String key);
+
+    /**
+     * 임시 저장된 내용
+     */
+    interface StagedObject {
+        String getSha256();
+
+        long getSize();
+    }
+}
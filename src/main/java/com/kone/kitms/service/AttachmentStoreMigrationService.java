@@ -0,0 +1,294 @@
+package com.kone.kitms.service;
+
+import com.kone.kitms.domain.KitmsAttach;
+import com.kone.kitms.repository.KitmsAttachRepository;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+/**
+ * KITMS 첨부파일 저장소 이전 서비스
+ *
+ * 이 클래스는 기존 디렉토리 배치로 저장된 파일을 AttachmentStore 배치로 옮깁니다:
+ * - 업로드 디렉토리(notice_X/, temp_X/, yyyy/MM/dd/ 등)의 UUID 파일을 키 해시 분산 디렉토리로 이동
+ * - 옮긴 파일의 kitms_attach 웹 경로(/images/...)와 이미지 색인 갱신
+ * - FileService의 기존 물리 경로 첨부파일은 내용 주소 저장소로 옮기고 해시/경로 갱신
+ * - 파일 단위로 병렬 처리 (attach.store.migration-threads), 여러 번 실행해도 이미 옮긴 파일은 건너뜀
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Service
+public class AttachmentStoreMigrationService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttachmentStoreMigrationService.class);
+
+    // 업로드 코드가 생성하는 파일명 (UUID + 확장자)
+    private static final Pattern UPLOAD_FILE_NAME = Pattern.compile(
+        "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}(\\.[A-Za-z0-9]{1,10})?"
+    );
+
+    private static final String WEB_IMAGE_PREFIX = "/images/";
+
+    @Value("${attach.store.migration-threads:4}")
+    private int threads = 4;
+
+    // 이미지 저장소가 로컬이 아닐 때(메모리) 기존 업로드 경로 (웹 경로 /images/...)
+    @Value("${app.upload.path:./images}")
+    private String imagesPath = "./images";
+
+    // UploadController 기존 업로드 경로 (웹 경로 /uploads/...)
+    @Value("${attach.legacy-uploads-path:uploads}")
+    private String uploadsPath = "uploads";
+
+    private final AttachmentStore imageAttachmentStore;
+
+    private final ContentAddressedFileStore contentAddressedFileStore;
+
+    private final KitmsAttachRepository kitmsAttachRepository;
+
+    private final ImageFileIndex imageFileIndex;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public AttachmentStoreMigrationService(
+        @Qualifier("imageAttachmentStore") AttachmentStore imageAttachmentStore,
+        ContentAddressedFileStore contentAddressedFileStore,
+        KitmsAttachRepository kitmsAttachRepository,
+        ImageFileIndex imageFileIndex,
+        ApplicationEventPublisher applicationEventPublisher
+    ) {
+        this.imageAttachmentStore = imageAttachmentStore;
+        this.contentAddressedFileStore = contentAddressedFileStore;
+        this.kitmsAttachRepository = kitmsAttachRepository;
+        this.imageFileIndex = imageFileIndex;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    /**
+     * 기존 파일 전체 이전 (동시에 한 번만 실행)
+     */
+    public MigrationResult migrate() throws IOException {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("첨부파일 저장소 이전이 이미 실행 중입니다.");
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), new CustomizableThreadFactory("attach-migration-"));
+        try {
+            MigrationResult result = new MigrationResult();
+
+            // 1. 업로드 디렉토리 파일 -> 분산 디렉토리
+            Map<Path, String> uploadFiles = new LinkedHashMap<>();
+            Path imagesRoot = imageAttachmentStore instanceof LocalShardedAttachmentStore
+                ? ((LocalShardedAttachmentStore) imageAttachmentStore).getRoot()
+                : normalize(Paths.get(imagesPath));
+            collectUploadFiles(imagesRoot, WEB_IMAGE_PREFIX, uploadFiles);
+            Path uploadsRoot = normalize(Paths.get(uploadsPath));
+            if (!uploadsRoot.equals(imagesRoot)) {
+                collectUploadFiles(uploadsRoot, "/uploads/", uploadFiles);
+            }
+            List<Future<Boolean>> fileTasks = new ArrayList<>();
+            for (Map.Entry<Path, String> entry : uploadFiles.entrySet()) {
+                fileTasks.add(executor.submit(() -> moveUploadFile(entry.getKey(), entry.getValue())));
+            }
+            for (Future<Boolean> task : fileTasks) {
+                if (await(task)) {
+                    result.movedFiles++;
+                } else {
+                    result.failedFiles++;
+                }
+            }
+
+            // 2. FileService 물리 경로 첨부파일 -> 내용 주소 저장소 (같은 경로를 쓰는 행은 함께 처리)
+            Map<String, List<Long>> legacyRows = new LinkedHashMap<>();
+            for (KitmsAttach attach : kitmsAttachRepository.findAllWithoutFileHash()) {
+                String filePath = attach.getAttachFilePath();
+                if (!filePath.startsWith(WEB_IMAGE_PREFIX) && Files.isRegularFile(Paths.get(filePath))) {
+                    legacyRows.computeIfAbsent(filePath, key -> new ArrayList<>()).add(attach.getAttachNo());
+                }
+            }
+            List<Future<Boolean>> legacyTasks = new ArrayList<>();
+            for (Map.Entry<String, List<Long>> entry : legacyRows.entrySet()) {
+                legacyTasks.add(executor.submit(() -> moveLegacyFile(entry.getKey(), entry.getValue())));
+            }
+            for (Future<Boolean> task : legacyTasks) {
+                if (await(task)) {
+                    result.movedLegacyFiles++;
+                } else {
+                    result.failedLegacyFiles++;
+                }
+            }
+
+            if (result.movedFiles > 0 || result.movedLegacyFiles > 0) {
+                // 첨부파일 경로가 바뀌었으므로 공지사항 조회 캐시 전체 무효화
+                applicationEventPublisher.publishEvent(new KitmsAttachChangedEvent(null, null));
+            }
+
+            log.info(
+                "첨부파일 저장소 이전 완료 - 업로드 파일: {} (실패 {}), 기존 첨부파일: {} (실패 {})",
+                result.movedFiles,
+                result.failedFiles,
+                result.movedLegacyFiles,
+                result.failedLegacyFiles
+            );
+            return result;
+        } finally {
+            executor.shutdown();
+            running.set(false);
+        }
+    }
+
+    private void collectUploadFiles(Path root, String webPrefix, Map<Path, String> files) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        Path staging = root.resolve(LocalShardedAttachmentStore.STAGING_DIRECTORY);
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) paths::iterator) {
+                if (file.startsWith(staging) || !Files.isRegularFile(file)) {
+                    continue;
+                }
+                if (!UPLOAD_FILE_NAME.matcher(file.getFileName().toString()).matches() || isAlreadyStored(file)) {
+                    continue;
+                }
+                files.put(file, webPrefix + root.relativize(file).toString().replace('\\', '/'));
+            }
+        }
+    }
+
+    private boolean isAlreadyStored(Path file) {
+        return imageAttachmentStore instanceof LocalShardedAttachmentStore &&
+            ((LocalShardedAttachmentStore) imageAttachmentStore).isShardedLocation(file);
+    }
+
+    /**
+     * 업로드 파일 하나를 분산 디렉토리로 이동 후 첨부파일 행/이미지 색인 갱신
+     */
+    private boolean moveUploadFile(Path file, String oldWebPath) {
+        String key = file.getFileName().toString();
+        boolean published = false;
+        try {
+            if (imageAttachmentStore.exists(key)) {
+                log.warn("같은 키의 파일이 이미 있어 이전하지 않음: {}", file);
+                return false;
+            }
+            AttachmentStore.StagedObject staged = imageAttachmentStore.stage(file);
+            if (!imageAttachmentStore.publish(staged, key)) {
+                log.warn("같은 키의 파일이 이미 있어 이전하지 않음: {}", file);
+                return false;
+            }
+            published = true;
+            kitmsAttachRepository.updateAttachFilePath(oldWebPath, WEB_IMAGE_PREFIX + imageAttachmentStore.location(key));
+            imageFileIndex.unregisterFile(file);
+            imageAttachmentStore.localPath(key).ifPresent(imageFileIndex::registerFile);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("업로드 파일 이전 실패: {}", file, e);
+            if (published) {
+                // 행은 아직 기존 경로를 가리키므로 파일을 원래 위치로 되돌림
+                restoreUploadFile(key, file);
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 분산 디렉토리로 옮긴 파일을 원래 경로로 되돌리기 (경로 갱신 실패 시)
+     */
+    private void restoreUploadFile(String key, Path file) {
+        try {
+            try (InputStream in = imageAttachmentStore.open(key)) {
+                Files.copy(in, file);
+            }
+            imageAttachmentStore.delete(key);
+        } catch (IOException | RuntimeException e) {
+            log.error("이전한 파일 복구 실패, 수동 확인 필요: {} -> {}", imageAttachmentStore.location(key), file, e);
+        }
+    }
+
+    /**
+     * 물리 경로 첨부파일 하나를 내용 주소 저장소로 이동 후 해시/경로 갱신
+     */
+    private boolean moveLegacyFile(String filePath, List<Long> attachNos) {
+        Path file = Paths.get(filePath);
+        try {
+            ContentAddressedFileStore.StoredFile storedFile;
+            try (InputStream in = Files.newInputStream(file)) {
+                storedFile = contentAddressedFileStore.store(in);
+            }
+            for (Long attachNo : attachNos) {
+                kitmsAttachRepository.updateAttachFileLocation(attachNo, storedFile.getLocation(), storedFile.getHash());
+            }
+            Files.deleteIfExists(file);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("기존 첨부파일 이전 실패: {}", filePath, e);
+            return false;
+        }
+    }
+
+    private static boolean await(Future<Boolean> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            log.error("첨부파일 이전 작업 오류", e.getCause());
+            return false;
+        }
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    /**
+     * 이전 결과
+     */
+    public static final class MigrationResult {
+
+        private int movedFiles;
+        private int failedFiles;
+        private int movedLegacyFiles;
+        private int failedLegacyFiles;
+
+        public int getMovedFiles() {
+            return movedFiles;
+        }
+
+        public int getFailedFiles() {
+            return failedFiles;
+        }
+
+        public int getMovedLegacyFiles() {
+            return movedLegacyFiles;
+        }
+
+        public int getFailedLegacyFiles() {
+            return failedLegacyFiles;
+        }
+    }
+}
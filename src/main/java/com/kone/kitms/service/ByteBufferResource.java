@@ -0,0 +1,86 @@
+package com.kone.kitms.service;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * ByteBuffer 기반 리소스
+ *
+ * 힙 또는 다이렉트(off-heap) ByteBuffer에 보관된 데이터를 복사 없이
+ * Spring {@link org.springframework.core.io.Resource}로 노출합니다.
+ * 요청마다 버퍼를 duplicate 하므로 여러 스레드에서 동시에 읽을 수 있습니다.
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+public class ByteBufferResource extends AbstractResource {
+
+    private final ByteBuffer buffer;
+    private final String description;
+
+    public ByteBufferResource(ByteBuffer buffer, String description) {
+        this.buffer = buffer.asReadOnlyBuffer();
+        this.description = description;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return new ByteBufferInputStream(buffer.duplicate());
+    }
+
+    @Override
+    public String getDescription() {
+        return "ByteBuffer resource [" + description + "]";
+    }
+
+    /**
+     * ByteBuffer를 읽는 InputStream (skip은 위치 이동만 수행)
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,518 @@
+package com.kone.kitms.service;
+
+import com.kone.kitms.domain.KitmsAttach;
+import com.kone.kitms.repository.KitmsAttachRepository;
+import com.kone.kitms.security.FileSecurityValidator;
+import jakarta.annotation.PostConstruct;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * KITMS 이어받기 가능한 분할(chunked) 업로드 서비스
+ *
+ * 이 클래스는 큰 첨부파일을 여러 요청으로 나누어 업로드하는 세션을 관리합니다:
+ * - 세션 생성 시 파일명/확장자/전체 크기 검증
+ * - 조각(chunk)은 오프셋 순서대로 FileChannel로 임시 파일 끝에 추가
+ * - 파일 헤더가 모이는 즉시 FileSecurityValidator로 시그니처 검증 (전체 업로드 전에 차단)
+ * - 연결이 끊기면 현재 오프셋을 조회하여 그 위치부터 다시 전송
+ * - 완료 시 /upload-file과 같은 경로/파일명 규칙으로 저장하고 kitms_attach 행 생성
+ * - 저장 후 해시/검증/변형 생성은 AttachmentProcessingService에서 비동기 처리
+ * - 일정 시간 사용되지 않은 세션과 임시 파일은 주기적으로 정리
+ * - 세션은 메모리에만 있으므로 서버 시작 시 남은 임시 파일(.part)은 삭제
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    // 시그니처 검증에 필요한 파일 헤더 길이
+    private static final int HEADER_BYTES = 16;
+
+    private static final int COPY_BUFFER_SIZE = 256 * 1024;
+
+    private static final String PART_SUFFIX = ".part";
+
+    @Value("${attach.upload.chunk-dir:${java.io.tmpdir}/kitms-upload-chunks}")
+    private String chunkPath;
+
+    // 분할 업로드 최대 파일 크기 (기본 1GB)
+    @Value("${attach.upload.max-file-size:1073741824}")
+    private long maxFileSize = 1024L * 1024 * 1024;
+
+    // 조각 요청 최대 크기 (기본 16MB)
+    @Value("${attach.upload.max-chunk-size:16777216}")
+    private long maxChunkSize = 16L * 1024 * 1024;
+
+    // 사용되지 않은 세션 만료 시간 (기본 24시간)
+    @Value("${attach.upload.session-timeout-ms:86400000}")
+    private long sessionTimeout = 24 * 60 * 60 * 1000;
+
+    private final FileSecurityValidator fileSecurityValidator;
+
+    private final KitmsAttachRepository kitmsAttachRepository;
+
+    private final ImageFileIndex imageFileIndex;
+
+    private final AttachmentProcessingService attachmentProcessingService;
+
+    private final AttachmentStore imageAttachmentStore;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    private Path chunkRoot;
+
+    public ChunkedUploadService(
+        FileSecurityValidator fileSecurityValidator,
+        KitmsAttachRepository kitmsAttachRepository,
+        ImageFileIndex imageFileIndex,
+        AttachmentProcessingService attachmentProcessingService,
+        @Qualifier("imageAttachmentStore") AttachmentStore imageAttachmentStore,
+        ApplicationEventPublisher applicationEventPublisher
+    ) {
+        this.fileSecurityValidator = fileSecurityValidator;
+        this.kitmsAttachRepository = kitmsAttachRepository;
+        this.imageFileIndex = imageFileIndex;
+        this.attachmentProcessingService = attachmentProcessingService;
+        this.imageAttachmentStore = imageAttachmentStore;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        chunkRoot = Paths.get(chunkPath).toAbsolutePath().normalize();
+        Files.createDirectories(chunkRoot);
+        // 재시작 전 세션의 임시 파일은 이어받을 수 없으므로 모두 삭제
+        int deleted = deleteOrphanParts(Long.MAX_VALUE);
+        if (deleted > 0) {
+            log.info("이전 실행의 분할 업로드 임시 파일 정리: {}개", deleted);
+        }
+    }
+
+    /**
+     * 업로드 세션 생성
+     *
+     * @param fileName 원본 파일명
+     * @param tableName 첨부 대상 테이블명
+     * @param tablePk 첨부 대상 PK ("temp"이면 DB에 저장하지 않음)
+     * @param fileSize 전체 파일 크기
+     */
+    public UploadSession createSession(String fileName, String tableName, String tablePk, long fileSize) throws IOException {
+        if (fileSize <= 0) {
+            throw new UploadException(HttpStatus.BAD_REQUEST, "파일이 비어있습니다.");
+        }
+        if (fileSize > maxFileSize) {
+            throw new UploadException(HttpStatus.BAD_REQUEST, "파일 크기가 너무 큽니다. 최대 " + (maxFileSize / 1024 / 1024) + "MB까지 업로드 가능합니다.");
+        }
+        if (tableName == null || tableName.isBlank() || tablePk == null || tablePk.isBlank()) {
+            throw new UploadException(HttpStatus.BAD_REQUEST, "첨부 대상 정보가 올바르지 않습니다.");
+        }
+        if (!"temp".equals(tablePk)) {
+            parseTablePk(tablePk);
+        }
+
+        // 파일명/확장자 검증 (시그니처는 첫 조각 수신 후 검증)
+        FileSecurityValidator.ValidationResult validationResult = fileSecurityValidator.validateDocumentFile(fileName, null);
+        if (!validationResult.isValid()) {
+            throw new UploadException(HttpStatus.BAD_REQUEST, validationResult.getErrorMessage());
+        }
+
+        String uploadId = UUID.randomUUID().toString();
+        Path tempFile = chunkRoot.resolve(uploadId + PART_SUFFIX);
+        Files.createFile(tempFile);
+
+        UploadSession session = new UploadSession(uploadId, fileName, tableName, tablePk, fileSize, tempFile);
+        sessions.put(uploadId, session);
+        log.debug("분할 업로드 세션 생성: {} ({}, {} bytes)", uploadId, fileName, fileSize);
+        return session;
+    }
+
+    /**
+     * 조각 추가
+     *
+     * @param offset 조각 시작 위치 (현재까지 받은 크기와 같아야 함)
+     * @param body 조각 데이터 스트림
+     * @return 추가 후 받은 크기
+     */
+    public long appendChunk(String uploadId, long offset, InputStream body) throws IOException {
+        UploadSession session = getSession(uploadId);
+        synchronized (session) {
+            if (session.completed) {
+                throw new UploadException(HttpStatus.CONFLICT, "이미 완료된 업로드입니다.");
+            }
+            if (offset != session.received) {
+                // 클라이언트는 현재 오프셋부터 다시 전송
+                throw new UploadException(HttpStatus.CONFLICT, "오프셋이 일치하지 않습니다. 현재 오프셋: " + session.received);
+            }
+
+            long limit = Math.min(maxChunkSize, session.fileSize - session.received);
+            long written = 0;
+            ByteBuffer buffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+            try (
+                FileChannel channel = FileChannel.open(session.tempFile, StandardOpenOption.WRITE);
+                ReadableByteChannel in = Channels.newChannel(body)
+            ) {
+                channel.position(offset);
+                while (in.read(buffer) >= 0) {
+                    buffer.flip();
+                    if (written + buffer.remaining() > limit) {
+                        // 크기 초과 조각은 통째로 버림 (받은 크기는 변경하지 않음)
+                        channel.truncate(offset);
+                        written = 0;
+                        throw new UploadException(HttpStatus.BAD_REQUEST, "조각 크기가 허용 범위를 초과했습니다.");
+                    }
+                    while (buffer.hasRemaining()) {
+                        written += channel.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            } finally {
+                // 전송 중 연결이 끊겨도 이미 기록한 만큼은 인정 (클라이언트는 그 위치부터 재전송)
+                session.received += written;
+                session.touch();
+            }
+
+            if (!session.headerValidated && session.received >= Math.min(HEADER_BYTES, session.fileSize)) {
+                validateHeader(session);
+            }
+            return session.received;
+        }
+    }
+
+    /**
+     * 업로드 완료: 첨부파일 경로로 이동 후 kitms_attach 행 생성
+     *
+     * @return 저장된 첨부파일 정보 (tablePk가 "temp"이면 attachNo 없이 경로만 포함)
+     */
+    public CompletedUpload complete(String uploadId) throws IOException {
+        UploadSession session = getSession(uploadId);
+        synchronized (session) {
+            if (session.completed) {
+                throw new UploadException(HttpStatus.CONFLICT, "이미 완료된 업로드입니다.");
+            }
+            if (session.received != session.fileSize) {
+                throw new UploadException(HttpStatus.CONFLICT, "업로드가 완료되지 않았습니다. 현재 오프셋: " + session.received);
+            }
+            if (!session.headerValidated) {
+                validateHeader(session);
+            }
+            // 후처리 자리를 먼저 확보 (가득 차면 세션과 임시 파일을 유지한 채 나중에 다시 완료 요청)
+            if (!attachmentProcessingService.tryReserve()) {
+                throw new UploadException(HttpStatus.SERVICE_UNAVAILABLE, "업로드 처리 대기 중인 파일이 많습니다. 잠시 후 다시 시도해주세요.");
+            }
+            boolean reserved = true;
+            try {
+                // /upload-file과 같은 파일명 규칙 (저장 위치는 첨부파일 저장소가 키 해시로 분산)
+                String fileName = UUID.randomUUID().toString() + getFileExtension(session.fileName);
+                AttachmentStore.StagedObject staged = imageAttachmentStore.stage(session.tempFile);
+                if (!imageAttachmentStore.publish(staged, fileName)) {
+                    throw new IOException("이미 존재하는 첨부파일 키: " + fileName);
+                }
+                Path filePath = imageAttachmentStore.localPath(fileName).orElse(null);
+                if (filePath != null) {
+                    imageFileIndex.registerFile(filePath);
+                }
+                session.completed = true;
+                sessions.remove(uploadId);
+
+                String fileUrl = "/images/" + imageAttachmentStore.location(fileName);
+                if ("temp".equals(session.tablePk)) {
+                    String jobId = submitProcessing(null, filePath, session.fileName, staged.getSha256());
+                    reserved = false;
+                    return new CompletedUpload(null, fileName, session.fileName, fileUrl, session.fileSize, jobId);
+                }
+
+                KitmsAttach attach = new KitmsAttach();
+                attach.setAttachTableName(session.tableName);
+                attach.setAttachTablePk(parseTablePk(session.tablePk));
+                attach.setAttachFilePath(fileUrl);
+                attach.setAttachFileName(session.fileName);
+                attach.setAttachFileSize(session.fileSize);
+                attach.setCreateDt(ZonedDateTime.now());
+                attach.setCreateUserId("admin");
+                attach.setIsThumbnail(false);
+                KitmsAttach savedAttach = kitmsAttachRepository.save(attach);
+                applicationEventPublisher.publishEvent(new KitmsAttachChangedEvent(attach.getAttachTableName(), attach.getAttachTablePk()));
+                log.info("분할 업로드 완료 - attachNo: {}, 파일명: {}, 경로: {}", savedAttach.getAttachNo(), session.fileName, fileUrl);
+
+                String jobId = submitProcessing(savedAttach.getAttachNo(), filePath, session.fileName, staged.getSha256());
+                reserved = false;
+
+                return new CompletedUpload(
+                    savedAttach.getAttachNo(),
+                    savedAttach.getAttachFileName(),
+                    session.fileName,
+                    fileUrl,
+                    session.fileSize,
+                    jobId
+                );
+            } finally {
+                if (reserved) {
+                    attachmentProcessingService.releaseReservation();
+                }
+            }
+        }
+    }
+
+    /**
+     * 확보한 자리에 후처리 작업 등록 (로컬 파일이 없는 메모리 저장소는 후처리 없이 자리 반납)
+     */
+    private String submitProcessing(Long attachNo, Path filePath, String originalName, String sha256) {
+        if (filePath == null) {
+            attachmentProcessingService.releaseReservation();
+            return null;
+        }
+        return attachmentProcessingService.submitReserved(attachNo, filePath, originalName, sha256).getJobId();
+    }
+
+    /**
+     * 업로드 세션 조회 (이어받기 오프셋 확인용)
+     */
+    public UploadSession getSession(String uploadId) {
+        UploadSession session = uploadId != null ? sessions.get(uploadId) : null;
+        if (session == null) {
+            throw new UploadException(HttpStatus.NOT_FOUND, "업로드 세션을 찾을 수 없습니다.");
+        }
+        return session;
+    }
+
+    /**
+     * 업로드 취소
+     */
+    public void abort(String uploadId) throws IOException {
+        UploadSession session = sessions.remove(uploadId);
+        if (session != null) {
+            synchronized (session) {
+                Files.deleteIfExists(session.tempFile);
+            }
+        }
+    }
+
+    /**
+     * 만료된 세션 및 임시 파일 정리
+     */
+    @Scheduled(fixedDelayString = "${attach.upload.cleanup-interval-ms:3600000}")
+    public void evictExpiredSessions() {
+        long expiredBefore = System.currentTimeMillis() - sessionTimeout;
+        Iterator<UploadSession> iterator = sessions.values().iterator();
+        while (iterator.hasNext()) {
+            UploadSession session = iterator.next();
+            if (session.lastAccessed < expiredBefore) {
+                iterator.remove();
+                try {
+                    Files.deleteIfExists(session.tempFile);
+                } catch (IOException e) {
+                    log.warn("분할 업로드 임시 파일 삭제 실패: {}", session.tempFile, e);
+                }
+                log.debug("만료된 분할 업로드 세션 정리: {}", session.uploadId);
+            }
+        }
+        deleteOrphanParts(expiredBefore);
+    }
+
+    /**
+     * 세션이 없는 임시 파일 삭제 (세션 생성 직후 파일 보호를 위해 수정 시간 기준)
+     *
+     * @param modifiedBefore 이 시각 이전에 수정된 파일만 삭제
+     * @return 삭제한 파일 수
+     */
+    private int deleteOrphanParts(long modifiedBefore) {
+        int deleted = 0;
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(chunkRoot, "*" + PART_SUFFIX)) {
+            for (Path part : parts) {
+                String fileName = part.getFileName().toString();
+                String uploadId = fileName.substring(0, fileName.length() - PART_SUFFIX.length());
+                try {
+                    if (sessions.containsKey(uploadId) || Files.getLastModifiedTime(part).toMillis() >= modifiedBefore) {
+                        continue;
+                    }
+                    if (Files.deleteIfExists(part)) {
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    log.warn("분할 업로드 임시 파일 삭제 실패: {} ({})", part, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("분할 업로드 임시 디렉토리 확인 오류: {} ({})", chunkRoot, e.getMessage());
+        }
+        return deleted;
+    }
+
+    /**
+     * 받은 파일 헤더로 시그니처 검증, 실패 시 세션 삭제
+     */
+    private void validateHeader(UploadSession session) throws IOException {
+        byte[] header = new byte[(int) Math.min(HEADER_BYTES, session.received)];
+        try (FileChannel channel = FileChannel.open(session.tempFile, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.wrap(header);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // 헤더 길이만큼 읽기
+            }
+        }
+        FileSecurityValidator.ValidationResult validationResult = fileSecurityValidator.validateDocumentFile(
+            session.fileName,
+            new ByteArrayInputStream(header)
+        );
+        if (!validationResult.isValid()) {
+            log.warn("분할 업로드 보안 검증 실패: {} - {}", session.fileName, validationResult.getErrorMessage());
+            abort(session.uploadId);
+            throw new UploadException(HttpStatus.BAD_REQUEST, validationResult.getErrorMessage());
+        }
+        session.headerValidated = true;
+    }
+
+    private static Long parseTablePk(String tablePk) {
+        try {
+            return Long.parseLong(tablePk);
+        } catch (NumberFormatException e) {
+            throw new UploadException(HttpStatus.BAD_REQUEST, "잘못된 테이블 PK 형식입니다.");
+        }
+    }
+
+    private static String getFileExtension(String filename) {
+        int lastDotIndex = filename.lastIndexOf('.');
+        return lastDotIndex > 0 ? filename.substring(lastDotIndex) : "";
+    }
+
+    /**
+     * 분할 업로드 세션
+     */
+    public static final class UploadSession {
+
+        private final String uploadId;
+        private final String fileName;
+        private final String tableName;
+        private final String tablePk;
+        private final long fileSize;
+        private final Path tempFile;
+
+        private volatile long received;
+        private volatile long lastAccessed;
+        private boolean headerValidated;
+        private boolean completed;
+
+        private UploadSession(String uploadId, String fileName, String tableName, String tablePk, long fileSize, Path tempFile) {
+            this.uploadId = uploadId;
+            this.fileName = fileName;
+            this.tableName = tableName;
+            this.tablePk = tablePk;
+            this.fileSize = fileSize;
+            this.tempFile = tempFile;
+            touch();
+        }
+
+        private void touch() {
+            this.lastAccessed = System.currentTimeMillis();
+        }
+
+        public String getUploadId() {
+            return uploadId;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public long getFileSize() {
+            return fileSize;
+        }
+
+        public long getReceived() {
+            return received;
+        }
+    }
+
+    /**
+     * 완료된 업로드 정보
+     */
+    public static final class CompletedUpload {
+
+        private final Long attachNo;
+        private final String fileName;
+        private final String originalName;
+        private final String filePath;
+        private final long fileSize;
+        private final String jobId;
+
+        private CompletedUpload(Long attachNo, String fileName, String originalName, String filePath, long fileSize, String jobId) {
+            this.attachNo = attachNo;
+            this.fileName = fileName;
+            this.originalName = originalName;
+            this.filePath = filePath;
+            this.fileSize = fileSize;
+            this.jobId = jobId;
+        }
+
+        public Long getAttachNo() {
+            return attachNo;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public String getOriginalName() {
+            return originalName;
+        }
+
+        public String getFilePath() {
+            return filePath;
+        }
+
+        public long getFileSize() {
+            return fileSize;
+        }
+
+        public String getJobId() {
+            return jobId;
+        }
+    }
+
+    /**
+     * 분할 업로드 오류 (응답 상태 코드 포함)
+     */
+    public static class UploadException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final HttpStatus status;
+
+        public UploadException(HttpStatus status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        public HttpStatus getStatus() {
+            return status;
+        }
+    }
+}
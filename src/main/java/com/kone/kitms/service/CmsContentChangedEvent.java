@@ -0,0 +1,30 @@
+package com.kone.kitms.service;
+
+/**
+ * KITMS CMS 컨텐츠 변경 이벤트
+ *
+ * 이 클래스는 CMS 컨텐츠 저장/상태 변경/미리보기 적용 시 CmsContentService가 발행합니다:
+ * - 커밋 후 SearchIndexService가 해당 페이지 검색 문서를 갱신
+ * - 미리보기 컬럼만 바뀐 경우에는 발행하지 않음 (검색은 발행된 컨텐츠 기준)
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+public class CmsContentChangedEvent {
+
+    private final Long contentId;
+
+    public CmsContentChangedEvent(Long contentId) {
+        this.contentId = contentId;
+    }
+
+    public Long getContentId() {
+        return contentId;
+    }
+
+    @Override
+    public String toString() {
+        return "CmsContentChangedEvent{contentId=" + contentId + "}";
+    }
+}
@@ -3,6 +3,7 @@ package com.kone.kitms.service;
 import com.kone.kitms.domain.CmsContent;
 import com.kone.kitms.repository.CmsContentRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +20,7 @@ import java.util.Optional;
  * - SEO 메타 정보 관리
  * - 컨텐츠 상태 관리 (ACTIVE/INACTIVE)
  * - 미리보기 컨텐츠를 실제 컨텐츠로 적용
+ * - 발행 컨텐츠 변경 시 CmsContentChangedEvent 발행 (검색 색인 갱신)
  * 
  * @author KITMS Development Team
  * @version 1.0
@@ -30,6 +32,9 @@ public class CmsContentService {
     
     @Autowired
     private CmsContentRepository cmsContentRepository;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
     
     /**
      * 페이지 코드로 활성화된 컨텐츠 조회
@@ -61,7 +66,7 @@ public class CmsContentService {
      * 컨텐츠 저장
      */
     public CmsContent saveContent(CmsContent content) {
-        return cmsContentRepository.save(content);
+        return publishChanged(cmsContentRepository.save(content));
     }
     
     /**
@@ -71,7 +76,7 @@ public class CmsContentService {
         if (content.getId() == null) {
             throw new IllegalArgumentException("컨텐츠 ID가 필요합니다.");
         }
-        return cmsContentRepository.save(content);
+        return publishChanged(cmsContentRepository.save(content));
     }
     
     /**
@@ -93,13 +98,13 @@ public class CmsContentService {
             content.setUpdatedBy(newContent.getUpdatedBy());
             content.setUpdatedAt(java.time.LocalDateTime.now());
             
-            return cmsContentRepository.save(content);
+            return publishChanged(cmsContentRepository.save(content));
         } else {
             // 기존 컨텐츠가 없으면 새로 생성
             newContent.setPageCode(pageCode);
             newContent.setCreatedAt(java.time.LocalDateTime.now());
             newContent.setUpdatedAt(java.time.LocalDateTime.now());
-            return cmsContentRepository.save(newContent);
+            return publishChanged(cmsContentRepository.save(newContent));
         }
     }
     
@@ -111,7 +116,7 @@ public class CmsContentService {
         if (contentOpt.isPresent()) {
             CmsContent content = contentOpt.get();
             content.setStatus("INACTIVE");
-            cmsContentRepository.save(content);
+            publishChanged(cmsContentRepository.save(content));
         }
     }
     
@@ -176,7 +181,8 @@ public class CmsContentService {
             newContent.setCreatedAt(java.time.LocalDateTime.now());
             newContent.setUpdatedAt(java.time.LocalDateTime.now());
             
-            return cmsContentRepository.save(newContent);
+            // ACTIVE 행이 새로 생기므로 검색 색인에도 반영
+            return publishChanged(cmsContentRepository.save(newContent));
         }
     }
     
@@ -258,7 +264,7 @@ public class CmsContentService {
                 content.setPreviewMetaKeywords(null);
                 content.setPreviewUpdatedAt(null);
                 
-                return cmsContentRepository.save(content);
+                return publishChanged(cmsContentRepository.save(content));
             } else {
                 throw new IllegalArgumentException("적용할 미리보기 컨텐츠가 없습니다.");
             }
@@ -286,4 +292,12 @@ public class CmsContentService {
             cmsContentRepository.save(content);
         }
     }
+
+    /**
+     * 발행 컨텐츠 변경 이벤트 발행 (검색 색인은 커밋 후 갱신)
+     */
+    private CmsContent publishChanged(CmsContent content) {
+        applicationEventPublisher.publishEvent(new CmsContentChangedEvent(content.getId()));
+        return content;
+    }
 }
@@ -0,0 +1,345 @@
+package com.kone.kitms.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * KITMS 동시성 지원 이미지 토큰 저장소
+ *
+ * 이 클래스는 {@link ImageTokenStore}의 기본 구현체입니다:
+ * - ConcurrentHashMap 기반 (Undertow 워커 스레드 동시 접근 안전)
+ * - 토큰 -> 키 역색인으로 토큰 조회 O(1)
+ * - 스케줄러를 통한 만료 토큰 주기적 정리
+ * - 최대 보관 개수 초과 시 오래된 세션 토큰부터 정리 (발급 순서 큐의 앞에서 꺼내므로 전체 정렬 없음)
+ * - Micrometer를 통한 저장소 크기 및 정리 건수 메트릭 제공
+ *
+ * 세션 범위 키(세션ID:파일명)만 정리 대상이며, 서버 시작 시 스캔된 파일 경로 키는
+ * 이미지 파일 수만큼만 존재하므로 정리하지 않습니다.
+ * (secure-image.token.mode=opaque, 기본값)
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+@ConditionalOnProperty(name = "secure-image.token.mode", havingValue = "opaque", matchIfMissing = true)
+public class ConcurrentImageTokenStore implements ImageTokenStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrentImageTokenStore.class);
+
+    public static final String TOKENS_METER_NAME = "secure.image.tokens";
+    public static final String EVICTIONS_METER_NAME = "secure.image.tokens.evicted";
+
+    // 이미지 키 -> 토큰 정보
+    private final Map<String, TokenEntry> imageTokens = new ConcurrentHashMap<>();
+
+    // 토큰 -> 이미지 키 (역색인)
+    private final Map<String, String> tokenKeys = new ConcurrentHashMap<>();
+
+    // 세션ID -> 세션 토큰 정보
+    private final Map<String, TokenEntry> sessionTokens = new ConcurrentHashMap<>();
+
+    // 발급 순서 큐 (세션 범위 이미지 토큰, 세션 토큰). 교체/삭제된 항목은 꺼낼 때 건너뜀
+    private final Queue<TokenEntry> imageTokenOrder = new ConcurrentLinkedQueue<>();
+    private final Queue<TokenEntry> sessionTokenOrder = new ConcurrentLinkedQueue<>();
+
+    // 고정 키 토큰 변경 세대
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter expiredEvictionCounter;
+    private final Counter capacityEvictionCounter;
+
+    // 개별 이미지 토큰 만료 시간 (기본 2시간)
+    @Value("${secure-image.token.image-expiry-ms:7200000}")
+    private long imageTokenExpiryTime = 2 * 60 * 60 * 1000;
+
+    // 세션 토큰 만료 시간 (기본 2시간)
+    @Value("${secure-image.token.session-expiry-ms:7200000}")
+    private long sessionTokenExpiryTime = 2 * 60 * 60 * 1000;
+
+    // 만료 후 정리까지의 유예 시간 (만료 토큰 요청 시 재발급 리다이렉트 허용)
+    @Value("${secure-image.token.eviction-grace-ms:600000}")
+    private long evictionGraceTime = 10 * 60 * 1000;
+
+    @Value("${secure-image.token.max-entries:100000}")
+    private int maxImageTokens = 100000;
+
+    @Value("${secure-image.token.max-sessions:100000}")
+    private int maxSessionTokens = 100000;
+
+    public ConcurrentImageTokenStore(MeterRegistry registry) {
+        Gauge.builder(TOKENS_METER_NAME, imageTokens, Map::size)
+            .description("Number of secure image tokens held in memory.")
+            .tag("type", "image")
+            .register(registry);
+        Gauge.builder(TOKENS_METER_NAME, sessionTokens, Map::size)
+            .description("Number of secure image tokens held in memory.")
+            .tag("type", "session")
+            .register(registry);
+        this.expiredEvictionCounter = evictionCounterBuilder("expired").register(registry);
+        this.capacityEvictionCounter = evictionCounterBuilder("capacity").register(registry);
+    }
+
+    private Counter.Builder evictionCounterBuilder(String cause) {
+        return Counter
+            .builder(EVICTIONS_METER_NAME)
+            .baseUnit("tokens")
+            .description("Number of secure image tokens evicted from the token store.")
+            .tag("cause", cause);
+    }
+
+    @Override
+    public String getOrIssueImageToken(String key) {
+        TokenEntry entry = imageTokens.computeIfAbsent(key, k -> {
+            TokenEntry newEntry = new TokenEntry(k, generateToken());
+            tokenKeys.put(newEntry.token, k);
+            imageTokenIssued(newEntry);
+            return newEntry;
+        });
+        enforceImageTokenCapacity();
+        return entry.token;
+    }
+
+    @Override
+    public String reissueImageToken(String key) {
+        TokenEntry entry = imageTokens.compute(key, (k, oldEntry) -> {
+            if (oldEntry != null) {
+                tokenKeys.remove(oldEntry.token);
+            }
+            TokenEntry newEntry = new TokenEntry(k, generateToken());
+            tokenKeys.put(newEntry.token, k);
+            imageTokenIssued(newEntry);
+            return newEntry;
+        });
+        enforceImageTokenCapacity();
+        return entry.token;
+    }
+
+    @Override
+    public String findTokenByKey(String key) {
+        TokenEntry entry = imageTokens.get(key);
+        return entry != null ? entry.token : null;
+    }
+
+    @Override
+    public String findKeyByToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        return tokenKeys.get(token);
+    }
+
+    @Override
+    public boolean isImageTokenExpired(String token) {
+        String key = findKeyByToken(token);
+        TokenEntry entry = key != null ? imageTokens.get(key) : null;
+        if (entry == null || !entry.token.equals(token)) {
+            return true; // 타임스탬프가 없으면 만료된 것으로 간주
+        }
+        return entry.isOlderThan(imageTokenExpiryTime, System.currentTimeMillis());
+    }
+
+    @Override
+    public void putSessionToken(String sessionId, String sessionToken) {
+        TokenEntry entry = new TokenEntry(sessionId, sessionToken);
+        sessionTokens.put(sessionId, entry);
+        sessionTokenOrder.offer(entry);
+        if (sessionTokens.size() > maxSessionTokens) {
+            evictExpiredSessionTokens(System.currentTimeMillis());
+            int evicted = 0;
+            while (sessionTokens.size() > maxSessionTokens) {
+                TokenEntry oldest = sessionTokenOrder.poll();
+                if (oldest == null) {
+                    break;
+                }
+                if (sessionTokens.remove(oldest.key, oldest)) {
+                    evicted++;
+                }
+            }
+            capacityEvictionCounter.increment(evicted);
+        }
+    }
+
+    @Override
+    public String issueSessionToken(String sessionId) {
+        String sessionToken = generateToken();
+        putSessionToken(sessionId, sessionToken);
+        return sessionToken;
+    }
+
+    @Override
+    public boolean isSessionTokenValid(String sessionId) {
+        TokenEntry entry = sessionTokens.get(sessionId);
+        return entry != null && !entry.isOlderThan(sessionTokenExpiryTime, System.currentTimeMillis());
+    }
+
+    @Override
+    public Map<String, String> getImageTokens() {
+        Map<String, String> snapshot = new HashMap<>();
+        imageTokens.forEach((key, entry) -> snapshot.put(key, entry.token));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    @Override
+    public void clearImageTokens() {
+        imageTokens.clear();
+        tokenKeys.clear();
+        imageTokenOrder.clear();
+        generation.incrementAndGet();
+    }
+
+    @Override
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    @Override
+    public int getImageTokenCount() {
+        return imageTokens.size();
+    }
+
+    @Override
+    public int getSessionTokenCount() {
+        return sessionTokens.size();
+    }
+
+    /**
+     * 만료 토큰 주기적 정리
+     */
+    @Override
+    @Scheduled(
+        initialDelayString = "${secure-image.token.sweep-interval-ms:60000}",
+        fixedDelayString = "${secure-image.token.sweep-interval-ms:60000}"
+    )
+    public int evictExpired() {
+        long now = System.currentTimeMillis();
+        int evicted = evictExpiredImageTokens(now) + evictExpiredSessionTokens(now);
+        if (evicted > 0) {
+            log.debug("만료된 이미지 토큰 정리: {}건 (이미지 토큰 {}개, 세션 토큰 {}개 유지)", evicted, imageTokens.size(), sessionTokens.size());
+        }
+        return evicted;
+    }
+
+    /**
+     * 발급 순서 큐 앞에서부터 만료 토큰 정리 (만료되지 않은 항목을 만나면 뒤는 모두 더 최근 발급)
+     */
+    private int evictExpiredImageTokens(long now) {
+        int evicted = 0;
+        TokenEntry oldest;
+        while ((oldest = imageTokenOrder.peek()) != null) {
+            boolean current = imageTokens.get(oldest.key) == oldest;
+            if (current && !oldest.isOlderThan(imageTokenExpiryTime + evictionGraceTime, now)) {
+                break;
+            }
+            if (imageTokenOrder.remove(oldest) && current && removeImageToken(oldest)) {
+                evicted++;
+            }
+        }
+        expiredEvictionCounter.increment(evicted);
+        return evicted;
+    }
+
+    private int evictExpiredSessionTokens(long now) {
+        int evicted = 0;
+        TokenEntry oldest;
+        while ((oldest = sessionTokenOrder.peek()) != null) {
+            boolean current = sessionTokens.get(oldest.key) == oldest;
+            if (current && !oldest.isOlderThan(sessionTokenExpiryTime, now)) {
+                break;
+            }
+            if (sessionTokenOrder.remove(oldest) && current && sessionTokens.remove(oldest.key, oldest)) {
+                evicted++;
+            }
+        }
+        expiredEvictionCounter.increment(evicted);
+        return evicted;
+    }
+
+    /**
+     * 최대 보관 개수 초과 시 만료 토큰 정리 후, 그래도 초과하면 오래된 세션 범위 토큰부터 정리 (발급 순서 큐의 앞에서 꺼냄)
+     */
+    private void enforceImageTokenCapacity() {
+        if (imageTokens.size() <= maxImageTokens) {
+            return;
+        }
+        evictExpiredImageTokens(System.currentTimeMillis());
+        int evicted = 0;
+        while (imageTokens.size() > maxImageTokens) {
+            TokenEntry oldest = imageTokenOrder.poll();
+            if (oldest == null) {
+                // 남은 토큰은 모두 고정 키 토큰
+                break;
+            }
+            if (removeImageToken(oldest)) {
+                evicted++;
+            }
+        }
+        capacityEvictionCounter.increment(evicted);
+    }
+
+    /**
+     * 현재 토큰일 때만 삭제 (재발급으로 교체된 항목은 무시)
+     */
+    private boolean removeImageToken(TokenEntry entry) {
+        if (imageTokens.remove(entry.key, entry)) {
+            tokenKeys.remove(entry.token);
+            return true;
+        }
+        return false;
+    }
+
+    private void imageTokenIssued(TokenEntry entry) {
+        if (isSessionScoped(entry.key)) {
+            imageTokenOrder.offer(entry);
+        } else {
+            // 고정 키 토큰은 정리 대상이 아니므로 큐에 넣지 않고 세대만 증가
+            generation.incrementAndGet();
+        }
+    }
+
+    private static boolean isSessionScoped(String key) {
+        return key.contains(SESSION_KEY_SEPARATOR);
+    }
+
+    /**
+     * 토큰 생성
+     */
+    private static String generateToken() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    /**
+     * 저장 키, 토큰 값과 발급 시간
+     */
+    private static final class TokenEntry {
+
+        private final String key;
+        private final String token;
+        private final long issuedAt;
+
+        private TokenEntry(String key, String token) {
+            this.key = key;
+            this.token = token;
+            this.issuedAt = System.currentTimeMillis();
+        }
+
+        private boolean isOlderThan(long age, long now) {
+            return (now - issuedAt) > age;
+        }
+    }
+}
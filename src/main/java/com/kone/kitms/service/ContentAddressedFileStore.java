@@ -0,0 +1,221 @@
+package com.kone.kitms.service;
+
+import com.kone.kitms.repository.KitmsAttachRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * KITMS 내용 주소(content-addressed) 첨부파일 저장소
+ *
+ * 이 클래스는 첨부파일을 내용의 SHA-256 해시를 키로 하여 한 번만 저장합니다:
+ * - 파일 저장은 fileAttachmentStore(AttachmentStore)에 위임 (로컬 분산 디렉토리 ab/cd/해시 또는 메모리)
+ * - 업로드 스트림을 임시 저장하면서 해시를 함께 계산 (파일을 두 번 읽지 않음)
+ * - 같은 내용의 파일이 이미 있으면 임시 내용만 버리고 기존 파일 재사용
+ * - 참조 횟수는 같은 해시를 가진 kitms_attach 행 수로 관리
+ * - 참조가 없어진 파일은 FileDeletionQueue가 트랜잭션 커밋 후에 삭제 요청
+ *
+ * 중복 저장 시 새 kitms_attach 행은 호출자 트랜잭션이 커밋되어야 보이므로,
+ * 기존 파일의 변경 시각을 갱신하고 유예 시간(attach.store.reference-grace-ms) 안에 변경된 파일은 삭제를 미룹니다.
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class ContentAddressedFileStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentAddressedFileStore.class);
+
+    public static final String STORE_METER_NAME = "attach.store";
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    // 같은 해시에 대한 저장/삭제 직렬화용 잠금
+    private static final int LOCK_STRIPES = 64;
+
+    // 가장 긴 트랜잭션보다 길게 (기본 1시간)
+    @Value("${attach.store.reference-grace-ms:3600000}")
+    private long referenceGrace = 60 * 60 * 1000;
+
+    private final AttachmentStore attachmentStore;
+
+    private final KitmsAttachRepository kitmsAttachRepository;
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    private final Counter storedCounter;
+    private final Counter deduplicatedCounter;
+    private final Counter deletedCounter;
+
+    public ContentAddressedFileStore(
+        @Qualifier("fileAttachmentStore") AttachmentStore attachmentStore,
+        KitmsAttachRepository kitmsAttachRepository,
+        MeterRegistry registry
+    ) {
+        this.attachmentStore = attachmentStore;
+        this.kitmsAttachRepository = kitmsAttachRepository;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.storedCounter = Counter.builder(STORE_METER_NAME + ".writes").tag("result", "stored").register(registry);
+        this.deduplicatedCounter = Counter.builder(STORE_METER_NAME + ".writes").tag("result", "deduplicated").register(registry);
+        this.deletedCounter = Counter.builder(STORE_METER_NAME + ".deletes").register(registry);
+    }
+
+    /**
+     * 업로드 파일 저장 (같은 내용의 파일이 있으면 재사용)
+     */
+    public StoredFile store(MultipartFile multipartFile) throws IOException {
+        try (InputStream in = multipartFile.getInputStream()) {
+            return store(in);
+        }
+    }
+
+    /**
+     * 스트림 내용을 저장하면서 SHA-256 계산 (같은 내용의 파일이 있으면 재사용)
+     */
+    public StoredFile store(InputStream in) throws IOException {
+        AttachmentStore.StagedObject staged = attachmentStore.stage(in);
+        String hash = staged.getSha256();
+        synchronized (lockFor(hash)) {
+            if (attachmentStore.publish(staged, hash)) {
+                storedCounter.increment();
+            } else {
+                // 새 참조 행이 커밋되기 전에 삭제되지 않도록 변경 시각 갱신
+                attachmentStore.touch(hash);
+                deduplicatedCounter.increment();
+                log.debug("중복 첨부파일 재사용: {}", hash);
+            }
+        }
+        return new StoredFile(hash, location(hash), staged.getSize());
+    }
+
+    /**
+     * 해시에 해당하는 파일 내용 스트림
+     */
+    public InputStream open(String hash) throws IOException {
+        checkHash(hash);
+        return attachmentStore.open(hash);
+    }
+
+    /**
+     * 해시에 해당하는 로컬 파일 경로 (로컬 저장소만)
+     */
+    public Optional<Path> localPath(String hash) {
+        checkHash(hash);
+        return attachmentStore.localPath(hash);
+    }
+
+    /**
+     * 해시에 해당하는 저장 위치 (로컬 저장소는 파일 경로, 그 외에는 저장소 내 위치)
+     */
+    public String location(String hash) {
+        checkHash(hash);
+        return attachmentStore.localPath(hash).map(Path::toString).orElseGet(() -> attachmentStore.location(hash));
+    }
+
+    /**
+     * 로컬 저장소 루트 디렉토리 (메모리 저장소는 null)
+     */
+    public Path getRoot() {
+        return attachmentStore instanceof LocalShardedAttachmentStore ? ((LocalShardedAttachmentStore) attachmentStore).getRoot() : null;
+    }
+
+    /**
+     * 참조(같은 해시의 kitms_attach 행)가 없으면 파일 삭제
+     *
+     * 커밋된 상태를 기준으로 판단해야 하므로 트랜잭션 커밋 후에 호출합니다. (FileDeletionQueue)
+     * 유예 시간 안에 저장/재사용된 파일은 아직 커밋되지 않은 참조가 있을 수 있으므로 삭제하지 않습니다.
+     */
+    public DeleteResult deleteIfUnreferenced(String hash) throws IOException {
+        checkHash(hash);
+        synchronized (lockFor(hash)) {
+            if (!attachmentStore.exists(hash)) {
+                return DeleteResult.NOT_FOUND;
+            }
+            if (System.currentTimeMillis() - attachmentStore.lastModified(hash) < referenceGrace) {
+                return DeleteResult.DEFERRED;
+            }
+            if (kitmsAttachRepository.countByAttachFileHash(hash) > 0) {
+                return DeleteResult.REFERENCED;
+            }
+            if (!attachmentStore.delete(hash)) {
+                return DeleteResult.NOT_FOUND;
+            }
+            deletedCounter.increment();
+            log.debug("참조 없는 첨부파일 삭제: {}", hash);
+            return DeleteResult.DELETED;
+        }
+    }
+
+    /**
+     * 삭제 유예 시간 (밀리초)
+     */
+    public long getReferenceGrace() {
+        return referenceGrace;
+    }
+
+    private Object lockFor(String hash) {
+        return locks[Math.floorMod(hash.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static void checkHash(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            throw new IllegalArgumentException("잘못된 첨부파일 해시: " + hash);
+        }
+    }
+
+    /**
+     * 참조 없는 파일 삭제 결과
+     */
+    public enum DeleteResult {
+        DELETED,
+        // 참조 행이 있음
+        REFERENCED,
+        // 유예 시간 안에 저장/재사용됨 (나중에 다시 확인)
+        DEFERRED,
+        NOT_FOUND
+    }
+
+    /**
+     * 저장된 파일 정보
+     */
+    public static final class StoredFile {
+
+        private final String hash;
+        private final String location;
+        private final long size;
+
+        private StoredFile(String hash, String location, long size) {
+            this.hash = hash;
+            this.location = location;
+            this.size = size;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        /**
+         * 저장 위치 (kitms_attach.attach_file_path에 기록)
+         */
+        public String getLocation() {
+            return location;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+}
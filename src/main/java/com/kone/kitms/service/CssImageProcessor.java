@@ -1,29 +1,59 @@
 package com.kone.kitms.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * CSS 이미지 처리 서비스
  * CSS 파일의 background 이미지 URL을 보안 URL로 변환합니다.
+ *
+ * - 파일명 -> 토큰 색인으로 URL 당 O(1) 변환
+ * - 변환 결과를 원본 내용 해시 + 토큰 세대 기준으로 캐시 (ETag 제공)
  */
 @Service
 public class CssImageProcessor {
 
+    private static final Logger log = LoggerFactory.getLogger(CssImageProcessor.class);
+
+    private static final String SECURE_IMAGE_URL_PREFIX = "/api/secure-images/";
+
+    // 일괄 처리 대상 CSS 파일
+    private static final String[] CSS_FILES = {
+        "static/style/main.css",
+        "static/style/common.css",
+        "static/style/reset.css",
+        "static/style/mobile.css"
+    };
+
     @Autowired
     private ImagePathService imagePathService;
 
+    @Autowired
+    private ImageTokenStore imageTokenStore;
+
+    // 고정 토큰 기준 파일명 -> 토큰 색인 (토큰 세대가 바뀌면 재생성)
+    private volatile TokenIndex tokenIndex = new TokenIndex(-1, Map.of());
+
+    // CSS 경로 -> 변환 결과
+    private final Map<String, ProcessedCss> processedCssCache = new ConcurrentHashMap<>();
+
     // CSS background 이미지 URL 패턴
     private static final Pattern BACKGROUND_URL_PATTERN = Pattern.compile(
         "background(?:-image)?\\s*:\\s*url\\(['\"]?([^'\")]+)['\"]?\\)",
@@ -43,17 +73,78 @@ public class CssImageProcessor {
         if (cssContent == null || imageTokenMap == null) {
             return cssContent;
         }
+        return rewrite(cssContent, buildFileNameIndex(imageTokenMap));
+    }
+
+    /**
+     * 변환된 CSS 조회 (캐시, 원본 내용 또는 토큰이 바뀐 경우에만 다시 변환)
+     *
+     * @param cssFilePath classpath 기준 CSS 경로 (예: static/style/main.css)
+     * @return 변환 결과, 파일이 없으면 null
+     */
+    public ProcessedCss getProcessedCss(String cssFilePath) throws IOException {
+        Resource resource = new ClassPathResource(cssFilePath);
+        if (!resource.exists()) {
+            processedCssCache.remove(cssFilePath);
+            return null;
+        }
+
+        TokenIndex index = currentTokenIndex();
+        long lastModified = resource.lastModified();
+        long contentLength = resource.contentLength();
+
+        ProcessedCss cached = processedCssCache.get(cssFilePath);
+        if (cached != null && cached.isCurrent(lastModified, contentLength, index.generation)) {
+            return cached;
+        }
+
+        byte[] source;
+        try (InputStream inputStream = resource.getInputStream()) {
+            source = inputStream.readAllBytes();
+        }
+        String sourceHash = sha256Hex(source);
+        if (cached != null && cached.sourceHash.equals(sourceHash) && cached.tokenGeneration == index.generation) {
+            // 수정 시간만 바뀐 경우 (내용 동일)
+            cached = cached.withStat(lastModified, contentLength);
+        } else {
+            String content = rewrite(new String(source, StandardCharsets.UTF_8), index.fileNameTokens);
+            String eTag = "\"" + sourceHash.substring(0, 32) + "-" + Long.toHexString(index.generation) + "\"";
+            cached = new ProcessedCss(content, eTag, sourceHash, index.generation, lastModified, contentLength);
+            log.debug("CSS 이미지 URL 변환: {} (토큰 세대 {})", cssFilePath, index.generation);
+        }
+        processedCssCache.put(cssFilePath, cached);
+        return cached;
+    }
+
+    /**
+     * 모든 CSS 파일의 변환 결과 조회 (캐시)
+     */
+    public Map<String, ProcessedCss> getAllProcessedCss() {
+        Map<String, ProcessedCss> processed = new LinkedHashMap<>();
+        for (String cssFile : CSS_FILES) {
+            try {
+                ProcessedCss css = getProcessedCss(cssFile);
+                if (css != null) {
+                    processed.put(cssFile, css);
+                }
+            } catch (IOException e) {
+                log.warn("CSS 파일 처리 중 오류: {} ({})", cssFile, e.getMessage());
+            }
+        }
+        return processed;
+    }
 
+    private String rewrite(String cssContent, Map<String, String> fileNameTokens) {
         Matcher matcher = BACKGROUND_URL_PATTERN.matcher(cssContent);
-        StringBuffer result = new StringBuffer();
+        StringBuilder result = new StringBuilder(cssContent.length());
 
         while (matcher.find()) {
             String originalUrl = matcher.group(1);
-            String secureUrl = convertToSecureUrl(originalUrl, imageTokenMap);
+            String secureUrl = convertToSecureUrl(originalUrl, fileNameTokens);
             
             // 변환된 URL로 교체
             matcher.appendReplacement(result, 
-                matcher.group(0).replace(originalUrl, secureUrl));
+                Matcher.quoteReplacement(matcher.group(0).replace(originalUrl, secureUrl)));
         }
         
         matcher.appendTail(result);
@@ -63,18 +154,17 @@ public class CssImageProcessor {
     /**
      * 이미지 URL을 보안 URL로 변환
      */
-    private String convertToSecureUrl(String originalUrl, Map<String, String> imageTokenMap) {
+    private String convertToSecureUrl(String originalUrl, Map<String, String> fileNameTokens) {
         // 상대 경로인 경우만 처리
         if (!originalUrl.startsWith("http") && !originalUrl.startsWith("data:")) {
             // 파일명 추출
             String fileName = extractFileName(originalUrl);
             
             if (fileName != null && isImageFile(fileName)) {
-                // 토큰 매핑에서 찾기
-                for (Map.Entry<String, String> entry : imageTokenMap.entrySet()) {
-                    if (entry.getKey().endsWith(fileName)) {
-                        return "/api/secure-images/" + entry.getValue();
-                    }
+                // 파일명 색인에서 찾기
+                String token = fileNameTokens.get(fileName);
+                if (token != null) {
+                    return SECURE_IMAGE_URL_PREFIX + token;
                 }
             }
         }
@@ -82,6 +172,50 @@ public class CssImageProcessor {
         return originalUrl; // 변환할 수 없으면 원본 반환
     }
 
+    /**
+     * 현재 고정 토큰 기준 파일명 색인 (토큰 세대가 바뀐 경우에만 재생성)
+     */
+    private TokenIndex currentTokenIndex() {
+        TokenIndex index = tokenIndex;
+        long generation = imageTokenStore.getGeneration();
+        if (index.generation != generation) {
+            Map<String, String> pinnedTokens = new HashMap<>();
+            imageTokenStore.getImageTokens().forEach((key, token) -> {
+                if (!key.contains(ImageTokenStore.SESSION_KEY_SEPARATOR)) {
+                    pinnedTokens.put(key, token);
+                }
+            });
+            index = new TokenIndex(generation, buildFileNameIndex(pinnedTokens));
+            tokenIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * 이미지 키 -> 토큰 매핑으로 파일명 -> 토큰 색인 생성
+     * 같은 파일명이 여러 경로에 있으면 가장 짧은(상위) 경로를 사용합니다.
+     */
+    private Map<String, String> buildFileNameIndex(Map<String, String> imageTokenMap) {
+        Map<String, String> fileNameKeys = new HashMap<>();
+        for (String key : imageTokenMap.keySet()) {
+            String fileName = extractFileName(key.substring(key.lastIndexOf(ImageTokenStore.SESSION_KEY_SEPARATOR) + 1));
+            if (fileName != null) {
+                fileNameKeys.merge(fileName, key, (a, b) -> a.length() < b.length() || (a.length() == b.length() && a.compareTo(b) <= 0) ? a : b);
+            }
+        }
+        Map<String, String> fileNameTokens = new HashMap<>();
+        fileNameKeys.forEach((fileName, key) -> fileNameTokens.put(fileName, imageTokenMap.get(key)));
+        return fileNameTokens;
+    }
+
+    private static String sha256Hex(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * URL에서 파일명 추출
      */
@@ -108,11 +242,13 @@ public class CssImageProcessor {
         try {
             Resource resource = new ClassPathResource(cssFilePath);
             if (resource.exists()) {
-                String cssContent = Files.readString(resource.getFile().toPath());
-                return processCssFile(cssContent, imageTokenMap);
+                try (InputStream inputStream = resource.getInputStream()) {
+                    String cssContent = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+                    return processCssFile(cssContent, imageTokenMap);
+                }
             }
         } catch (IOException e) {
-            System.err.println("CSS 파일 처리 중 오류: " + e.getMessage());
+            log.warn("CSS 파일 처리 중 오류: {}", e.getMessage());
         }
         return null;
     }
@@ -122,15 +258,8 @@ public class CssImageProcessor {
      */
     public Map<String, String> processAllCssFiles(Map<String, String> imageTokenMap) {
         Map<String, String> processedCssFiles = new HashMap<>();
-        
-        String[] cssFiles = {
-            "static/style/main.css",
-            "static/style/common.css",
-            "static/style/reset.css",
-            "static/style/mobile.css"
-        };
-
-        for (String cssFile : cssFiles) {
+
+        for (String cssFile : CSS_FILES) {
             String processedContent = processCssFileFromPath(cssFile, imageTokenMap);
             if (processedContent != null) {
                 processedCssFiles.put(cssFile, processedContent);
@@ -139,4 +268,56 @@ public class CssImageProcessor {
 
         return processedCssFiles;
     }
+
+    /**
+     * 토큰 세대별 파일명 -> 토큰 색인
+     */
+    private static final class TokenIndex {
+
+        private final long generation;
+        private final Map<String, String> fileNameTokens;
+
+        private TokenIndex(long generation, Map<String, String> fileNameTokens) {
+            this.generation = generation;
+            this.fileNameTokens = fileNameTokens;
+        }
+    }
+
+    /**
+     * 변환된 CSS 내용과 캐시 검증 정보
+     */
+    public static final class ProcessedCss {
+
+        private final String content;
+        private final String eTag;
+        private final String sourceHash;
+        private final long tokenGeneration;
+        private final long lastModified;
+        private final long contentLength;
+
+        private ProcessedCss(String content, String eTag, String sourceHash, long tokenGeneration, long lastModified, long contentLength) {
+            this.content = content;
+            this.eTag = eTag;
+            this.sourceHash = sourceHash;
+            this.tokenGeneration = tokenGeneration;
+            this.lastModified = lastModified;
+            this.contentLength = contentLength;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        private boolean isCurrent(long lastModified, long contentLength, long tokenGeneration) {
+            return this.lastModified == lastModified && this.contentLength == contentLength && this.tokenGeneration == tokenGeneration;
+        }
+
+        private ProcessedCss withStat(long lastModified, long contentLength) {
+            return new ProcessedCss(content, eTag, sourceHash, tokenGeneration, lastModified, contentLength);
+        }
+    }
 }
@@ -0,0 +1,133 @@
+package com.kone.kitms.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * KITMS 파일 전송 위임(offload) 서비스
+ *
+ * 이 클래스는 인증/권한 확인이 끝난 파일 응답을 앞단 웹 서버에 넘깁니다:
+ * - none(기본): 애플리케이션이 직접 파일 전송
+ * - x-accel: nginx X-Accel-Redirect 헤더로 내부 경로 전달 (accel-prefix + accel-root 기준 상대 경로)
+ * - x-sendfile: Apache/lighttpd X-Sendfile 헤더로 절대 경로 전달
+ * - 응답 본문은 비우고 Content-Type, Content-Disposition, Cache-Control 등은 그대로 전달
+ * - accel-root 밖의 파일은 위임하지 않고 기존 방식으로 전송
+ *
+ * nginx 설정 예 (accel-prefix=/internal-files, accel-root=/var/kitms):
+ *   location /internal-files/ { internal; alias /var/kitms/; }
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Service
+public class DownloadOffloadService {
+
+    private static final Logger log = LoggerFactory.getLogger(DownloadOffloadService.class);
+
+    public static final String MODE_NONE = "none";
+    public static final String MODE_X_ACCEL = "x-accel";
+    public static final String MODE_X_SENDFILE = "x-sendfile";
+
+    public static final String X_ACCEL_REDIRECT = "X-Accel-Redirect";
+    public static final String X_SENDFILE = "X-Sendfile";
+
+    public static final String OFFLOAD_METER_NAME = "attach.download.offload";
+
+    @Value("${attach.download.offload-mode:none}")
+    private String mode = MODE_NONE;
+
+    // nginx internal location 경로
+    @Value("${attach.download.accel-prefix:/internal-files}")
+    private String accelPrefix = "/internal-files";
+
+    // internal location이 가리키는 디렉토리 (이 디렉토리 밖의 파일은 위임하지 않음)
+    @Value("${attach.download.accel-root:/}")
+    private String accelRoot = "/";
+
+    private Path root;
+
+    private final Counter offloadedCounter;
+    private final Counter skippedCounter;
+
+    public DownloadOffloadService(MeterRegistry registry) {
+        this.offloadedCounter = Counter.builder(OFFLOAD_METER_NAME).tag("result", "offloaded").register(registry);
+        this.skippedCounter = Counter.builder(OFFLOAD_METER_NAME).tag("result", "skipped").register(registry);
+    }
+
+    @PostConstruct
+    public void init() {
+        mode = mode.trim().toLowerCase(Locale.ROOT);
+        if (!MODE_NONE.equals(mode) && !MODE_X_ACCEL.equals(mode) && !MODE_X_SENDFILE.equals(mode)) {
+            log.warn("알 수 없는 파일 전송 위임 방식 '{}', 직접 전송 사용", mode);
+            mode = MODE_NONE;
+        }
+        root = Paths.get(accelRoot).toAbsolutePath().normalize();
+        if (isEnabled()) {
+            log.info("파일 전송 위임 사용: {} (root: {})", mode, root);
+        }
+    }
+
+    public boolean isEnabled() {
+        return !MODE_NONE.equals(mode);
+    }
+
+    /**
+     * 위임 응답 생성 (본문 없음)
+     *
+     * @param builder 상태 코드와 Content-Type 등 부가 헤더가 설정된 응답 빌더
+     * @param file 전송할 로컬 파일
+     * @return 위임할 수 없으면 빈 값 (호출 측에서 직접 전송)
+     */
+    public Optional<ResponseEntity<Resource>> offload(ResponseEntity.BodyBuilder builder, Path file) {
+        return headerValue(file).map(value -> builder.header(headerName(), value).build());
+    }
+
+    /**
+     * 서블릿 응답에 위임 헤더 설정
+     *
+     * @return 위임했으면 true (본문을 쓰지 않아야 함), 아니면 false
+     */
+    public boolean offload(HttpServletResponse response, Path file) {
+        Optional<String> value = headerValue(file);
+        value.ifPresent(v -> response.setHeader(headerName(), v));
+        return value.isPresent();
+    }
+
+    private Optional<String> headerValue(Path file) {
+        if (!isEnabled() || file == null) {
+            return Optional.empty();
+        }
+        Path target = file.toAbsolutePath().normalize();
+        if (!target.startsWith(root)) {
+            skippedCounter.increment();
+            log.debug("위임 대상 디렉토리 밖의 파일, 직접 전송: {}", target);
+            return Optional.empty();
+        }
+        offloadedCounter.increment();
+        if (MODE_X_SENDFILE.equals(mode)) {
+            return Optional.of(target.toString());
+        }
+        String relative = root.relativize(target).toString().replace('\\', '/');
+        String prefix = accelPrefix.endsWith("/") ? accelPrefix : accelPrefix + "/";
+        return Optional.of(prefix + UriUtils.encodePath(relative, StandardCharsets.UTF_8));
+    }
+
+    private String headerName() {
+        return MODE_X_SENDFILE.equals(mode) ? X_SENDFILE : X_ACCEL_REDIRECT;
+    }
+}
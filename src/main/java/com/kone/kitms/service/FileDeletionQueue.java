@@ -0,0 +1,477 @@
+package com.kone.kitms.service;
+
+import com.kone.kitms.domain.KitmsAttach;
+import com.kone.kitms.domain.KitmsFileDeletion;
+import com.kone.kitms.repository.KitmsAttachRepository;
+import com.kone.kitms.repository.KitmsFileDeletionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * KITMS 파일 삭제 대기열(outbox) 서비스
+ *
+ * 이 클래스는 물리 파일 삭제를 DB 트랜잭션 밖으로 분리합니다:
+ * - 첨부파일 행을 지우는 트랜잭션 안에서는 kitms_file_deletion 행만 기록 (롤백 시 함께 취소)
+ * - 커밋 후 백그라운드 작업이 대기 항목을 배치 단위로 삭제
+ * - 삭제 실패 시 지연 시간을 늘려가며 재시도, 한도를 넘으면 대기열에 남겨 두고 오류 로그
+ * - 주기적으로 업로드 디렉토리(images/, uploads/)와 내용 주소 저장소를 kitms_attach와 대조하여 고아 파일 정리
+ *
+ * 고아 파일 정리는 보수적으로 동작합니다:
+ * - 업로드 코드가 만든 이름(UUID, SHA-256 해시, 임시 파일)만 대상
+ * - 유예 시간보다 오래된 파일만 대상 (업로드 직후 아직 커밋되지 않은 파일 보호)
+ * - 본문(공지사항, CMS, 뉴스룸)에 파일명이 있으면 제외 (에디터 삽입 이미지 보호)
+ * - 파일이 없는 첨부파일 행은 삭제하지 않고 로그로만 보고
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Service
+public class FileDeletionQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(FileDeletionQueue.class);
+
+    public static final String DELETION_METER_NAME = "attach.deletion";
+
+    // 업로드 코드가 생성하는 파일명 (UUID + 확장자)
+    private static final Pattern UPLOAD_FILE_NAME = Pattern.compile(
+        "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}(\\.[A-Za-z0-9]{1,10})?"
+    );
+
+    // 업로드/저장 중 임시 파일 (SecureUploadWriter, ContentAddressedFileStore)
+    private static final Pattern TEMP_FILE_NAME = Pattern.compile("(\\.upload-.*\\.part|upload-.*\\.tmp)");
+
+    private static final Pattern HASH_FILE_NAME = Pattern.compile("[0-9a-f]{64}");
+
+    // 본문에 포함된 업로드 파일명의 UUID 부분
+    private static final Pattern UUID_IN_CONTENT = Pattern.compile(
+        "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}"
+    );
+
+    private static final String WEB_IMAGE_PREFIX = "/images/";
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Value("${attach.deletion.batch-size:100}")
+    private int batchSize = 100;
+
+    @Value("${attach.deletion.max-attempts:5}")
+    private int maxAttempts = 5;
+
+    // 첫 재시도 지연 (이후 시도마다 두 배)
+    @Value("${attach.deletion.retry-delay-ms:60000}")
+    private long retryDelay = 60 * 1000;
+
+    // 고아 파일 판정 유예 시간 (기본 24시간)
+    @Value("${attach.deletion.reconcile-grace-ms:86400000}")
+    private long reconcileGrace = 24 * 60 * 60 * 1000;
+
+    @Value("${attach.deletion.reconcile-enabled:true}")
+    private boolean reconcileEnabled = true;
+
+    // 이미지 저장소가 로컬이 아닐 때(메모리) 기존 업로드 경로 (웹 경로 /images/...)
+    @Value("${app.upload.path:./images}")
+    private String imagesPath = "./images";
+
+    // UploadController 기존 업로드 경로 (웹 경로 /uploads/...)
+    @Value("${attach.legacy-uploads-path:uploads}")
+    private String uploadsPath = "uploads";
+
+    private final KitmsFileDeletionRepository kitmsFileDeletionRepository;
+
+    private final KitmsAttachRepository kitmsAttachRepository;
+
+    private final ContentAddressedFileStore contentAddressedFileStore;
+
+    private final ImageFileIndex imageFileIndex;
+
+    private final AttachmentStore imageAttachmentStore;
+
+    private final Executor taskExecutor;
+
+    // 본문 컬럼 스트리밍 조회용 읽기 전용 트랜잭션
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AtomicBoolean processing = new AtomicBoolean();
+
+    private final Counter deletedCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+    private final Counter orphanCounter;
+
+    public FileDeletionQueue(
+        KitmsFileDeletionRepository kitmsFileDeletionRepository,
+        KitmsAttachRepository kitmsAttachRepository,
+        ContentAddressedFileStore contentAddressedFileStore,
+        ImageFileIndex imageFileIndex,
+        @Qualifier("imageAttachmentStore") AttachmentStore imageAttachmentStore,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry registry
+    ) {
+        this.kitmsFileDeletionRepository = kitmsFileDeletionRepository;
+        this.kitmsAttachRepository = kitmsAttachRepository;
+        this.contentAddressedFileStore = contentAddressedFileStore;
+        this.imageFileIndex = imageFileIndex;
+        this.imageAttachmentStore = imageAttachmentStore;
+        this.taskExecutor = taskExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.deletedCounter = Counter.builder(DELETION_METER_NAME + ".processed").tag("result", "deleted").register(registry);
+        this.retryCounter = Counter.builder(DELETION_METER_NAME + ".processed").tag("result", "retry").register(registry);
+        this.failedCounter = Counter.builder(DELETION_METER_NAME + ".processed").tag("result", "failed").register(registry);
+        this.orphanCounter = Counter.builder(DELETION_METER_NAME + ".orphans").register(registry);
+    }
+
+    /**
+     * 첨부파일 행의 파일 삭제 예약 (내용 주소 저장소 파일은 해시, 그 외는 경로)
+     */
+    public void enqueueAttachFiles(Collection<KitmsAttach> attaches) {
+        if (attaches == null || attaches.isEmpty()) {
+            return;
+        }
+        List<KitmsFileDeletion> deletions = new ArrayList<>(attaches.size());
+        for (KitmsAttach attach : attaches) {
+            if (attach.getAttachFileHash() != null) {
+                deletions.add(KitmsFileDeletion.ofHash(attach.getAttachFileHash()));
+            } else if (attach.getAttachFilePath() != null && !attach.getAttachFilePath().isEmpty()) {
+                deletions.add(KitmsFileDeletion.ofPath(attach.getAttachFilePath()));
+            }
+        }
+        enqueue(deletions);
+    }
+
+    /**
+     * 내용 주소 저장소 파일 삭제 예약 (커밋 후 참조가 없을 때만 삭제)
+     */
+    public void enqueueHashes(Collection<String> hashes) {
+        if (hashes == null || hashes.isEmpty()) {
+            return;
+        }
+        List<KitmsFileDeletion> deletions = new ArrayList<>(hashes.size());
+        for (String hash : new LinkedHashSet<>(hashes)) {
+            deletions.add(KitmsFileDeletion.ofHash(hash));
+        }
+        enqueue(deletions);
+    }
+
+    /**
+     * 물리 파일 경로 삭제 예약
+     */
+    public void enqueuePaths(Collection<Path> paths) {
+        if (paths == null || paths.isEmpty()) {
+            return;
+        }
+        List<KitmsFileDeletion> deletions = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            deletions.add(KitmsFileDeletion.ofPath(path.toString()));
+        }
+        enqueue(deletions);
+    }
+
+    private void enqueue(List<KitmsFileDeletion> deletions) {
+        if (deletions.isEmpty()) {
+            return;
+        }
+        // 호출자 트랜잭션에 참여 (롤백되면 대기 항목도 취소)
+        kitmsFileDeletionRepository.saveAll(deletions);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        trigger();
+                    }
+                }
+            );
+        } else {
+            trigger();
+        }
+    }
+
+    /**
+     * 대기열 처리 요청 (바쁘면 다음 주기 처리에 맡김)
+     */
+    private void trigger() {
+        try {
+            taskExecutor.execute(this::processPending);
+        } catch (RejectedExecutionException e) {
+            log.debug("파일 삭제 작업 즉시 실행 불가, 다음 주기에 처리");
+        }
+    }
+
+    /**
+     * 시도 시각이 된 대기 항목을 배치 단위로 삭제
+     */
+    @Scheduled(fixedDelayString = "${attach.deletion.interval-ms:30000}")
+    public void processPending() {
+        if (!processing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<KitmsFileDeletion> batch;
+            do {
+                batch = kitmsFileDeletionRepository.findDue(maxAttempts, ZonedDateTime.now(), PageRequest.of(0, batchSize));
+                processBatch(batch);
+            } while (batch.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.error("파일 삭제 대기열 처리 오류", e);
+        } finally {
+            processing.set(false);
+        }
+    }
+
+    private void processBatch(List<KitmsFileDeletion> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<Long> done = new ArrayList<>(batch.size());
+        List<KitmsFileDeletion> retries = new ArrayList<>();
+        for (KitmsFileDeletion deletion : batch) {
+            try {
+                if (delete(deletion)) {
+                    done.add(deletion.getDeletionNo());
+                    deletedCounter.increment();
+                } else {
+                    // 아직 커밋되지 않은 참조가 있을 수 있는 파일 (시도 횟수는 늘리지 않음)
+                    deletion.setNextAttemptDt(
+                        ZonedDateTime.now().plus(Duration.ofMillis(contentAddressedFileStore.getReferenceGrace()))
+                    );
+                    retries.add(deletion);
+                }
+            } catch (IOException | RuntimeException e) {
+                int attempt = deletion.getAttemptCount() + 1;
+                deletion.setAttemptCount(attempt);
+                deletion.setNextAttemptDt(ZonedDateTime.now().plus(Duration.ofMillis(retryDelay << Math.min(attempt - 1, 10))));
+                String error = String.valueOf(e);
+                deletion.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+                retries.add(deletion);
+                if (attempt >= maxAttempts) {
+                    failedCounter.increment();
+                    log.error("파일 삭제 재시도 한도 초과 (수동 확인 필요): {}", deletion, e);
+                } else {
+                    retryCounter.increment();
+                    log.warn("파일 삭제 실패, 재시도 예정: {} - {}", deletion, e.getMessage());
+                }
+            }
+        }
+        if (!done.isEmpty()) {
+            kitmsFileDeletionRepository.deleteAllByIdInBatch(done);
+        }
+        if (!retries.isEmpty()) {
+            kitmsFileDeletionRepository.saveAll(retries);
+        }
+    }
+
+    /**
+     * @return 처리 완료면 true, 나중에 다시 확인해야 하면 false
+     */
+    private boolean delete(KitmsFileDeletion deletion) throws IOException {
+        if (deletion.getFileHash() != null) {
+            ContentAddressedFileStore.DeleteResult result = contentAddressedFileStore.deleteIfUnreferenced(deletion.getFileHash());
+            return result != ContentAddressedFileStore.DeleteResult.DEFERRED;
+        }
+        Path path = toPhysicalPath(deletion.getFilePath());
+        if (Files.deleteIfExists(path)) {
+            imageFileIndex.unregisterFile(path);
+            log.debug("파일 삭제 완료: {}", path);
+        }
+        return true;
+    }
+
+    /**
+     * 업로드 디렉토리와 kitms_attach를 대조하여 고아 파일을 삭제 대기열에 등록
+     */
+    @Scheduled(cron = "${attach.deletion.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        if (!reconcileEnabled) {
+            return;
+        }
+        try {
+            long expiredBefore = System.currentTimeMillis() - reconcileGrace;
+
+            // 참조 중인 파일 경로
+            Set<Path> referenced = new HashSet<>();
+            int missing = 0;
+            for (String filePath : kitmsAttachRepository.findAllAttachFilePaths()) {
+                if (filePath == null || filePath.isEmpty()) {
+                    continue;
+                }
+                Path path = toPhysicalPath(filePath);
+                referenced.add(path);
+                if (filePath.startsWith(WEB_IMAGE_PREFIX) && !Files.exists(path)) {
+                    missing++;
+                }
+            }
+
+            // 본문에서 참조하는 파일명(UUID)을 한 번에 수집
+            Set<String> contentReferences = collectContentReferences();
+
+            List<Path> orphanPaths = new ArrayList<>();
+            Set<Path> roots = new LinkedHashSet<>(List.of(imagesRoot(), normalize(Paths.get(uploadsPath))));
+            Path casRoot = contentAddressedFileStore.getRoot();
+            for (Path root : roots) {
+                collectOrphanFiles(root, casRoot, referenced, contentReferences, expiredBefore, orphanPaths);
+            }
+
+            Set<String> referencedHashes = new HashSet<>(kitmsAttachRepository.findAllAttachFileHashes());
+            List<String> orphanHashes = new ArrayList<>();
+            collectOrphanHashes(casRoot, referencedHashes, expiredBefore, orphanHashes, orphanPaths);
+
+            for (int i = 0; i < orphanPaths.size(); i += batchSize) {
+                enqueuePaths(orphanPaths.subList(i, Math.min(i + batchSize, orphanPaths.size())));
+            }
+            for (int i = 0; i < orphanHashes.size(); i += batchSize) {
+                enqueueHashes(orphanHashes.subList(i, Math.min(i + batchSize, orphanHashes.size())));
+            }
+            orphanCounter.increment(orphanPaths.size() + orphanHashes.size());
+
+            long exhausted = kitmsFileDeletionRepository.countByAttemptCountGreaterThanEqual(maxAttempts);
+            log.info(
+                "첨부파일 정리 완료 - 고아 파일: {}, 고아 해시 파일: {}, 파일 없는 첨부 행: {}, 재시도 한도 초과 항목: {}",
+                orphanPaths.size(),
+                orphanHashes.size(),
+                missing,
+                exhausted
+            );
+        } catch (IOException | RuntimeException e) {
+            log.error("첨부파일 정리 작업 오류", e);
+        }
+    }
+
+    /**
+     * 본문/이미지 컬럼을 한 번 훑어 참조되는 업로드 파일명의 UUID(소문자) 수집
+     */
+    private Set<String> collectContentReferences() {
+        Set<String> references = new HashSet<>();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<String> contents = kitmsFileDeletionRepository.streamContentColumns()) {
+                contents.forEach(content -> {
+                    Matcher matcher = UUID_IN_CONTENT.matcher(content);
+                    while (matcher.find()) {
+                        references.add(matcher.group().toLowerCase(Locale.ROOT));
+                    }
+                });
+            }
+        });
+        return references;
+    }
+
+    private static void collectOrphanFiles(
+        Path root,
+        Path casRoot,
+        Set<Path> referenced,
+        Set<String> contentReferences,
+        long expiredBefore,
+        List<Path> orphans
+    ) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                // 내용 주소 저장소는 해시 기준으로 따로 확인
+                if ((casRoot != null && file.startsWith(casRoot)) || !Files.isRegularFile(file)) {
+                    continue;
+                }
+                String name = file.getFileName().toString();
+                boolean temp = TEMP_FILE_NAME.matcher(name).matches();
+                if (!temp && !UPLOAD_FILE_NAME.matcher(name).matches()) {
+                    continue;
+                }
+                if (Files.getLastModifiedTime(file).toMillis() >= expiredBefore || referenced.contains(file)) {
+                    continue;
+                }
+                if (!temp && contentReferences.contains(uuidOf(name))) {
+                    continue;
+                }
+                orphans.add(file);
+            }
+        }
+    }
+
+    private void collectOrphanHashes(
+        Path casRoot,
+        Set<String> referencedHashes,
+        long expiredBefore,
+        List<String> orphanHashes,
+        List<Path> orphanPaths
+    ) throws IOException {
+        if (casRoot == null || !Files.isDirectory(casRoot)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(casRoot)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (!Files.isRegularFile(file) || Files.getLastModifiedTime(file).toMillis() >= expiredBefore) {
+                    continue;
+                }
+                String name = file.getFileName().toString();
+                if (HASH_FILE_NAME.matcher(name).matches()) {
+                    if (!referencedHashes.contains(name)) {
+                        orphanHashes.add(name);
+                    }
+                } else if (TEMP_FILE_NAME.matcher(name).matches()) {
+                    orphanPaths.add(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * 첨부파일 경로를 물리 경로로 변환 (웹 경로 /images/... 는 업로드 디렉토리 기준)
+     */
+    private Path toPhysicalPath(String filePath) {
+        if (filePath.startsWith(WEB_IMAGE_PREFIX)) {
+            return normalize(imagesRoot().resolve(filePath.substring(WEB_IMAGE_PREFIX.length())));
+        }
+        return normalize(Paths.get(filePath));
+    }
+
+    /**
+     * 이미지 업로드 디렉토리 (이미지 저장소 루트)
+     */
+    private Path imagesRoot() {
+        return imageAttachmentStore instanceof LocalShardedAttachmentStore
+            ? ((LocalShardedAttachmentStore) imageAttachmentStore).getRoot()
+            : normalize(Paths.get(imagesPath));
+    }
+
+    private static String uuidOf(String uploadFileName) {
+        int extensionIndex = uploadFileName.indexOf('.');
+        return extensionIndex > 0 ? uploadFileName.substring(0, extensionIndex) : uploadFileName;
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+}
@@ -5,32 +5,33 @@ import com.kone.kitms.repository.KitmsAttachRepository;
 import com.kone.kitms.service.dto.CustomReturnDTO;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.sql.Blob;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
+import java.util.Set;
 import javax.sql.rowset.serial.SerialBlob;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.InputStreamResource;
-import org.springframework.core.io.Resource;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StreamUtils;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import tech.jhipster.web.util.HeaderUtil;
 
@@ -44,7 +45,10 @@ import tech.jhipster.web.util.HeaderUtil;
  * - BLOB 데이터 처리
  * - 파일 경로 및 메타데이터 관리
  * - 다중 파일 처리
- * - 파일 중복 방지 및 고유명 생성
+ * - 내용 주소(SHA-256) 저장소를 통한 중복 파일 제거 및 참조 해제
+ * - 물리 파일 삭제는 삭제 대기열(FileDeletionQueue)에 기록하여 커밋 후 처리
+ * - 여러 첨부파일 행은 saveAll(JDBC 배치) 및 ID 목록 일괄 삭제로 처리 (파일 수와 관계없이 일정한 DB 왕복)
+ * - 첨부파일 행 변경 시 KitmsAttachChangedEvent 발행 (공지사항 조회 캐시 무효화)
  * 
  * @author KITMS Development Team
  * @version 1.0
@@ -58,6 +62,9 @@ public class FileService {
 
     private static final String ENTITY_NAME = "kitmsAttach";
 
+    // DB 저장 방식 첨부파일 내용 (엔티티에 매핑되지 않은 컬럼)
+    private static final String UPDATE_ATTACH_FILE_SQL = "update kitms_attach set attach_file = ? where attach_no = ?";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -65,9 +72,36 @@ public class FileService {
 
     private final KitmsAttachRepository kitmsAttachRepository;
 
-    public FileService(KitmsLoginService kitmsLoginService, KitmsAttachRepository kitmsAttachRepository) {
+    private final FileDeletionQueue fileDeletionQueue;
+
+    private final AttachmentZipService attachmentZipService;
+
+    private final ContentAddressedFileStore contentAddressedFileStore;
+
+    private final DownloadOffloadService downloadOffloadService;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FileService(
+        KitmsLoginService kitmsLoginService,
+        KitmsAttachRepository kitmsAttachRepository,
+        FileDeletionQueue fileDeletionQueue,
+        AttachmentZipService attachmentZipService,
+        ContentAddressedFileStore contentAddressedFileStore,
+        DownloadOffloadService downloadOffloadService,
+        ApplicationEventPublisher applicationEventPublisher,
+        JdbcTemplate jdbcTemplate
+    ) {
         this.kitmsLoginService = kitmsLoginService;
         this.kitmsAttachRepository = kitmsAttachRepository;
+        this.fileDeletionQueue = fileDeletionQueue;
+        this.attachmentZipService = attachmentZipService;
+        this.contentAddressedFileStore = contentAddressedFileStore;
+        this.downloadOffloadService = downloadOffloadService;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     public void getKitmsFileDownload(HttpServletResponse response, Long attachNo) throws IOException {
@@ -76,17 +110,30 @@ public class FileService {
 
         String path = attach.getAttachFilePath();
         String fileName = attach.getAttachFileName();
-        byte[] blob = attach.getAttachFile();
+        byte[] blob = kitmsAttachRepository.findAttachFileByAttachNo(attachNo);
 
         response.setContentType("application/octet-stream");
         response.setHeader("Content-Disposition", "attachment; fileName=\"" + URLEncoder.encode(fileName, StandardCharsets.UTF_8) + "\";");
         response.setHeader("Content-Transfer-Encoding", "binary");
         if (blob == null) {
-            Path filePath = Paths.get(path);
-            Resource resource = new InputStreamResource(Files.newInputStream(filePath)); // 파일 resource 얻기
-            blob = resource.getContentAsByteArray();
+            // 위임 모드이면 앞단 웹 서버가 파일 전송
+            Path localFile = attach.getAttachFileHash() != null
+                ? contentAddressedFileStore.localPath(attach.getAttachFileHash()).orElse(null)
+                : Paths.get(path);
+            if (downloadOffloadService.offload(response, localFile)) {
+                return;
+            }
+            // 파일 내용을 메모리에 올리지 않고 응답으로 바로 전송
+            try (
+                InputStream in = attach.getAttachFileHash() != null
+                    ? contentAddressedFileStore.open(attach.getAttachFileHash())
+                    : Files.newInputStream(Paths.get(path))
+            ) {
+                in.transferTo(response.getOutputStream());
+            }
+        } else {
+            response.getOutputStream().write(blob);
         }
-        response.getOutputStream().write(blob);
         response.getOutputStream().flush();
         response.getOutputStream().close();
     }
@@ -94,54 +141,38 @@ public class FileService {
     public void getKitmsFileDownloadZip(HttpServletResponse response, String tableName, Long tablePK) throws IOException {
         List<KitmsAttach> attachList = kitmsAttachRepository.findAllByAttachTableNameAndAttachTablePk(tableName, tablePK);
 
-        List<File> fileList = new ArrayList<File>();
         if (attachList != null && attachList.size() > 0) {
-            for (KitmsAttach attach : attachList) {
-                fileList.add(new File(attach.getAttachFilePath()));
-            }
-
             response.setStatus(HttpServletResponse.SC_OK);
             response.setContentType("application/zip");
             response.addHeader("Content-Disposition", "attachment; filename=\"" + tableName + "_" + tablePK + ".zip\"");
 
-            ZipOutputStream zipOut = null;
-            FileInputStream fis = null;
-            zipOut = new ZipOutputStream(response.getOutputStream());
-
-            for (File file : fileList) {
-                zipOut.putNextEntry(new ZipEntry(file.getName()));
-                fis = new FileInputStream(file);
-                StreamUtils.copy(fis, zipOut);
-                fis.close();
-                zipOut.closeEntry();
-            }
-            zipOut.close();
+            // 압축 형식별 STORED/DEFLATED 선택 및 스트리밍 기록
+            attachmentZipService.writeZip(attachList, response.getOutputStream());
         }
     }
 
+    @Transactional
     public void removeFile(String tableName, Long tablePK) {
-        List<KitmsAttach> attachList = kitmsAttachRepository.findAllByAttachTableNameAndAttachTablePk(tableName, tablePK);
-        if (attachList != null && attachList.size() > 0) {
-            for (KitmsAttach ka : attachList) {
-                File attachFile = new File(ka.getAttachFilePath());
-                if (attachFile.exists()) attachFile.delete();
-            }
-        }
-        kitmsAttachRepository.deleteByAttachTableNameAndAttachTablePk(tableName, tablePK);
+        fileDeletionQueue.enqueueAttachFiles(deleteAttachRows(tableName, tablePK));
+        publishAttachChanged(tableName, tablePK);
     }
 
+    @Transactional
     public CustomReturnDTO removeFileSingle(String tableName, Long attachNo) {
         KitmsAttach attach = kitmsAttachRepository.findByAttachTableNameAndAttachNo(tableName, attachNo);
         CustomReturnDTO result = new CustomReturnDTO();
         result.setStatus(HttpStatus.OK);
         if (attach != null) {
             kitmsAttachRepository.deleteByAttachTableNameAndAttachNo(tableName, attachNo);
+            fileDeletionQueue.enqueueAttachFiles(List.of(attach));
+            publishAttachChanged(tableName, attach.getAttachTablePk());
         } else {
             result.setStatus(HttpStatus.INTERNAL_SERVER_ERROR);
         }
         return result;
     }
 
+    @Transactional
     public void createFile(
         HttpServletRequest request,
         String tableName,
@@ -149,61 +180,55 @@ public class FileService {
         List<MultipartFile> multipartFileList,
         Boolean saveBlob
     ) throws IOException {
-        removeFile(tableName, tablePK);
-
-        if (multipartFileList != null && multipartFileList.size() > 0) {
-            for (MultipartFile m : multipartFileList) {
-                KitmsAttach kitmsAttach = makeAttachData(tableName, tablePK, m);
-                if (kitmsAttach != null) {
-                    kitmsAttach.setCreateUserId(kitmsLoginService.getTokenUserId(request));
-                    if (saveBlob) {
-                        kitmsAttach.setAttachFile(m.getBytes());
-                    } else {
-                        m.transferTo(new File(kitmsAttach.getAttachFilePath()));
-                    }
-                    kitmsAttachRepository.save(kitmsAttach);
-                }
-            }
-        }
+        // 기존 파일은 커밋 후 참조를 다시 확인하여 삭제 (같은 파일 재업로드 시 해시 계산 + 행 추가만 발생)
+        List<KitmsAttach> removedList = deleteAttachRows(tableName, tablePK);
+
+        saveAttaches(request, tableName, tablePK, multipartFileList, saveBlob);
+        fileDeletionQueue.enqueueAttachFiles(removedList);
+        publishAttachChanged(tableName, tablePK);
     }
 
+    @Transactional
     public Long createFile(HttpServletRequest request, MultipartFile multipartFile, String tableName, Long tablePk, Boolean saveBlob)
         throws IOException {
-        removeFile(tableName, tablePk);
+        List<KitmsAttach> removedList = deleteAttachRows(tableName, tablePk);
 
-        KitmsAttach kitmsAttach = makeAttachData(tableName, tablePk, multipartFile);
-        if (kitmsAttach != null) {
-            kitmsAttach.setCreateUserId(kitmsLoginService.getTokenUserId(request));
-            if (saveBlob) {
-                kitmsAttach.setAttachFile(multipartFile.getBytes());
-            } else {
-                multipartFile.transferTo(new File(kitmsAttach.getAttachFilePath()));
-            }
-            return kitmsAttachRepository.save(kitmsAttach).getAttachNo();
-        }
-        return null;
+        List<KitmsAttach> saved = saveAttaches(request, tableName, tablePk, List.of(multipartFile), saveBlob);
+        fileDeletionQueue.enqueueAttachFiles(removedList);
+        publishAttachChanged(tableName, tablePk);
+        return saved.isEmpty() ? null : saved.get(0).getAttachNo();
     }
 
+    @Transactional
     public void updateFile(HttpServletRequest request, MultipartFile multipartFile, Long fileNo) throws IOException {
         String fileOriginName = multipartFile.getOriginalFilename();
         String filePath = fileBasePath + fileOriginName;
 
+        Set<String> releasedHashes = new HashSet<>();
         kitmsAttachRepository
             .findById(fileNo)
             .map(attachFile -> {
+                // DB 저장 방식으로 바뀌므로 기존 내용 주소 파일 참조 해제
+                if (attachFile.getAttachFileHash() != null) {
+                    releasedHashes.add(attachFile.getAttachFileHash());
+                    attachFile.setAttachFileHash(null);
+                }
                 attachFile.setAttachFileName(fileOriginName);
                 attachFile.setAttachFilePath(filePath);
                 attachFile.setCreateDt(ZonedDateTime.now().plusHours(9));
                 attachFile.setCreateUserId(kitmsLoginService.getTokenUserId(request));
-
+                return attachFile;
+            })
+            .map(kitmsAttachRepository::save)
+            .ifPresent(saved -> {
                 try {
-                    attachFile.setAttachFile(multipartFile.getBytes());
+                    kitmsAttachRepository.updateAttachFile(saved.getAttachNo(), multipartFile.getBytes());
                 } catch (IOException e) {
                     throw new RuntimeException(e);
                 }
-                return attachFile;
-            })
-            .map(kitmsAttachRepository::save);
+                publishAttachChanged(saved.getAttachTableName(), saved.getAttachTablePk());
+            });
+        fileDeletionQueue.enqueueHashes(releasedHashes);
     }
 
     public Blob getBlobData(MultipartFile multipartFile) throws IOException, SQLException {
@@ -212,6 +237,7 @@ public class FileService {
         return blob;
     }
 
+    @Transactional
     public void updateNewAndDeleteFile(
         HttpServletRequest request,
         String tableName,
@@ -219,30 +245,121 @@ public class FileService {
         List<MultipartFile> multipartFileList,
         List<Long> deleteAttachNoList
     ) throws IOException {
+        List<KitmsAttach> deleteList = List.of();
         if (deleteAttachNoList != null && deleteAttachNoList.size() > 0) {
-            for (Long fileNo : deleteAttachNoList) {
-                Optional<KitmsAttach> byId = kitmsAttachRepository.findById(fileNo);
-                if (byId != null) {
-                    KitmsAttach attach = byId.orElseThrow();
-                    File attachFile = new File(attach.getAttachFilePath());
-                    if (attachFile.exists()) attachFile.delete();
-                    kitmsAttachRepository.deleteById(fileNo);
+            // 삭제 대상 조회 1회 + 일괄 삭제 1회
+            deleteList = kitmsAttachRepository.findAllById(deleteAttachNoList);
+            if (!deleteList.isEmpty()) {
+                List<Long> deleteAttachNos = new ArrayList<>(deleteList.size());
+                for (KitmsAttach ka : deleteList) {
+                    deleteAttachNos.add(ka.getAttachNo());
                 }
+                kitmsAttachRepository.deleteAllByAttachNoIn(deleteAttachNos);
             }
         }
 
-        if (multipartFileList != null && multipartFileList.size() > 0) {
-            for (MultipartFile m : multipartFileList) {
-                KitmsAttach kitmsAttach = makeAttachData(tableName, tablePK, m);
-                if (kitmsAttach != null) {
-                    kitmsAttach.setCreateUserId(kitmsLoginService.getTokenUserId(request));
-                    m.transferTo(new File(kitmsAttach.getAttachFilePath()));
-                    kitmsAttachRepository.save(kitmsAttach);
+        saveAttaches(request, tableName, tablePK, multipartFileList, false);
+        fileDeletionQueue.enqueueAttachFiles(deleteList);
+        for (KitmsAttach ka : deleteList) {
+            publishAttachChanged(ka.getAttachTableName(), ka.getAttachTablePk());
+        }
+        publishAttachChanged(tableName, tablePK);
+    }
+
+    /**
+     * 첨부파일 행 일괄 저장 (파일은 내용 주소 저장소, saveBlob이면 DB에 저장)
+     *
+     * 행은 saveAll로 모아서 저장하므로 시퀀스 키와 함께 JDBC 배치 INSERT로 기록됩니다.
+     *
+     * @return 저장된 첨부파일 목록 (파일명이 없는 파일은 제외)
+     */
+    private List<KitmsAttach> saveAttaches(
+        HttpServletRequest request,
+        String tableName,
+        Long tablePK,
+        List<MultipartFile> multipartFileList,
+        Boolean saveBlob
+    ) throws IOException {
+        if (multipartFileList == null || multipartFileList.isEmpty()) {
+            return List.of();
+        }
+        String createUserId = null;
+        List<KitmsAttach> attachList = new ArrayList<>(multipartFileList.size());
+        List<MultipartFile> blobFiles = new ArrayList<>();
+        for (MultipartFile m : multipartFileList) {
+            KitmsAttach kitmsAttach = makeAttachData(tableName, tablePK, m);
+            if (kitmsAttach == null) {
+                continue;
+            }
+            if (createUserId == null) {
+                createUserId = kitmsLoginService.getTokenUserId(request);
+            }
+            kitmsAttach.setCreateUserId(createUserId);
+            if (saveBlob) {
+                blobFiles.add(m);
+            } else {
+                ContentAddressedFileStore.StoredFile storedFile = contentAddressedFileStore.store(m);
+                kitmsAttach.setAttachFileHash(storedFile.getHash());
+                kitmsAttach.setAttachFilePath(storedFile.getLocation());
+                kitmsAttach.setAttachFileSize(storedFile.getSize());
+            }
+            attachList.add(kitmsAttach);
+        }
+        if (attachList.isEmpty()) {
+            return List.of();
+        }
+
+        if (!saveBlob) {
+            return kitmsAttachRepository.saveAll(attachList);
+        }
+        // BLOB은 엔티티에 매핑되지 않으므로 배치 INSERT를 먼저 실행한 뒤 JDBC 배치 UPDATE 한 번으로 기록
+        List<KitmsAttach> savedList = kitmsAttachRepository.saveAllAndFlush(attachList);
+        updateAttachFiles(savedList, blobFiles);
+        return savedList;
+    }
+
+    /**
+     * 첨부파일 내용을 JDBC 배치 UPDATE로 기록 (파일 수와 관계없이 한 번에 전송)
+     */
+    private void updateAttachFiles(List<KitmsAttach> savedList, List<MultipartFile> blobFiles) throws IOException {
+        List<InputStream> streams = new ArrayList<>(blobFiles.size());
+        try {
+            for (MultipartFile blobFile : blobFiles) {
+                streams.add(blobFile.getInputStream());
+            }
+            jdbcTemplate.batchUpdate(
+                UPDATE_ATTACH_FILE_SQL,
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ps.setBinaryStream(1, streams.get(i), blobFiles.get(i).getSize());
+                        ps.setLong(2, savedList.get(i).getAttachNo());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return savedList.size();
+                    }
                 }
+            );
+        } finally {
+            for (InputStream stream : streams) {
+                stream.close();
             }
         }
     }
 
+    /**
+     * 테이블/PK의 첨부파일 행 삭제
+     *
+     * @return 삭제한 첨부파일 목록 (파일은 호출자가 삭제 대기열에 등록)
+     */
+    private List<KitmsAttach> deleteAttachRows(String tableName, Long tablePK) {
+        List<KitmsAttach> attachList = kitmsAttachRepository.findAllByAttachTableNameAndAttachTablePk(tableName, tablePK);
+        kitmsAttachRepository.deleteByAttachTableNameAndAttachTablePk(tableName, tablePK);
+        return attachList;
+    }
+
     public KitmsAttach makeAttachData(String tableName, Long tablePK, MultipartFile mFile) {
         KitmsAttach kitmsAttach = new KitmsAttach();
 
@@ -250,7 +367,7 @@ public class FileService {
 
         if (fileOriginName == null || fileOriginName.equals("") || fileOriginName.isBlank() || fileOriginName.isEmpty()) return null;
 
-        // 물리저장소 파일 중복방지를 위한 table명 + pk
+        // DB 저장(saveBlob) 방식의 경로 (파일 저장 시 내용 주소 저장소 경로로 대체)
         String filePath = fileBasePath + tableName + "_" + tablePK + "_" + fileOriginName;
 
         kitmsAttach.setAttachFileName(fileOriginName);
@@ -263,7 +380,34 @@ public class FileService {
         return kitmsAttach;
     }
 
+    @Transactional
     public void deleteFile(Long fileNo) {
+        Optional<KitmsAttach> byId = kitmsAttachRepository.findById(fileNo);
         kitmsAttachRepository.deleteById(fileNo);
+        byId.ifPresent(attach -> {
+            // 같은 파일(해시/경로)을 쓰는 다른 행이 남아 있으면 파일은 지우지 않음
+            if (!isFileShared(attach)) {
+                fileDeletionQueue.enqueueAttachFiles(List.of(attach));
+            }
+            publishAttachChanged(attach.getAttachTableName(), attach.getAttachTablePk());
+        });
+    }
+
+    /**
+     * 삭제한 행 외에 같은 파일을 참조하는 행이 있는지 확인 (조회 전 삭제가 flush되므로 삭제한 행은 제외됨)
+     */
+    private boolean isFileShared(KitmsAttach attach) {
+        if (attach.getAttachFileHash() != null) {
+            return kitmsAttachRepository.countByAttachFileHash(attach.getAttachFileHash()) > 0;
+        }
+        String filePath = attach.getAttachFilePath();
+        return filePath != null && !filePath.isEmpty() && kitmsAttachRepository.countByAttachFilePath(filePath) > 0;
+    }
+
+    /**
+     * 첨부파일 변경 이벤트 발행 (리스너는 커밋 후 실행)
+     */
+    private void publishAttachChanged(String tableName, Long tablePK) {
+        applicationEventPublisher.publishEvent(new KitmsAttachChangedEvent(tableName, tablePK));
     }
 }
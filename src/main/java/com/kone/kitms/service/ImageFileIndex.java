@@ -0,0 +1,538 @@
+package com.kone.kitms.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * KITMS 이미지 파일 색인
+ *
+ * 이 클래스는 이미지 경로 조회 시 매번 ClassLoader/파일 시스템을 탐색하지 않도록
+ * 서버 시작 시 이미지 파일 목록을 메모리에 색인합니다:
+ * - classpath static/images 하위 파일 (예: static/images/logos/kone_logo.svg)
+ * - 외부 images 디렉토리 하위 파일 (예: images/notice/xxx.png)
+ * - 상대 경로 / 파일명 기준 O(1) 조회
+ * - WatchService 및 파일 저장/삭제 시점의 등록 호출로 색인 갱신 (전체 재색인은 요청 시에만)
+ * - 저장소 임시 디렉토리(.staging)와 임시 파일(.part, .tmp)은 색인/감시하지 않음
+ * - 감시 등록 한도(inotify 등)를 넘으면 경고 후 주기적 재색인으로 전환
+ * - 색인 생성 시간 및 항목 수 메트릭 제공
+ *
+ * 전체 재색인은 새 색인을 따로 만든 뒤 한 번에 교체하므로 재색인 중에도 조회가 실패하지 않습니다.
+ * 색인이 바뀔 때마다 {@link #getGeneration()} 값이 증가하므로,
+ * 조회 결과를 캐시하는 쪽은 이 값으로 캐시 무효화 여부를 판단할 수 있습니다.
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class ImageFileIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageFileIndex.class);
+
+    public static final String CLASSPATH_ROOT = "static/images/";
+    public static final String INDEX_METER_NAME = "secure.image.index";
+
+    // 게시 전 임시 파일 확장자 (저장소 .part, 변형 생성 .tmp)
+    private static final List<String> TEMP_SUFFIXES = List.of(".part", ".tmp");
+
+    // 외부 이미지 디렉토리 (기본: 업로드 경로)
+    @Value("${secure-image.index.external-dir:${app.upload.path:./images}}")
+    private String externalDir = "./images";
+
+    // 파일 변경 감시 여부
+    @Value("${secure-image.index.watch:true}")
+    private boolean watchEnabled = true;
+
+    // 재색인 시 새 색인으로 통째로 교체 (조회는 항상 완성된 색인을 봄)
+    private volatile RootIndex classpathIndex = new RootIndex();
+    private volatile RootIndex externalIndex = new RootIndex();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Timer buildTimer;
+
+    // classpath static/images 가 실제 디렉토리로 존재하는 경우의 경로 목록 (jar 내부는 제외)
+    private volatile List<Path> classpathRootDirs = List.of();
+
+    private Path externalRoot;
+    private String externalPrefix;
+
+    private volatile boolean built;
+
+    // 감시를 시작하지 못했거나 일부 디렉토리를 등록하지 못하면 주기적 재색인으로 보완
+    private volatile boolean rescanRequired;
+
+    private WatchService watchService;
+    private Thread watcherThread;
+    private final Map<WatchKey, WatchedDirectory> watchedDirectories = new ConcurrentHashMap<>();
+
+    public ImageFileIndex(MeterRegistry registry) {
+        this.buildTimer = Timer.builder(INDEX_METER_NAME + ".build").description("Time taken to build the image file index.").register(registry);
+        Gauge.builder(INDEX_METER_NAME + ".entries", this, ImageFileIndex::getClasspathEntryCount)
+            .description("Number of image files held in the image file index.")
+            .tag("root", "classpath")
+            .register(registry);
+        Gauge.builder(INDEX_METER_NAME + ".entries", this, ImageFileIndex::getExternalEntryCount)
+            .description("Number of image files held in the image file index.")
+            .tag("root", "external")
+            .register(registry);
+    }
+
+    @PostConstruct
+    public void init() {
+        Path normalized = Paths.get(externalDir).normalize();
+        externalRoot = normalized.toAbsolutePath();
+        externalPrefix = normalized.toString().replace("\\", "/");
+        externalPrefix = externalPrefix.isEmpty() ? "" : externalPrefix + "/";
+
+        rebuild();
+        if (watchEnabled) {
+            startWatcher();
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("이미지 색인 감시 종료 오류: {}", e.getMessage());
+            }
+        }
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+    }
+
+    /**
+     * 전체 색인 재생성
+     */
+    public synchronized void rebuild() {
+        buildTimer.record(() -> {
+            rebuildClasspath();
+            rebuildExternal();
+        });
+        built = true;
+        generation.incrementAndGet();
+        log.debug("이미지 파일 색인 생성: classpath {}개, 외부 {}개", classpathIndex.size(), externalIndex.size());
+    }
+
+    /**
+     * 감시가 불완전할 때만 주기적으로 재색인 (저장/삭제 시점의 등록 호출은 계속 반영됨)
+     */
+    @Scheduled(fixedDelayString = "${secure-image.index.rescan-interval-ms:300000}")
+    public void rescanIfUnwatched() {
+        if (rescanRequired) {
+            rebuild();
+        }
+    }
+
+    /**
+     * classpath 위치(예: static/images/logos/a.png)의 파일 존재 여부
+     *
+     * 색인 대상(static/images/) 밖의 경로는 ClassLoader로 직접 확인합니다.
+     */
+    public boolean existsOnClasspath(String location) {
+        if (built && location.startsWith(CLASSPATH_ROOT)) {
+            return classpathIndex.contains(location.substring(CLASSPATH_ROOT.length()));
+        }
+        return getClass().getClassLoader().getResource(location) != null;
+    }
+
+    /**
+     * 외부 위치(예: images/notice/a.png)의 파일 존재 여부
+     */
+    public boolean existsExternal(String location) {
+        if (built && isExternalLocation(location)) {
+            return externalIndex.contains(location.substring(externalPrefix.length()));
+        }
+        return Files.isRegularFile(Paths.get(location));
+    }
+
+    /**
+     * 외부 이미지 디렉토리 기준 위치인지 확인
+     */
+    public boolean isExternalLocation(String location) {
+        return location != null && location.startsWith(externalPrefix);
+    }
+
+    /**
+     * 외부 이미지 위치 접두사 (예: "images/")
+     */
+    public String getExternalPrefix() {
+        return externalPrefix;
+    }
+
+    /**
+     * 색인 변경 세대 번호 (변경 시마다 증가)
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * 파일명으로 classpath 상대 경로 조회 (static/images/ 기준, 예: logos/kone_logo.svg)
+     *
+     * @return 상대 경로, 없으면 null
+     */
+    public String findClasspathRelativePath(String fileName) {
+        return classpathIndex.findByFileName(fileName);
+    }
+
+    /**
+     * 파일명으로 외부 이미지 디렉토리 상대 경로 조회 (예: notice_1/xxx.png)
+     *
+     * @return 상대 경로, 없으면 null
+     */
+    public String findExternalRelativePath(String fileName) {
+        return externalIndex.findByFileName(fileName);
+    }
+
+    /**
+     * 외부 이미지 디렉토리 절대 경로
+     */
+    public Path getExternalRoot() {
+        return externalRoot;
+    }
+
+    /**
+     * 저장된 파일을 색인에 등록 (색인 대상 디렉토리 밖의 파일은 무시)
+     */
+    public void registerFile(Path file) {
+        updateFile(file, true);
+    }
+
+    /**
+     * 삭제된 파일을 색인에서 제거 (색인 대상 디렉토리 밖의 파일은 무시)
+     */
+    public void unregisterFile(Path file) {
+        updateFile(file, false);
+    }
+
+    public int getClasspathEntryCount() {
+        return classpathIndex.size();
+    }
+
+    public int getExternalEntryCount() {
+        return externalIndex.size();
+    }
+
+    private synchronized void updateFile(Path file, boolean present) {
+        if (!built) {
+            return;
+        }
+        Path absolute = file.toAbsolutePath().normalize();
+        RootIndex index = null;
+        Path root = null;
+        if (absolute.startsWith(externalRoot)) {
+            index = externalIndex;
+            root = externalRoot;
+        } else {
+            for (Path classpathRoot : classpathRootDirs) {
+                if (absolute.startsWith(classpathRoot)) {
+                    index = classpathIndex;
+                    root = classpathRoot;
+                    break;
+                }
+            }
+        }
+        if (index == null || absolute.equals(root) || isIgnored(root, absolute)) {
+            return;
+        }
+        String relativePath = relativize(root, absolute);
+        boolean changed = present ? index.add(relativePath) : index.removeTree(relativePath);
+        if (changed) {
+            generation.incrementAndGet();
+        }
+    }
+
+    private void rebuildClasspath() {
+        RootIndex index = new RootIndex();
+        List<Path> rootDirs = new ArrayList<>();
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        try {
+            for (Resource root : resolver.getResources("classpath*:" + CLASSPATH_ROOT)) {
+                if (root.isFile()) {
+                    rootDirs.add(root.getFile().toPath());
+                }
+            }
+            for (Resource resource : resolver.getResources("classpath*:" + CLASSPATH_ROOT + "**")) {
+                String relativePath = classpathRelativePath(resource);
+                if (relativePath != null && resource.isReadable()) {
+                    index.add(relativePath);
+                }
+            }
+        } catch (IOException e) {
+            // 기존 색인 유지
+            log.warn("classpath 이미지 색인 생성 오류: {}", e.getMessage());
+            return;
+        }
+        classpathRootDirs = List.copyOf(rootDirs);
+        classpathIndex = index;
+    }
+
+    private void rebuildExternal() {
+        RootIndex index = new RootIndex();
+        indexDirectory(index, externalRoot, externalRoot);
+        externalIndex = index;
+    }
+
+    private static String classpathRelativePath(Resource resource) throws IOException {
+        String url = resource.getURL().toString();
+        int index = url.lastIndexOf("/" + CLASSPATH_ROOT);
+        if (index < 0 || url.endsWith("/")) {
+            return null;
+        }
+        String relativePath = url.substring(index + CLASSPATH_ROOT.length() + 1);
+        return relativePath.isEmpty() ? null : relativePath;
+    }
+
+    private static void indexDirectory(RootIndex index, Path root, Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(directory)) {
+            stream.filter(path -> !isIgnored(root, path) && Files.isRegularFile(path)).forEach(path -> index.add(relativize(root, path)));
+        } catch (IOException e) {
+            log.warn("이미지 디렉토리 색인 오류: {} ({})", directory, e.getMessage());
+        }
+    }
+
+    private static String relativize(Path root, Path path) {
+        return root.relativize(path).toString().replace("\\", "/");
+    }
+
+    /**
+     * 저장소 임시 디렉토리 하위 또는 게시 전 임시 파일인지 확인
+     */
+    private static boolean isIgnored(Path root, Path path) {
+        for (Path name : root.relativize(path)) {
+            if (LocalShardedAttachmentStore.STAGING_DIRECTORY.equals(name.toString())) {
+                return true;
+            }
+        }
+        String fileName = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return TEMP_SUFFIXES.stream().anyMatch(fileName::endsWith);
+    }
+
+    /**
+     * 디렉토리 변경 감시 시작
+     */
+    private void startWatcher() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            for (Path root : classpathRootDirs) {
+                registerTree(false, root, root);
+            }
+            if (Files.isDirectory(externalRoot)) {
+                registerTree(true, externalRoot, externalRoot);
+            }
+        } catch (IOException e) {
+            log.warn("이미지 색인 감시를 시작할 수 없어 주기적 재색인으로 전환합니다: {}", e.getMessage());
+            rescanRequired = true;
+            return;
+        }
+        watcherThread = new Thread(this::watchLoop, "image-file-index-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    private void registerTree(boolean external, Path root, Path directory) throws IOException {
+        if (rescanRequired) {
+            // 이미 감시 등록 한도에 도달함
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(directory)) {
+            for (Path dir : (Iterable<Path>) stream.filter(path -> !isIgnored(root, path) && Files.isDirectory(path))::iterator) {
+                WatchKey key;
+                try {
+                    key = dir.register(
+                        watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE,
+                        StandardWatchEventKinds.ENTRY_MODIFY
+                    );
+                } catch (IOException e) {
+                    // 감시 한도 초과 등: 나머지 디렉토리는 등록하지 않고 주기적 재색인으로 보완
+                    log.warn(
+                        "이미지 디렉토리 감시 등록 실패, 감시 {}개에서 중단하고 주기적 재색인으로 전환합니다: {} ({})",
+                        watchedDirectories.size(),
+                        dir,
+                        e.getMessage()
+                    );
+                    rescanRequired = true;
+                    return;
+                }
+                watchedDirectories.put(key, new WatchedDirectory(external, root, dir));
+            }
+        }
+    }
+
+    private void watchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            WatchedDirectory watched = watchedDirectories.get(key);
+            if (watched != null) {
+                try {
+                    handleEvents(watched, key.pollEvents());
+                } catch (RuntimeException e) {
+                    log.warn("이미지 색인 갱신 오류: {}", e.getMessage());
+                }
+            }
+            if (!key.reset()) {
+                watchedDirectories.remove(key);
+            }
+        }
+    }
+
+    private synchronized void handleEvents(WatchedDirectory watched, List<WatchEvent<?>> events) {
+        boolean changed = false;
+        for (WatchEvent<?> event : events) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                // 이벤트 유실 시 해당 색인 전체를 새로 만들어 교체
+                if (watched.external) {
+                    rebuildExternal();
+                } else {
+                    rebuildClasspath();
+                }
+                changed = true;
+                continue;
+            }
+            RootIndex index = watched.external ? externalIndex : classpathIndex;
+            Path path = watched.directory.resolve((Path) event.context());
+            if (isIgnored(watched.root, path)) {
+                continue;
+            }
+            String relativePath = relativize(watched.root, path);
+            if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                index.removeTree(relativePath);
+                changed = true;
+            } else if (Files.isDirectory(path)) {
+                if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                    try {
+                        registerTree(watched.external, watched.root, path);
+                    } catch (IOException e) {
+                        log.warn("이미지 디렉토리 감시 등록 오류: {} ({})", path, e.getMessage());
+                    }
+                    indexDirectory(index, watched.root, path);
+                    changed = true;
+                }
+            } else if (Files.isRegularFile(path) && index.add(relativePath)) {
+                changed = true;
+            }
+        }
+        if (changed) {
+            generation.incrementAndGet();
+        }
+    }
+
+    /**
+     * 루트 디렉토리 기준 상대 경로 색인 (상대 경로 집합 + 파일명별 상대 경로)
+     */
+    private static final class RootIndex {
+
+        private final Set<String> relativePaths = ConcurrentHashMap.newKeySet();
+
+        // 파일명 -> 상대 경로 목록 (정렬, 같은 파일명이 여러 폴더에 있으면 첫 번째 사용)
+        private final Map<String, NavigableSet<String>> fileNames = new ConcurrentHashMap<>();
+
+        private boolean add(String relativePath) {
+            if (!relativePaths.add(relativePath)) {
+                return false;
+            }
+            fileNames.computeIfAbsent(fileNameOf(relativePath), k -> new ConcurrentSkipListSet<>()).add(relativePath);
+            return true;
+        }
+
+        private boolean remove(String relativePath) {
+            if (!relativePaths.remove(relativePath)) {
+                return false;
+            }
+            fileNames.computeIfPresent(fileNameOf(relativePath), (k, paths) -> {
+                paths.remove(relativePath);
+                return paths.isEmpty() ? null : paths;
+            });
+            return true;
+        }
+
+        private boolean contains(String relativePath) {
+            return relativePaths.contains(relativePath);
+        }
+
+        private String findByFileName(String fileName) {
+            NavigableSet<String> paths = fileNames.get(fileName);
+            return paths != null ? paths.ceiling("") : null;
+        }
+
+        private boolean removeTree(String relativePath) {
+            String directoryPrefix = relativePath + "/";
+            List<String> removed = relativePaths
+                .stream()
+                .filter(path -> path.equals(relativePath) || path.startsWith(directoryPrefix))
+                .toList();
+            removed.forEach(this::remove);
+            return !removed.isEmpty();
+        }
+
+        private int size() {
+            return relativePaths.size();
+        }
+
+        private static String fileNameOf(String relativePath) {
+            return relativePath.substring(relativePath.lastIndexOf('/') + 1);
+        }
+    }
+
+    /**
+     * 감시 중인 디렉토리 정보
+     */
+    private static final class WatchedDirectory {
+
+        // 외부 디렉토리이면 true, classpath 디렉토리이면 false (색인은 교체되므로 참조 대신 구분값 보관)
+        private final boolean external;
+        private final Path root;
+        private final Path directory;
+
+        private WatchedDirectory(boolean external, Path root, Path directory) {
+            this.external = external;
+            this.root = root;
+            this.directory = directory;
+        }
+    }
+}
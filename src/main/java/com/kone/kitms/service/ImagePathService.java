@@ -1,11 +1,14 @@
 package com.kone.kitms.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * KITMS 이미지 경로 관리 서비스 클래스
@@ -15,7 +18,7 @@ import java.util.Map;
  * - 폴더 구조 변경에 대한 유연한 대응
  * - 특정 파일 매핑 및 기본 경로 설정
  * - 리소스 존재 여부 확인
- * - 이미지 경로 자동 검색 및 반환
+ * - 이미지 경로 자동 검색 및 반환 (이미지 파일 색인 사용, 조회 결과 캐시)
  * 
  * @author KITMS Development Team
  * @version 1.0
@@ -25,13 +28,44 @@ import java.util.Map;
 @ConfigurationProperties(prefix = "image-paths")
 public class ImagePathService {
 
+    private static final Logger log = LoggerFactory.getLogger(ImagePathService.class);
+
+    // 경로 조회 결과 캐시 최대 개수
+    private static final int MAX_RESOLVED_PATHS = 10000;
+
     private List<String> defaultPaths;
     private Map<String, String> fileMappings;
 
+    @Autowired
+    private ImageFileIndex imageFileIndex;
+
+    // 파일명 -> 조회된 경로 (색인 세대가 바뀌면 비움)
+    private final Map<String, String> resolvedPaths = new ConcurrentHashMap<>();
+    private volatile long resolvedGeneration = -1;
+
     /**
      * 파일명으로 전체 경로 찾기
      */
     public String findImagePath(String fileName) {
+        long generation = imageFileIndex.getGeneration();
+        if (generation != resolvedGeneration || resolvedPaths.size() > MAX_RESOLVED_PATHS) {
+            resolvedPaths.clear();
+            resolvedGeneration = generation;
+        }
+        return resolvedPaths.computeIfAbsent(fileName, this::resolveImagePath);
+    }
+
+    /**
+     * 외부 images 폴더 기준 경로인지 확인
+     */
+    public boolean isExternalPath(String path) {
+        return imageFileIndex.isExternalLocation(path);
+    }
+
+    /**
+     * 파일명으로 전체 경로 탐색 (이미지 색인 조회)
+     */
+    private String resolveImagePath(String fileName) {
         
         // 1. 특정 파일 매핑에서 찾기
         if (fileMappings != null && fileMappings.containsKey(fileName)) {
@@ -39,16 +73,17 @@ public class ImagePathService {
             return mappedPath;
         }
         
+        String externalPath = imageFileIndex.getExternalPrefix() + fileName;
+        
         // 2. temp 폴더가 포함된 파일명인 경우 외부 images 폴더에서 찾기
         if (fileName.contains("/") && fileName.contains("temp_")) {
             // 외부 images 폴더에서 찾기
-            String externalPath = "images/" + fileName;
-            if (isExternalFileExists(externalPath)) {
+            if (imageFileIndex.existsExternal(externalPath)) {
                 return externalPath;
             }
             // static/images에서도 찾기
             String staticPath = "static/images/" + fileName;
-            if (isResourceExists(staticPath)) {
+            if (imageFileIndex.existsOnClasspath(staticPath)) {
                 return staticPath;
             } 
         }
@@ -57,51 +92,23 @@ public class ImagePathService {
         if (defaultPaths != null) {
             for (String path : defaultPaths) {
                 String fullPath = path + fileName;
-                if (isResourceExists(fullPath)) {
+                if (imageFileIndex.existsOnClasspath(fullPath)) {
                     return fullPath;
                 }
             }
         }
         
         // 4. 외부 images 폴더에서 찾기 (일반 파일들)
-        String externalPath = "images/" + fileName;
-        if (isExternalFileExists(externalPath)) {
+        if (imageFileIndex.existsExternal(externalPath)) {
             return externalPath;
-        } else {
-            System.out.println("❌ 일반 외부 파일 없음: " + externalPath);
         }
+        log.debug("이미지 파일 없음: {}", fileName);
         
         // 5. 기본 경로 반환
         String defaultPath = "static/images/" + fileName;
         return defaultPath;
     }
     
-    /**
-     * 리소스 존재 여부 확인 (classpath 내부)
-     */
-    private boolean isResourceExists(String path) {
-        try {
-            return getClass().getClassLoader().getResource(path) != null;
-        } catch (Exception e) {
-            return false;
-        }
-    }
-    
-    /**
-     * 외부 파일 존재 여부 확인 (프로젝트 루트 기준)
-     */
-    private boolean isExternalFileExists(String path) {
-        try {
-            File file = new File(path);
-            boolean exists = file.exists();
-            boolean isFile = file.isFile();
-            return exists && isFile;
-        } catch (Exception e) {
-            System.out.println("❌ 외부 파일 확인 오류: " + path + " | " + e.getMessage());
-            return false;
-        }
-    }
-    
     // Getter/Setter
     public List<String> getDefaultPaths() {
         return defaultPaths;
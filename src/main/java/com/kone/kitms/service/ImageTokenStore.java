@@ -0,0 +1,107 @@
+package com.kone.kitms.service;
+
+import java.util.Map;
+
+/**
+ * KITMS 보안 이미지 토큰 저장소 인터페이스
+ *
+ * 이 인터페이스는 보안 이미지 API에서 사용하는 토큰 저장소를 추상화합니다:
+ * - 이미지 키(파일 경로 또는 세션ID:파일 경로)와 토큰 매핑 관리
+ * - 토큰으로 이미지 키 역조회
+ * - 이미지 토큰 및 세션 토큰 만료 관리
+ * - 만료 토큰 정리 (저장소 크기 제한)
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+public interface ImageTokenStore {
+    /**
+     * 세션 범위 이미지 키 구분자 (세션ID:파일명)
+     */
+    String SESSION_KEY_SEPARATOR = ":";
+
+    /**
+     * 키에 대한 토큰 조회, 없으면 새로 발급
+     */
+    String getOrIssueImageToken(String key);
+
+    /**
+     * 키에 대한 토큰을 새로 발급 (기존 토큰은 폐기)
+     */
+    String reissueImageToken(String key);
+
+    /**
+     * 키로 현재 토큰 조회
+     *
+     * @return 토큰, 없으면 null
+     */
+    String findTokenByKey(String key);
+
+    /**
+     * 토큰으로 이미지 키 조회
+     *
+     * @return 이미지 키, 없으면 null
+     */
+    String findKeyByToken(String token);
+
+    /**
+     * 이미지 토큰 만료 여부 확인 (알 수 없는 토큰은 만료로 간주)
+     */
+    boolean isImageTokenExpired(String token);
+
+    /**
+     * 세션 토큰 발급 기록
+     */
+    void putSessionToken(String sessionId, String sessionToken);
+
+    /**
+     * 세션 토큰 발급 (페이지 로드 시)
+     *
+     * @return 클라이언트에 전달할 세션 토큰
+     */
+    String issueSessionToken(String sessionId);
+
+    /**
+     * 세션 토큰 유효 여부 확인
+     */
+    boolean isSessionTokenValid(String sessionId);
+
+    /**
+     * 세션 토큰 유효 여부 확인 (클라이언트가 보낸 세션 토큰 포함)
+     *
+     * 기본 구현은 서버에 저장된 세션 정보만 확인합니다.
+     */
+    default boolean isSessionTokenValid(String sessionId, String sessionToken) {
+        return isSessionTokenValid(sessionId);
+    }
+
+    /**
+     * 이미지 키 -> 토큰 매핑 스냅샷 (읽기 전용)
+     */
+    Map<String, String> getImageTokens();
+
+    /**
+     * 모든 이미지 토큰 삭제
+     */
+    void clearImageTokens();
+
+    /**
+     * 고정 이미지 토큰(세션 범위가 아닌 키) 변경 세대 번호
+     *
+     * 고정 키의 토큰이 발급/재발급/삭제될 때마다 증가하므로, 토큰 매핑으로 만든
+     * 결과(예: CSS 변환 결과)를 캐시하는 쪽에서 무효화 기준으로 사용할 수 있습니다.
+     */
+    long getGeneration();
+
+    int getImageTokenCount();
+
+    int getSessionTokenCount();
+
+    /**
+     * 만료된 토큰 정리
+     *
+     * @return 정리된 토큰 수
+     */
+    int evictExpired();
+}
@@ -0,0 +1,392 @@
+package com.kone.kitms.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * KITMS 이미지 변형(리사이즈/포맷 변환) 서비스
+ *
+ * 이 클래스는 보안 이미지 요청의 너비/포맷 파라미터에 맞는 이미지 변형을 생성하고 디스크에 캐시합니다:
+ * - ImageIO 기반 리사이즈 (단계적 축소로 품질 유지)
+ * - 포맷 변환 (png, jpeg, ImageIO writer가 있는 경우 webp)
+ * - 요청 너비는 허용 너비 목록으로 올림 처리 (임의 너비로 캐시가 불어나는 것 방지)
+ * - 변형 파일은 한 번만 생성하고, 전체 크기 제한을 넘으면 가장 오래 사용하지 않은 파일부터 삭제
+ *
+ * 원본 리소스 URL + 수정 시간 + 크기가 캐시 키에 포함되므로 원본이 바뀌면 새 변형이 생성됩니다.
+ * 원본은 스트림으로 읽으므로 jar 안의 클래스패스 이미지(static/images)도 변형할 수 있습니다.
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class ImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+
+    public static final String VARIANT_METER_NAME = "secure.image.variants";
+
+    // 리사이즈/변환 가능한 원본 확장자
+    private static final List<String> RESIZABLE_EXTENSIONS = List.of("png", "jpg", "jpeg");
+
+    @Value("${secure-image.variant.cache-dir:${java.io.tmpdir}/kitms-image-variants}")
+    private String cacheDir;
+
+    @Value("${secure-image.variant.max-bytes:536870912}")
+    private long maxBytes = 512L * 1024 * 1024;
+
+    @Value("${secure-image.variant.widths:320,480,640,768,1024,1280,1600,1920}")
+    private int[] allowedWidths = { 320, 480, 640, 768, 1024, 1280, 1600, 1920 };
+
+    @Value("${secure-image.variant.jpeg-quality:0.85}")
+    private float jpegQuality = 0.85f;
+
+    private Path cacheRoot;
+
+    // 변형 파일 -> 크기 (접근 순서 LRU), 모든 접근은 this 동기화
+    private final LinkedHashMap<Path, Long> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    private long currentBytes;
+
+    // 같은 변형을 동시에 여러 번 생성하지 않도록 키별 잠금
+    private final Map<String, Object> generationLocks = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter generatedCounter;
+
+    public ImageVariantService(MeterRegistry registry) {
+        this.hitCounter = Counter.builder(VARIANT_METER_NAME + ".requests").tag("result", "hit").register(registry);
+        this.generatedCounter = Counter.builder(VARIANT_METER_NAME + ".requests").tag("result", "generated").register(registry);
+        Gauge.builder(VARIANT_METER_NAME + ".cache.size", this, ImageVariantService::getCurrentBytes).baseUnit("bytes").register(registry);
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        cacheRoot = Paths.get(cacheDir).toAbsolutePath().normalize();
+        Files.createDirectories(cacheRoot);
+        Arrays.sort(allowedWidths);
+        loadExistingEntries();
+    }
+
+    /**
+     * 요청한 너비/포맷에 맞는 변형 파일 조회 (없으면 생성)
+     *
+     * @param source 원본 이미지 (파일 또는 클래스패스 리소스)
+     * @param width 요청 너비 (null이면 원본 너비)
+     * @param format 요청 포맷 (null이면 원본 포맷)
+     * @return 변형 파일, 변형이 필요 없거나 지원하지 않는 이미지이면 null
+     */
+    public Variant getVariant(Resource source, Integer width, String format) throws IOException {
+        String extension = extensionOf(source.getFilename());
+        String sourceFormat = normalizeFormat(extension);
+        if (sourceFormat == null || !RESIZABLE_EXTENSIONS.contains(extension)) {
+            return null;
+        }
+        String targetFormat = resolveTargetFormat(format, sourceFormat);
+        Integer targetWidth = width != null ? snapWidth(width) : null;
+        if (targetWidth == null && targetFormat.equals(sourceFormat)) {
+            return null;
+        }
+
+        String key = variantKey(source, targetWidth, targetFormat);
+        Path variantFile = cacheRoot.resolve(key.substring(0, 2)).resolve(key + "." + extensionForFormat(targetFormat));
+
+        if (touch(variantFile)) {
+            hitCounter.increment();
+            return new Variant(variantFile, targetFormat);
+        }
+
+        Object lock = generationLocks.computeIfAbsent(key, k -> new Object());
+        try {
+            synchronized (lock) {
+                if (touch(variantFile)) {
+                    hitCounter.increment();
+                    return new Variant(variantFile, targetFormat);
+                }
+                if (!generate(source, variantFile, targetWidth, targetFormat)) {
+                    return null;
+                }
+                generatedCounter.increment();
+                register(variantFile, Files.size(variantFile));
+                return new Variant(variantFile, targetFormat);
+            }
+        } finally {
+            generationLocks.remove(key, lock);
+        }
+    }
+
+    public synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+
+    /**
+     * 요청 포맷을 실제 생성 가능한 포맷으로 변환 (writer가 없으면 원본 포맷 사용)
+     */
+    private String resolveTargetFormat(String format, String sourceFormat) {
+        String requested = normalizeFormat(format);
+        if (requested == null || !ImageIO.getImageWritersByFormatName(requested).hasNext()) {
+            return sourceFormat;
+        }
+        return requested;
+    }
+
+    /**
+     * 요청 너비 이상인 허용 너비 중 가장 작은 값 (최대 허용 너비 초과 시 최대값)
+     */
+    private int snapWidth(int width) {
+        for (int allowed : allowedWidths) {
+            if (allowed >= width) {
+                return allowed;
+            }
+        }
+        return allowedWidths[allowedWidths.length - 1];
+    }
+
+    private boolean generate(Resource source, Path target, Integer width, String format) throws IOException {
+        BufferedImage image;
+        try (InputStream in = source.getInputStream()) {
+            image = ImageIO.read(in);
+        }
+        if (image == null) {
+            return false;
+        }
+        if (width != null && width < image.getWidth()) {
+            int height = Math.max(1, Math.round(image.getHeight() * (width / (float) image.getWidth())));
+            image = resize(image, width, height);
+        }
+        if ("jpeg".equals(format) && image.getColorModel().hasAlpha()) {
+            image = flattenAlpha(image);
+        }
+
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "variant", ".tmp");
+        try {
+            write(image, format, temp);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        log.debug("이미지 변형 생성: {} -> {} (width={}, format={})", source.getDescription(), target.getFileName(), width, format);
+        return true;
+    }
+
+    private void write(BufferedImage image, String format, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format);
+        if (!writers.hasNext()) {
+            throw new IOException("이미지 writer를 찾을 수 없습니다: " + format);
+        }
+        ImageWriter writer = writers.next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed() && !"png".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                String[] compressionTypes = param.getCompressionTypes();
+                if (param.getCompressionType() == null && compressionTypes != null && compressionTypes.length > 0) {
+                    param.setCompressionType(compressionTypes[0]);
+                }
+                param.setCompressionQuality(jpegQuality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * 단계적 축소 (한 번에 절반 이하로 줄이지 않아 계단 현상 방지)
+     */
+    private static BufferedImage resize(BufferedImage source, int targetWidth, int targetHeight) {
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage scaled = new BufferedImage(width, height, type);
+            Graphics2D graphics = scaled.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = scaled;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    /**
+     * JPEG 저장용 투명 영역을 흰색 배경으로 합성
+     */
+    private static BufferedImage flattenAlpha(BufferedImage source) {
+        BufferedImage flattened = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = flattened.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, source.getWidth(), source.getHeight());
+            graphics.drawImage(source, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return flattened;
+    }
+
+    /**
+     * 캐시 파일 존재 시 LRU 순서 갱신
+     */
+    private boolean touch(Path variantFile) {
+        synchronized (this) {
+            if (entries.get(variantFile) != null) {
+                if (Files.exists(variantFile)) {
+                    return true;
+                }
+                currentBytes -= entries.remove(variantFile);
+            }
+        }
+        return false;
+    }
+
+    private synchronized void register(Path variantFile, long size) {
+        Long previous = entries.put(variantFile, size);
+        if (previous != null) {
+            currentBytes -= previous;
+        }
+        currentBytes += size;
+        evictIfNecessary();
+    }
+
+    private void evictIfNecessary() {
+        Iterator<Map.Entry<Path, Long>> iterator = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<Path, Long> eldest = iterator.next();
+            iterator.remove();
+            currentBytes -= eldest.getValue();
+            try {
+                Files.deleteIfExists(eldest.getKey());
+            } catch (IOException e) {
+                log.warn("이미지 변형 캐시 삭제 오류: {} ({})", eldest.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 서버 재시작 시 기존 캐시 파일을 수정 시간 순으로 다시 등록
+     */
+    private void loadExistingEntries() {
+        try (Stream<Path> stream = Files.walk(cacheRoot)) {
+            stream
+                .filter(Files::isRegularFile)
+                .filter(path -> !path.getFileName().toString().endsWith(".tmp"))
+                .sorted(Comparator.comparingLong(ImageVariantService::lastModifiedOf))
+                .forEach(path -> {
+                    try {
+                        register(path, Files.size(path));
+                    } catch (IOException e) {
+                        log.debug("이미지 변형 캐시 파일 확인 오류: {}", path);
+                    }
+                });
+        } catch (IOException e) {
+            log.warn("이미지 변형 캐시 디렉토리 확인 오류: {}", e.getMessage());
+        }
+    }
+
+    private static long lastModifiedOf(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static String variantKey(Resource source, Integer width, String format) throws IOException {
+        String value = source.getURL() + "|" + source.lastModified() + "|" + source.contentLength() + "|" + width + "|" + format;
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String extensionOf(String fileName) {
+        int index = fileName != null ? fileName.lastIndexOf('.') : -1;
+        return index >= 0 ? fileName.substring(index + 1).toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static String normalizeFormat(String format) {
+        if (format == null || format.isBlank()) {
+            return null;
+        }
+        String value = format.trim().toLowerCase(Locale.ROOT);
+        return switch (value) {
+            case "jpg", "jpeg" -> "jpeg";
+            case "png" -> "png";
+            case "webp" -> "webp";
+            default -> null;
+        };
+    }
+
+    private static String extensionForFormat(String format) {
+        return "jpeg".equals(format) ? "jpg" : format;
+    }
+
+    /**
+     * 생성된 이미지 변형 파일
+     */
+    public static final class Variant {
+
+        private final Path file;
+        private final String format;
+
+        private Variant(Path file, String format) {
+            this.file = file;
+            this.format = format;
+        }
+
+        public Path getFile() {
+            return file;
+        }
+
+        public String getContentType() {
+            return "image/" + format;
+        }
+    }
+}
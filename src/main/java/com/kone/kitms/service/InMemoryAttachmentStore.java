@@ -0,0 +1,148 @@
+package com.kone.kitms.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * KITMS 메모리 첨부파일 저장소
+ *
+ * 이 클래스는 첨부파일을 메모리에 보관하는 AttachmentStore 구현체입니다:
+ * - 테스트 및 로컬 확인용 (attach.store.type=memory)
+ * - 애플리케이션 종료 시 내용이 사라짐
+ * - 로컬 파일 경로가 없으므로 이미지 색인/후처리 대상에서 제외됨
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+public class InMemoryAttachmentStore implements AttachmentStore {
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> modified = new ConcurrentHashMap<>();
+
+    @Override
+    public StagedObject stage(InputStream in) throws IOException {
+        byte[] content = in.readAllBytes();
+        return new MemoryStagedObject(content, sha256Hex(content));
+    }
+
+    @Override
+    public StagedObject stage(Path file) throws IOException {
+        StagedObject staged;
+        try (InputStream in = Files.newInputStream(file)) {
+            staged = stage(in);
+        }
+        Files.delete(file);
+        return staged;
+    }
+
+    @Override
+    public boolean publish(StagedObject staged, String key) {
+        if (objects.putIfAbsent(key, ((MemoryStagedObject) staged).content) != null) {
+            return false;
+        }
+        modified.put(key, System.currentTimeMillis());
+        return true;
+    }
+
+    @Override
+    public void discard(StagedObject staged) {
+        // 참조만 버리면 됨
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        byte[] content = objects.get(key);
+        if (content == null) {
+            throw new NoSuchFileException(key);
+        }
+        return new ByteArrayInputStream(content);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return objects.containsKey(key);
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        byte[] content = objects.get(key);
+        if (content == null) {
+            throw new NoSuchFileException(key);
+        }
+        return content.length;
+    }
+
+    @Override
+    public void touch(String key) throws IOException {
+        if (!objects.containsKey(key)) {
+            throw new NoSuchFileException(key);
+        }
+        modified.put(key, System.currentTimeMillis());
+    }
+
+    @Override
+    public long lastModified(String key) throws IOException {
+        Long time = modified.get(key);
+        if (time == null || !objects.containsKey(key)) {
+            throw new NoSuchFileException(key);
+        }
+        return time;
+    }
+
+    @Override
+    public boolean delete(String key) {
+        modified.remove(key);
+        return objects.remove(key) != null;
+    }
+
+    @Override
+    public String location(String key) {
+        return key;
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    private static String sha256Hex(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class MemoryStagedObject implements StagedObject {
+
+        private final byte[] content;
+        private final String sha256;
+
+        private MemoryStagedObject(byte[] content, String sha256) {
+            this.content = content;
+            this.sha256 = sha256;
+        }
+
+        @Override
+        public String getSha256() {
+            return sha256;
+        }
+
+        @Override
+        public long getSize() {
+            return content.length;
+        }
+    }
+}
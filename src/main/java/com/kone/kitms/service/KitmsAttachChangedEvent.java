@@ -0,0 +1,46 @@
+package com.kone.kitms.service;
+
+/**
+ * KITMS 첨부파일 변경 이벤트
+ *
+ * 이 클래스는 kitms_attach 행 추가/수정/삭제 시 발행합니다:
+ * - 대상 테이블명/PK를 알 수 없으면 null (모든 대상에 영향이 있는 것으로 처리)
+ * - 공지사항 첨부파일이면 커밋 후 NoticeReadCache가 해당 공지사항 캐시를 무효화
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+public class KitmsAttachChangedEvent {
+
+    private static final String NOTICE_TABLE_NAME = "kitms_notice";
+
+    private final String attachTableName;
+
+    private final Long attachTablePk;
+
+    public KitmsAttachChangedEvent(String attachTableName, Long attachTablePk) {
+        this.attachTableName = attachTableName;
+        this.attachTablePk = attachTablePk;
+    }
+
+    public String getAttachTableName() {
+        return attachTableName;
+    }
+
+    public Long getAttachTablePk() {
+        return attachTablePk;
+    }
+
+    /**
+     * 공지사항 첨부파일 변경일 수 있는지 여부 (업로드 코드마다 테이블명 대소문자가 다름)
+     */
+    public boolean affectsNotice() {
+        return attachTableName == null || NOTICE_TABLE_NAME.equalsIgnoreCase(attachTableName);
+    }
+
+    @Override
+    public String toString() {
+        return "KitmsAttachChangedEvent{attachTableName=" + attachTableName + ", attachTablePk=" + attachTablePk + "}";
+    }
+}
@@ -0,0 +1,29 @@
+package com.kone.kitms.service;
+
+/**
+ * KITMS 보도자료 변경 이벤트
+ *
+ * 이 클래스는 보도자료 저장/삭제 시 KitmsNewsroomService가 발행합니다:
+ * - 커밋 후 SearchIndexService가 해당 보도자료 검색 문서를 갱신
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+public class KitmsNewsroomChangedEvent {
+
+    private final Long newsroomNo;
+
+    public KitmsNewsroomChangedEvent(Long newsroomNo) {
+        this.newsroomNo = newsroomNo;
+    }
+
+    public Long getNewsroomNo() {
+        return newsroomNo;
+    }
+
+    @Override
+    public String toString() {
+        return "KitmsNewsroomChangedEvent{newsroomNo=" + newsroomNo + "}";
+    }
+}
@@ -4,6 +4,7 @@ import com.kone.kitms.domain.KitmsNewsroom;
 import com.kone.kitms.repository.KitmsNewsroomRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -24,6 +25,7 @@ import java.util.Optional;
  * - 상태별 보도자료 개수 조회
  * - 페이징 처리
  * - 생성/수정 일시 및 사용자 추적
+ * - 저장/삭제 시 KitmsNewsroomChangedEvent 발행 (검색 색인 갱신)
  * 
  * @author KITMS Development Team
  * @version 1.0
@@ -37,8 +39,11 @@ public class KitmsNewsroomService {
 
     private final KitmsNewsroomRepository kitmsNewsroomRepository;
 
-    public KitmsNewsroomService(KitmsNewsroomRepository kitmsNewsroomRepository) {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public KitmsNewsroomService(KitmsNewsroomRepository kitmsNewsroomRepository, ApplicationEventPublisher applicationEventPublisher) {
         this.kitmsNewsroomRepository = kitmsNewsroomRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     /**
@@ -57,8 +62,9 @@ public class KitmsNewsroomService {
             kitmsNewsroom.setUpdatedBy("admin"); // TODO: 실제 사용자 정보로 변경
         }
         
-        
-        return kitmsNewsroomRepository.save(kitmsNewsroom);
+        KitmsNewsroom result = kitmsNewsroomRepository.save(kitmsNewsroom);
+        applicationEventPublisher.publishEvent(new KitmsNewsroomChangedEvent(result.getNewsroomNo()));
+        return result;
     }
 
     /**
@@ -94,6 +100,7 @@ public class KitmsNewsroomService {
     public void delete(Long id) {
         log.debug("Request to delete KitmsNewsroom : {}", id);
         kitmsNewsroomRepository.deleteById(id);
+        applicationEventPublisher.publishEvent(new KitmsNewsroomChangedEvent(id));
     }
 
     /**
@@ -0,0 +1,32 @@
+package com.kone.kitms.service;
+
+/**
+ * KITMS 공지사항 변경 이벤트
+ *
+ * 이 클래스는 공지사항 생성/수정/삭제 시 KitmsNoticeService가 발행합니다:
+ * - 커밋 후 NoticeReadCache가 해당 공지사항 상세와 목록 캐시를 무효화
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+public class KitmsNoticeChangedEvent {
+
+    private final Long noticeNo;
+
+    public KitmsNoticeChangedEvent(Long noticeNo) {
+        this.noticeNo = noticeNo;
+    }
+
+    /**
+     * @return 변경된 공지사항 번호 (알 수 없으면 null)
+     */
+    public Long getNoticeNo() {
+        return noticeNo;
+    }
+
+    @Override
+    public String toString() {
+        return "KitmsNoticeChangedEvent{noticeNo=" + noticeNo + "}";
+    }
+}
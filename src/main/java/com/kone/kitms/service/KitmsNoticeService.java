@@ -14,12 +14,14 @@ import com.kone.kitms.service.dto.PagingListDTO;
 import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -37,6 +39,7 @@ import org.springframework.web.multipart.MultipartFile;
  * - 공지사항 첨부파일 관리
  * - 공지사항 검색 및 필터링
  * - CKEditor를 통한 리치 텍스트 편집 지원
+ * - 공개 조회(상단고정 목록, 앞 페이지 목록, 상세) 캐시 및 변경 이벤트 발행 (NoticeReadCache)
  * 
  * @author KITMS Development Team
  * @version 1.0
@@ -59,21 +62,37 @@ public class KitmsNoticeService {
 
     private final KitmsLoginService kitmsLoginService;
 
+    private final NoticeSummaryService noticeSummaryService;
+
+    private final NoticeReadCache noticeReadCache;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
     @Value("${notice.static.count:3}")
     private int noticeStaticCount;
 
+    // 검색어/커서 없는 목록은 이 페이지까지 캐시
+    @Value("${notice.cache.max-page:3}")
+    private int noticeCacheMaxPage = 3;
+
     public KitmsNoticeService(
         KitmsNoticeRepository kitmsNoticeRepository,
         KitmsNoticeMapper kitmsNoticeMapper,
         FileService fileService,
         KitmsAttachRepository kitmsAttachRepository,
-        KitmsLoginService kitmsLoginService
+        KitmsLoginService kitmsLoginService,
+        NoticeSummaryService noticeSummaryService,
+        NoticeReadCache noticeReadCache,
+        ApplicationEventPublisher applicationEventPublisher
     ) {
         this.kitmsNoticeRepository = kitmsNoticeRepository;
         this.kitmsNoticeMapper = kitmsNoticeMapper;
         this.fileService = fileService;
         this.kitmsAttachRepository = kitmsAttachRepository;
         this.kitmsLoginService = kitmsLoginService;
+        this.noticeSummaryService = noticeSummaryService;
+        this.noticeReadCache = noticeReadCache;
+        this.applicationEventPublisher = applicationEventPublisher;
     }
 
     public CustomReturnDTO createNotice(HttpServletRequest request, KitmsNotice kitmsNotice, List<MultipartFile> multipartFileList)
@@ -94,9 +113,12 @@ public class KitmsNoticeService {
 
         kitmsNotice.setCreateDt(ZonedDateTime.now().plusHours(9));
         kitmsNotice.setCreateUserId(kitmsLoginService.getTokenUserId(request));
+        // 목록용 요약 생성
+        noticeSummaryService.applySummary(kitmsNotice);
 
         KitmsNotice resultInfo = kitmsNoticeRepository.save(kitmsNotice);
         fileService.createFile(request, "kitms_notice", resultInfo.getNoticeNo(), multipartFileList, false);
+        applicationEventPublisher.publishEvent(new KitmsNoticeChangedEvent(resultInfo.getNoticeNo()));
 
         result.setStatus(HttpStatus.OK);
         result.addColumn("resultInfo", resultInfo);
@@ -123,6 +145,8 @@ public class KitmsNoticeService {
         }
 
         // createDt와 createUserId는 이미 NoticeController에서 설정됨
+        // 목록용 요약 생성
+        noticeSummaryService.applySummary(kitmsNotice);
         KitmsNotice resultInfo = kitmsNoticeRepository.save(kitmsNotice);
         
         // 파일 업로드는 선택사항이므로 null 체크
@@ -133,6 +157,7 @@ public class KitmsNoticeService {
                 log.warn("파일 업로드 중 오류 발생: {}", e.getMessage());
             }
         }
+        applicationEventPublisher.publishEvent(new KitmsNoticeChangedEvent(resultInfo.getNoticeNo()));
 
         result.setStatus(HttpStatus.OK);
         result.addColumn("resultInfo", resultInfo);
@@ -179,6 +204,8 @@ public class KitmsNoticeService {
                 }
                 if (kitmsNotice.getNoticeContent() != null) {
                     existingKitmsNotice.setNoticeContent(kitmsNotice.getNoticeContent());
+                    // 본문이 바뀌면 목록용 요약도 다시 생성
+                    noticeSummaryService.applySummary(existingKitmsNotice);
                 }
                 if (kitmsNotice.getStaticFlag() != null) {
                     existingKitmsNotice.setStaticFlag(kitmsNotice.getStaticFlag());
@@ -188,6 +215,7 @@ public class KitmsNoticeService {
             .map(kitmsNoticeRepository::save);
 
         fileService.updateNewAndDeleteFile(request, "kitms_notice", noticeNo, multipartFileList, deleteAttachNoList);
+        applicationEventPublisher.publishEvent(new KitmsNoticeChangedEvent(noticeNo));
 
         result.setStatus(HttpStatus.OK);
         result.addColumn("resultInfo", resultInfo);
@@ -236,6 +264,8 @@ public class KitmsNoticeService {
                 }
                 if (kitmsNotice.getNoticeContent() != null) {
                     existingKitmsNotice.setNoticeContent(kitmsNotice.getNoticeContent());
+                    // 본문이 바뀌면 목록용 요약도 다시 생성
+                    noticeSummaryService.applySummary(existingKitmsNotice);
                 }
                 if (kitmsNotice.getStaticFlag() != null) {
                     existingKitmsNotice.setStaticFlag(kitmsNotice.getStaticFlag());
@@ -252,6 +282,7 @@ public class KitmsNoticeService {
                 log.warn("파일 업로드 중 오류 발생: {}", e.getMessage());
             }
         }
+        applicationEventPublisher.publishEvent(new KitmsNoticeChangedEvent(noticeNo));
 
         result.setStatus(HttpStatus.OK);
         result.addColumn("resultInfo", resultInfo);
@@ -272,6 +303,7 @@ public class KitmsNoticeService {
 
         fileService.removeFile("kitms_notice", noticeNo);
         kitmsNoticeRepository.deleteById(noticeNo);
+        applicationEventPublisher.publishEvent(new KitmsNoticeChangedEvent(noticeNo));
 
         result.setStatus(HttpStatus.OK);
         result.addColumn("resultInfo", resultInfo);
@@ -302,37 +334,32 @@ public class KitmsNoticeService {
                 kitmsCommonParamVO.getPage(), kitmsCommonParamVO.getSize(), 
                 kitmsCommonParamVO.getStart(), kitmsCommonParamVO.getEnd());
             
-            // 모든 공지사항을 상단고정 우선으로 정렬해서 조회
-            List<KitmsNoticeVO> resultList = kitmsNoticeMapper.getNoticeAllList(kitmsCommonParamVO);
-            log.info("공지사항 조회 완료 - 개수: {}", resultList != null ? resultList.size() : 0);
-            
-            // 총 개수 계산
-            int totalCount = 0;
-            if (resultList != null && !resultList.isEmpty()) {
-                // 첫 번째 항목에서 totalCount 가져오기
-                KitmsNoticeVO firstItem = resultList.get(0);
-                if (firstItem.getTotalCount() != null && !firstItem.getTotalCount().isEmpty()) {
-                    try {
-                        totalCount = Integer.parseInt(firstItem.getTotalCount());
-                    } catch (NumberFormatException e) {
-                        totalCount = resultList.size();
-                    }
-                } else {
-                    totalCount = resultList.size();
-                }
-            }
+            // 검색어/커서 없는 앞 페이지는 캐시 사용 (공지사항/첨부파일 변경 시 무효화)
+            String searchValue = kitmsCommonParamVO.getSearchValue();
+            boolean cacheable = !kitmsCommonParamVO.isKeyset() &&
+                (searchValue == null || searchValue.isBlank()) &&
+                kitmsCommonParamVO.getPage() <= noticeCacheMaxPage;
+            NoticeReadCache.NoticePage noticePage = cacheable
+                ? noticeReadCache.getPage(
+                    kitmsCommonParamVO.getPage(),
+                    kitmsCommonParamVO.getSize(),
+                    () -> loadNoticePage(kitmsCommonParamVO)
+                )
+                : loadNoticePage(kitmsCommonParamVO);
+            List<KitmsNoticeVO> resultList = noticePage.getList();
             
             PagingListDTO paging = new PagingListDTO(
-                resultList != null ? resultList : new ArrayList<>(),
+                resultList,
                 kitmsCommonParamVO.getPage(),
                 kitmsCommonParamVO.getSize(),
-                totalCount
+                noticePage.getTotalCount()
             );
             
             CustomReturnDTO result = new CustomReturnDTO();
             result.setStatus(HttpStatus.OK);
             result.addColumn("list", paging.getList());
             result.addColumn("page", paging.getPage());
+            result.addColumn("nextCursor", nextCursor(resultList, kitmsCommonParamVO.getSize()));
             
             log.info("공지사항 목록 조회 완료 - 총 개수: {}, 페이지 정보: {}", 
                 paging.getList().size(), paging.getPage());
@@ -348,12 +375,43 @@ public class KitmsNoticeService {
         }
     }
 
+    private NoticeReadCache.NoticePage loadNoticePage(KitmsCommonParamVO kitmsCommonParamVO) {
+        // 모든 공지사항을 상단고정 우선으로 정렬해서 조회 (키셋 커서가 있으면 OFFSET 없이 seek)
+        List<KitmsNoticeVO> resultList = kitmsNoticeMapper.getNoticeAllList(kitmsCommonParamVO);
+        log.info("공지사항 조회 완료 - 개수: {}, 키셋: {}", resultList != null ? resultList.size() : 0, kitmsCommonParamVO.isKeyset());
+
+        // 총 개수 계산 (검색 조건만 적용한 별도 COUNT, 페이지 위치와 무관)
+        int totalCount = kitmsNoticeMapper.getNoticeAllCount(kitmsCommonParamVO);
+        return new NoticeReadCache.NoticePage(resultList, totalCount);
+    }
+
+    /**
+     * 다음 페이지 키셋 커서 (마지막 행의 정렬 키, 마지막 페이지이면 null)
+     */
+    private Map<String, Object> nextCursor(List<KitmsNoticeVO> resultList, int size) {
+        if (resultList == null || resultList.size() < size) {
+            return null;
+        }
+        KitmsNoticeVO last = resultList.get(resultList.size() - 1);
+        Map<String, Object> cursor = new HashMap<>();
+        cursor.put("lastStaticFlag", Integer.parseInt(last.getStaticFlag()));
+        cursor.put("lastCreateDt", last.getSortCreateDt());
+        cursor.put("lastNoticeNo", Long.parseLong(last.getNoticeNo()));
+        return cursor;
+    }
+
     /**
      * 상단고정 공지사항만 가져오기 (메인 페이지용)
      */
     public CustomReturnDTO getStaticNoticeList(KitmsCommonParamVO kitmsCommonParamVO) {
         kitmsCommonParamVO.setNoticeStaticCount(noticeStaticCount);
-        List<KitmsNoticeVO> noticeStaticList = kitmsNoticeMapper.getNoticeStaticList(kitmsCommonParamVO);
+        // 상단고정 목록은 공지사항/첨부파일 변경 시까지 캐시
+        List<KitmsNoticeVO> noticeStaticList = noticeReadCache
+            .getStaticList(
+                noticeStaticCount,
+                () -> new NoticeReadCache.NoticePage(kitmsNoticeMapper.getNoticeStaticList(kitmsCommonParamVO), 0)
+            )
+            .getList();
         
         CustomReturnDTO result = new CustomReturnDTO();
         result.setStatus(HttpStatus.OK);
@@ -369,22 +427,14 @@ public class KitmsNoticeService {
 
     public CustomReturnDTO searchKitmsNotice(Long noticeNo) {
         try {
-            Optional<KitmsNotice> noticeOpt = kitmsNoticeRepository.findById(noticeNo);
+            KitmsNoticeDTO resultInfo = noticeReadCache.getDetail(noticeNo, () -> loadNoticeDetail(noticeNo));
             
-            if (noticeOpt.isEmpty()) {
+            if (resultInfo == null) {
                 CustomReturnDTO result = new CustomReturnDTO();
                 result.setStatus(HttpStatus.NOT_FOUND);
                 result.setMessage("공지사항을 찾을 수 없습니다.");
                 return result;
             }
-            
-            KitmsNotice notice = noticeOpt.get();
-            
-            // 사용자 이름 조회 (간단한 방법으로)
-            String userName = "관리자"; // 기본값, 필요시 별도 조회 로직 추가
-            
-            KitmsNoticeDTO resultInfo = new KitmsNoticeDTO(notice, userName);
-            resultInfo.setAttachList(kitmsAttachRepository.findAllByAttachTableNameAndAttachTablePk(TABLE_NAME, noticeNo));
 
             CustomReturnDTO result = new CustomReturnDTO();
             result.setStatus(HttpStatus.OK);
@@ -399,4 +449,21 @@ public class KitmsNoticeService {
             return result;
         }
     }
+
+    /**
+     * 공지사항 상세 + 첨부파일 목록 조회 (없으면 null)
+     */
+    private KitmsNoticeDTO loadNoticeDetail(Long noticeNo) {
+        Optional<KitmsNotice> noticeOpt = kitmsNoticeRepository.findById(noticeNo);
+        if (noticeOpt.isEmpty()) {
+            return null;
+        }
+
+        // 사용자 이름 조회 (간단한 방법으로)
+        String userName = "관리자"; // 기본값, 필요시 별도 조회 로직 추가
+
+        KitmsNoticeDTO resultInfo = new KitmsNoticeDTO(noticeOpt.get(), userName);
+        resultInfo.setAttachList(kitmsAttachRepository.findAttachDTOsByTable(TABLE_NAME, noticeNo));
+        return resultInfo;
+    }
 }
@@ -0,0 +1,29 @@
+package com.kone.kitms.service;
+
+/**
+ * KITMS 사용자 변경 이벤트
+ *
+ * 이 클래스는 사용자 생성/수정/삭제 시 KitmsUserService가 발행합니다:
+ * - 커밋 후 TitleSuggestionService가 해당 사용자 이름 자동완성 항목을 갱신
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+public class KitmsUserChangedEvent {
+
+    private final Long userNo;
+
+    public KitmsUserChangedEvent(Long userNo) {
+        this.userNo = userNo;
+    }
+
+    public Long getUserNo() {
+        return userNo;
+    }
+
+    @Override
+    public String toString() {
+        return "KitmsUserChangedEvent{userNo=" + userNo + "}";
+    }
+}
@@ -7,6 +7,7 @@ import com.kone.kitms.service.dto.KitmsUserDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -44,6 +45,9 @@ public class KitmsUserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * 모든 사용자 목록 조회
      */
@@ -127,6 +131,7 @@ public class KitmsUserService {
             user.setCreateUserId("admin"); // 관리자가 생성
 
             KitmsUser savedUser = kitmsUserRepository.save(user);
+            eventPublisher.publishEvent(new KitmsUserChangedEvent(savedUser.getUserNo()));
             KitmsUserDTO savedUserDTO = convertToDTO(savedUser);
 
             CustomReturnDTO result = new CustomReturnDTO();
@@ -197,6 +202,7 @@ public class KitmsUserService {
             }
 
             KitmsUser savedUser = kitmsUserRepository.save(existingUser);
+            eventPublisher.publishEvent(new KitmsUserChangedEvent(savedUser.getUserNo()));
             KitmsUserDTO savedUserDTO = convertToDTO(savedUser);
 
             CustomReturnDTO result = new CustomReturnDTO();
@@ -268,6 +274,7 @@ public class KitmsUserService {
             }
 
             kitmsUserRepository.delete(userOpt.get());
+            eventPublisher.publishEvent(new KitmsUserChangedEvent(userOpt.get().getUserNo()));
 
             CustomReturnDTO result = new CustomReturnDTO();
             result.setStatus(HttpStatus.OK);
@@ -0,0 +1,244 @@
+package com.kone.kitms.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * KITMS 로컬 파일 시스템 첨부파일 저장소 (해시 분산 디렉토리)
+ *
+ * 이 클래스는 첨부파일을 키 해시 앞 4자리로 나눈 2단계 하위 디렉토리에 저장합니다:
+ * - 키가 16진수로 시작하면(UUID, SHA-256) 키 앞부분을, 그 외에는 키의 SHA-256 앞부분을 사용
+ * - 디렉토리당 파일 수가 고르게 분산되어 큰 디렉토리 검색/조회가 느려지지 않음
+ * - 임시 저장은 같은 파일 시스템의 .staging 디렉토리에 쓰고 하드 링크로 게시 (기존 파일을 덮어쓰지 않음)
+ * - 내용 주소 저장소(ab/cd/해시)와 같은 배치라 기존 파일을 그대로 사용
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+public class LocalShardedAttachmentStore implements AttachmentStore {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalShardedAttachmentStore.class);
+
+    public static final String STAGING_DIRECTORY = ".staging";
+
+    private static final Pattern HEX_PREFIX = Pattern.compile("[0-9a-fA-F]{4}");
+
+    // 경로 조작 방지 (디렉토리 구분자, 상위 경로 불가)
+    private static final Pattern VALID_KEY = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,254}");
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path root;
+
+    private final Path staging;
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public LocalShardedAttachmentStore(Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.staging = this.root.resolve(STAGING_DIRECTORY);
+        Files.createDirectories(staging);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        log.info("첨부파일 저장소 (로컬, 분산 디렉토리): {}", this.root);
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    @Override
+    public StagedObject stage(InputStream in) throws IOException {
+        Path temp = Files.createTempFile(staging, ".upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (DigestInputStream digestIn = new DigestInputStream(in, digest)) {
+                size = Files.copy(digestIn, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return new LocalStagedObject(temp, HexFormat.of().formatHex(digest.digest()), size);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+    }
+
+    @Override
+    public StagedObject stage(Path file) throws IOException {
+        // 해시는 원본 위치에서 계산한 뒤 임시 디렉토리로 이동 (복사 없음)
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        long size = Files.size(file);
+        Path temp = staging.resolve(".upload-" + file.getFileName() + ".part");
+        move(file, temp);
+        return new LocalStagedObject(temp, HexFormat.of().formatHex(digest.digest()), size);
+    }
+
+    @Override
+    public boolean publish(StagedObject staged, String key) throws IOException {
+        LocalStagedObject local = (LocalStagedObject) staged;
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        try {
+            // 하드 링크 생성은 대상이 있으면 실패하므로 기존 파일을 덮어쓰지 않음
+            Files.createLink(target, local.temp);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            return false;
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            // 하드 링크를 지원하지 않는 파일 시스템은 키 잠금 안에서 덮어쓰지 않는 이동
+            log.debug("하드 링크 게시 불가, 이동으로 게시: {} ({})", key, e.toString());
+            return moveIfAbsent(local.temp, target, key);
+        } finally {
+            Files.deleteIfExists(local.temp);
+        }
+    }
+
+    @Override
+    public void discard(StagedObject staged) throws IOException {
+        Files.deleteIfExists(((LocalStagedObject) staged).temp);
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(resolve(key));
+    }
+
+    @Override
+    public long size(String key) throws IOException {
+        return Files.size(resolve(key));
+    }
+
+    @Override
+    public void touch(String key) throws IOException {
+        Files.setLastModifiedTime(resolve(key), FileTime.fromMillis(System.currentTimeMillis()));
+    }
+
+    @Override
+    public long lastModified(String key) throws IOException {
+        return Files.getLastModifiedTime(resolve(key)).toMillis();
+    }
+
+    @Override
+    public boolean delete(String key) throws IOException {
+        return Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public String location(String key) {
+        String shard = shard(key);
+        return shard.substring(0, 2) + "/" + shard.substring(2, 4) + "/" + key;
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        return Optional.of(resolve(key));
+    }
+
+    /**
+     * 키에 해당하는 파일 경로
+     */
+    public Path resolve(String key) {
+        if (key == null || !VALID_KEY.matcher(key).matches() || key.contains("..")) {
+            throw new IllegalArgumentException("잘못된 첨부파일 키: " + key);
+        }
+        String shard = shard(key);
+        return root.resolve(shard.substring(0, 2)).resolve(shard.substring(2, 4)).resolve(key);
+    }
+
+    /**
+     * 파일이 이미 분산 디렉토리 규칙대로 저장되어 있는지 확인 (이전 작업용)
+     */
+    public boolean isShardedLocation(Path file) {
+        String key = file.getFileName().toString();
+        return VALID_KEY.matcher(key).matches() && resolve(key).equals(file.toAbsolutePath().normalize());
+    }
+
+    private static String shard(String key) {
+        if (HEX_PREFIX.matcher(key).lookingAt()) {
+            return key.substring(0, 4).toLowerCase(Locale.ROOT);
+        }
+        return HexFormat.of().formatHex(sha256().digest(key.getBytes(StandardCharsets.UTF_8))).substring(0, 4);
+    }
+
+    private boolean moveIfAbsent(Path source, Path target, String key) throws IOException {
+        synchronized (locks[Math.floorMod(key.hashCode(), LOCK_STRIPES)]) {
+            if (Files.exists(target)) {
+                return false;
+            }
+            try {
+                // REPLACE_EXISTING 없이 이동 (ATOMIC_MOVE는 기존 대상을 덮어쓸 수 있어 사용하지 않음)
+                Files.move(source, target);
+                return true;
+            } catch (FileAlreadyExistsException e) {
+                return false;
+            }
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class LocalStagedObject implements StagedObject {
+
+        private final Path temp;
+        private final String sha256;
+        private final long size;
+
+        private LocalStagedObject(Path temp, String sha256, long size) {
+            this.temp = temp;
+            this.sha256 = sha256;
+            this.size = size;
+        }
+
+        @Override
+        public String getSha256() {
+            return sha256;
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+    }
+}
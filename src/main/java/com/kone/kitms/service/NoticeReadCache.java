@@ -0,0 +1,156 @@
+package com.kone.kitms.service;
+
+import com.kone.kitms.mybatis.vo.KitmsNoticeVO;
+import com.kone.kitms.service.dto.KitmsNoticeDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * KITMS 공지사항 공개 조회 캐시
+ *
+ * 이 클래스는 공개 공지사항 조회 결과를 Ehcache(JCache) 타입 캐시에 보관합니다:
+ * - 상단고정 목록 (/static): 고정 개수 -> 목록
+ * - 목록 앞 페이지 (/public, /all 검색어/커서 없는 요청): "page:size" -> 목록 + 전체 개수
+ * - 공지사항 상세 (/{noticeNo}): 공지사항 번호 -> 상세 + 첨부파일 목록
+ * - 크기/TTL은 CacheConfiguration에서 설정 (notice.cache.*)
+ * - 공지사항/첨부파일 변경 이벤트를 커밋 후 받아 해당 상세와 목록 캐시만 무효화
+ *
+ * 무효화와 동시에 진행 중인 조회가 변경 전 결과를 다시 넣지 않도록 세대(generation) 번호를 비교합니다.
+ * 캐시된 값은 여러 요청이 공유하므로 호출자는 수정하지 않아야 합니다.
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Service
+public class NoticeReadCache {
+
+    private static final Logger log = LoggerFactory.getLogger(NoticeReadCache.class);
+
+    public static final String STATIC_LIST_CACHE = "kitmsNoticeStaticList";
+    public static final String PAGE_CACHE = "kitmsNoticePage";
+    public static final String DETAIL_CACHE = "kitmsNoticeDetail";
+
+    public static final String CACHE_METER_NAME = "notice.cache";
+
+    private final Cache<Integer, NoticePage> staticListCache;
+
+    private final Cache<String, NoticePage> pageCache;
+
+    private final Cache<Long, KitmsNoticeDTO> detailCache;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    private final Object lock = new Object();
+
+    // 무효화마다 증가 (조회 시작 후 무효화되었으면 결과를 넣지 않음)
+    private long generation;
+
+    public NoticeReadCache(CacheManager cacheManager, MeterRegistry registry) {
+        this.staticListCache = cacheManager.getCache(STATIC_LIST_CACHE, Integer.class, NoticePage.class);
+        this.pageCache = cacheManager.getCache(PAGE_CACHE, String.class, NoticePage.class);
+        this.detailCache = cacheManager.getCache(DETAIL_CACHE, Long.class, KitmsNoticeDTO.class);
+        this.hitCounter = Counter.builder(CACHE_METER_NAME).tag("result", "hit").register(registry);
+        this.missCounter = Counter.builder(CACHE_METER_NAME).tag("result", "miss").register(registry);
+    }
+
+    public NoticePage getStaticList(Integer count, Supplier<NoticePage> loader) {
+        return get(staticListCache, count, loader);
+    }
+
+    public NoticePage getPage(int page, int size, Supplier<NoticePage> loader) {
+        return get(pageCache, page + ":" + size, loader);
+    }
+
+    /**
+     * 상세 조회 (loader가 null을 반환하면 캐시하지 않음)
+     */
+    public KitmsNoticeDTO getDetail(Long noticeNo, Supplier<KitmsNoticeDTO> loader) {
+        return get(detailCache, noticeNo, loader);
+    }
+
+    private <K, V> V get(Cache<K, V> cache, K key, Supplier<V> loader) {
+        V cached = cache.get(key);
+        if (cached != null) {
+            hitCounter.increment();
+            return cached;
+        }
+        missCounter.increment();
+
+        long started;
+        synchronized (lock) {
+            started = generation;
+        }
+        V loaded = loader.get();
+        if (loaded != null) {
+            synchronized (lock) {
+                if (started == generation) {
+                    cache.put(key, loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNoticeChanged(KitmsNoticeChangedEvent event) {
+        evict(event.getNoticeNo());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAttachChanged(KitmsAttachChangedEvent event) {
+        if (event.affectsNotice()) {
+            evict(event.getAttachTablePk());
+        }
+    }
+
+    /**
+     * 공지사항 하나의 상세와 목록 캐시 무효화 (번호를 모르면 상세 전체)
+     */
+    public void evict(Long noticeNo) {
+        synchronized (lock) {
+            generation++;
+            if (noticeNo != null) {
+                detailCache.remove(noticeNo);
+            } else {
+                detailCache.removeAll();
+            }
+            // 제목/고정 여부/첨부 여부가 바뀌면 순서와 표시가 달라지므로 목록은 모두 비움
+            staticListCache.removeAll();
+            pageCache.removeAll();
+        }
+        log.debug("공지사항 캐시 무효화: {}", noticeNo != null ? noticeNo : "전체");
+    }
+
+    /**
+     * 캐시된 목록 (목록은 수정할 수 없음)
+     */
+    public static final class NoticePage {
+
+        private final List<KitmsNoticeVO> list;
+
+        private final int totalCount;
+
+        public NoticePage(List<KitmsNoticeVO> list, int totalCount) {
+            this.list = list != null ? List.copyOf(list) : List.of();
+            this.totalCount = totalCount;
+        }
+
+        public List<KitmsNoticeVO> getList() {
+            return list;
+        }
+
+        public int getTotalCount() {
+            return totalCount;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.kone.kitms.service;
+
+import com.kone.kitms.domain.KitmsNotice;
+import com.kone.kitms.repository.KitmsNoticeRepository;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+/**
+ * KITMS 공지사항 요약 서비스
+ *
+ * 이 클래스는 공지사항 저장 시 목록 화면용 요약 정보를 만듭니다:
+ * - noticeSummary: 본문 HTML에서 태그를 제거한 앞부분 텍스트
+ * - noticeContentLength: 태그를 제거한 본문 전체 길이 (요약 뒤 "..." 표시 여부 판단용)
+ * - noticeImage: 본문의 첫 번째 이미지 경로 (메인 공지사항 섹션 썸네일용, base64 이미지는 제외)
+ * - 목록 조회는 본문(LOB) 대신 요약 컬럼만 읽음
+ * - 요약이 없는 기존 공지사항은 애플리케이션 시작 후 배치로 채움
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Service
+public class NoticeSummaryService {
+
+    private static final Logger log = LoggerFactory.getLogger(NoticeSummaryService.class);
+
+    public static final int SUMMARY_MAX_LENGTH = 200;
+
+    public static final int IMAGE_MAX_LENGTH = 500;
+
+    private static final Pattern TAG_PATTERN = Pattern.compile("<[^>]*>");
+
+    // 스크립트/스타일 내용은 요약에서 제외
+    private static final Pattern SCRIPT_STYLE_PATTERN = Pattern.compile("(?is)<(script|style)[^>]*>.*?</\\1>");
+
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+    private static final Pattern IMAGE_PATTERN = Pattern.compile("(?i)<img[^>]+src\\s*=\\s*[\"']([^\"']+)[\"'][^>]*>");
+
+    @Value("${notice.summary.backfill-batch-size:100}")
+    private int backfillBatchSize = 100;
+
+    private final KitmsNoticeRepository kitmsNoticeRepository;
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public NoticeSummaryService(KitmsNoticeRepository kitmsNoticeRepository, ApplicationEventPublisher applicationEventPublisher) {
+        this.kitmsNoticeRepository = kitmsNoticeRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    /**
+     * 본문으로 요약/길이/대표 이미지 설정
+     */
+    public void applySummary(KitmsNotice kitmsNotice) {
+        String content = kitmsNotice.getNoticeContent();
+        if (content == null) {
+            kitmsNotice.setNoticeSummary(null);
+            kitmsNotice.setNoticeContentLength(0);
+            kitmsNotice.setNoticeImage(null);
+            return;
+        }
+
+        String text = toPlainText(content);
+        kitmsNotice.setNoticeSummary(text.length() > SUMMARY_MAX_LENGTH ? text.substring(0, SUMMARY_MAX_LENGTH) : text);
+        kitmsNotice.setNoticeContentLength(text.length());
+        kitmsNotice.setNoticeImage(firstImage(content));
+    }
+
+    /**
+     * 요약이 없는 기존 공지사항 채우기 (시작 후 백그라운드)
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillSummaries() {
+        try {
+            int updated = 0;
+            List<KitmsNotice> batch;
+            while (!(batch = kitmsNoticeRepository.findByNoticeContentLengthIsNull(PageRequest.of(0, backfillBatchSize))).isEmpty()) {
+                batch.forEach(this::applySummary);
+                kitmsNoticeRepository.saveAll(batch);
+                updated += batch.size();
+            }
+            if (updated > 0) {
+                // 목록 캐시에 요약 없는 행이 남지 않도록 무효화
+                applicationEventPublisher.publishEvent(new KitmsNoticeChangedEvent(null));
+                log.info("공지사항 요약 채우기 완료: {}건", updated);
+            }
+        } catch (RuntimeException e) {
+            log.error("공지사항 요약 채우기 오류", e);
+        }
+    }
+
+    static String toPlainText(String html) {
+        String text = SCRIPT_STYLE_PATTERN.matcher(html).replaceAll(" ");
+        text = TAG_PATTERN.matcher(text).replaceAll(" ");
+        text = HtmlUtils.htmlUnescape(text).replace('\u00a0', ' ');
+        return WHITESPACE_PATTERN.matcher(text).replaceAll(" ").trim();
+    }
+
+    static String firstImage(String html) {
+        Matcher matcher = IMAGE_PATTERN.matcher(html);
+        if (!matcher.find()) {
+            return null;
+        }
+        String src = HtmlUtils.htmlUnescape(matcher.group(1));
+        // base64 이미지는 컬럼에 담지 않음 (첨부파일 썸네일 사용)
+        if (src.startsWith("data:") || src.length() > IMAGE_MAX_LENGTH) {
+            return null;
+        }
+        return src;
+    }
+}
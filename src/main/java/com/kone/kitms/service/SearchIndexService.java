@@ -0,0 +1,500 @@
+package com.kone.kitms.service;
+
+import com.kone.kitms.domain.CmsContent;
+import com.kone.kitms.domain.KitmsNewsroom;
+import com.kone.kitms.domain.KitmsNotice;
+import com.kone.kitms.repository.CmsContentRepository;
+import com.kone.kitms.repository.KitmsNewsroomRepository;
+import com.kone.kitms.repository.KitmsNoticeRepository;
+import com.kone.kitms.service.dto.SearchHitDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.cjk.CJKBigramFilter;
+import org.apache.lucene.analysis.cjk.CJKWidthFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * KITMS 통합 검색 색인 서비스
+ *
+ * 이 클래스는 공지사항, 보도자료, CMS 페이지를 하나의 Lucene 색인(search.index.path)으로 검색합니다:
+ * - 한글/한자는 2글자 단위(bigram)로 색인하여 조사가 붙은 단어나 단어 중간 검색 지원
+ * - 제목 가중치를 높인 점수 순 정렬 및 페이징, 유형(notice/newsroom/cms) 필터
+ * - 변경 이벤트(공지사항/보도자료/CMS)를 커밋 후 받아 해당 문서만 갱신 (단일 스레드에서 순서대로 처리)
+ * - 비활성 보도자료/CMS 페이지는 색인에서 제외
+ * - 색인이 비어 있으면 애플리케이션 시작 후 DB에서 전체 재구성, 관리자 API로도 재구성 가능
+ *
+ * 색인 디렉토리는 DB에서 언제든 다시 만들 수 있으므로 백업 대상이 아닙니다.
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexService.class);
+
+    public static final String TYPE_NOTICE = "notice";
+    public static final String TYPE_NEWSROOM = "newsroom";
+    public static final String TYPE_CMS = "cms";
+
+    private static final String FIELD_UID = "uid";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_BODY = "body";
+    private static final String FIELD_SUMMARY = "summary";
+    private static final String FIELD_URL = "url";
+    private static final String FIELD_DATE = "date";
+
+    private static final float TITLE_BOOST = 3f;
+
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    private static final String STATUS_ACTIVE = "ACTIVE";
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    @Value("${search.index.path:./search-index}")
+    private String indexPath = "./search-index";
+
+    @Value("${search.index.rebuild-batch-size:200}")
+    private int rebuildBatchSize = 200;
+
+    // 페이지를 넘겨 볼 수 있는 최대 결과 수
+    @Value("${search.index.max-results:1000}")
+    private int maxResults = 1000;
+
+    @Value("${search.index.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    private final KitmsNoticeRepository kitmsNoticeRepository;
+
+    private final KitmsNewsroomRepository kitmsNewsroomRepository;
+
+    private final CmsContentRepository cmsContentRepository;
+
+    private final Analyzer analyzer = new KoreanBigramAnalyzer();
+
+    // 색인 쓰기는 한 스레드에서 순서대로 (같은 문서의 갱신 순서 보장)
+    private final ExecutorService indexExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("search-index-"));
+
+    private Directory directory;
+
+    private volatile IndexWriter writer;
+
+    private volatile SearcherManager searcherManager;
+
+    public SearchIndexService(
+        KitmsNoticeRepository kitmsNoticeRepository,
+        KitmsNewsroomRepository kitmsNewsroomRepository,
+        CmsContentRepository cmsContentRepository
+    ) {
+        this.kitmsNoticeRepository = kitmsNoticeRepository;
+        this.kitmsNewsroomRepository = kitmsNewsroomRepository;
+        this.cmsContentRepository = cmsContentRepository;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        directory = FSDirectory.open(Paths.get(indexPath));
+        openWriter();
+        log.info("검색 색인 열기: {} (문서 {}건)", indexPath, writer.getDocStats().numDocs);
+    }
+
+    private void openWriter() throws IOException {
+        IndexWriterConfig config = new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        indexExecutor.shutdown();
+        try {
+            indexExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /**
+     * 색인이 비어 있으면(최초 실행, 색인 디렉토리 삭제 후) DB에서 재구성
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (rebuildOnStartup || writer.getDocStats().numDocs == 0) {
+            indexExecutor.execute(() -> {
+                try {
+                    rebuildIndex();
+                } catch (IOException | RuntimeException e) {
+                    log.error("검색 색인 재구성 실패", e);
+                }
+            });
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNoticeChanged(KitmsNoticeChangedEvent event) {
+        Long noticeNo = event.getNoticeNo();
+        if (noticeNo != null) {
+            submitUpdate(TYPE_NOTICE, noticeNo, () -> kitmsNoticeRepository.findById(noticeNo).map(this::toDocument));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNewsroomChanged(KitmsNewsroomChangedEvent event) {
+        Long newsroomNo = event.getNewsroomNo();
+        if (newsroomNo != null) {
+            submitUpdate(TYPE_NEWSROOM, newsroomNo, () -> kitmsNewsroomRepository.findById(newsroomNo).flatMap(this::toDocument));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCmsContentChanged(CmsContentChangedEvent event) {
+        Long contentId = event.getContentId();
+        if (contentId != null) {
+            submitUpdate(TYPE_CMS, contentId, () -> cmsContentRepository.findById(contentId).flatMap(this::toDocument));
+        }
+    }
+
+    /**
+     * 문서 하나 갱신 (DB에 없거나 검색 대상이 아니면 색인에서 삭제)
+     */
+    private void submitUpdate(String type, Long id, Supplier<Optional<Document>> loader) {
+        try {
+            indexExecutor.execute(() -> {
+                try {
+                    Term uid = new Term(FIELD_UID, uid(type, String.valueOf(id)));
+                    Optional<Document> document = loader.get();
+                    if (document.isPresent()) {
+                        writer.updateDocument(uid, document.get());
+                    } else {
+                        writer.deleteDocuments(uid);
+                    }
+                    commit();
+                } catch (IOException | RuntimeException e) {
+                    log.error("검색 색인 갱신 실패: {}:{}", type, id, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("검색 색인 갱신 건너뜀 (종료 중): {}:{}", type, id);
+        }
+    }
+
+    /**
+     * DB에서 전체 색인 재구성 (진행 중인 갱신이 끝난 뒤 실행, 완료될 때까지 기존 색인으로 검색)
+     *
+     * @return 색인한 문서 수
+     */
+    public int rebuild() throws IOException {
+        try {
+            return indexExecutor.submit(this::rebuildIndex).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("검색 색인 재구성이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            throw new IOException("검색 색인 재구성 실패", e.getCause());
+        }
+    }
+
+    private int rebuildIndex() throws IOException {
+        long started = System.currentTimeMillis();
+        int count = 0;
+        try {
+            writer.deleteAll();
+            count += this.<KitmsNotice>addAll(kitmsNoticeRepository::findAll, notice -> Optional.of(toDocument(notice)), "noticeNo");
+            count += this.<KitmsNewsroom>addAll(kitmsNewsroomRepository::findAll, this::toDocument, "newsroomNo");
+            count += this.<CmsContent>addAll(cmsContentRepository::findAll, this::toDocument, "id");
+            commit();
+        } catch (IOException | RuntimeException e) {
+            // 일부만 색인된 상태가 커밋되지 않도록 되돌린 뒤 다시 열기
+            SearcherManager previous = searcherManager;
+            writer.rollback();
+            openWriter();
+            previous.close();
+            throw e;
+        }
+        log.info("검색 색인 재구성 완료: {}건 ({}ms)", count, System.currentTimeMillis() - started);
+        return count;
+    }
+
+    private <T> int addAll(Function<Pageable, Page<T>> finder, Function<T, Optional<Document>> mapper, String sortProperty)
+        throws IOException {
+        int count = 0;
+        Page<T> page;
+        int pageNumber = 0;
+        do {
+            page = finder.apply(PageRequest.of(pageNumber++, rebuildBatchSize, Sort.by(sortProperty)));
+            for (T entity : page) {
+                Optional<Document> document = mapper.apply(entity);
+                if (document.isPresent()) {
+                    writer.addDocument(document.get());
+                    count++;
+                }
+            }
+        } while (page.hasNext());
+        return count;
+    }
+
+    private void commit() throws IOException {
+        writer.commit();
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * 통합 검색
+     *
+     * @param queryText 검색어
+     * @param type 유형 필터 (notice, newsroom, cms, 없으면 전체)
+     * @param page 페이지 (1부터)
+     * @param size 페이지 크기
+     */
+    public SearchResult search(String queryText, String type, int page, int size) throws IOException {
+        Query query = buildQuery(queryText, type);
+        int start = (page - 1) * size;
+        if (query == null || start >= maxResults) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            int total = Math.min(searcher.count(query), maxResults);
+            TopDocs topDocs = searcher.search(query, Math.min(start + size, maxResults));
+            StoredFields storedFields = searcher.storedFields();
+            List<SearchHitDTO> hits = new ArrayList<>(size);
+            for (int i = start; i < topDocs.scoreDocs.length; i++) {
+                ScoreDoc scoreDoc = topDocs.scoreDocs[i];
+                Document document = storedFields.document(scoreDoc.doc);
+                hits.add(
+                    new SearchHitDTO(
+                        document.get(FIELD_TYPE),
+                        document.get(FIELD_ID),
+                        document.get(FIELD_TITLE),
+                        document.get(FIELD_SUMMARY),
+                        document.get(FIELD_URL),
+                        document.get(FIELD_DATE),
+                        scoreDoc.score
+                    )
+                );
+            }
+            return new SearchResult(hits, total);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * 검색어의 모든 토큰이 제목 또는 본문에 있어야 일치 (제목 일치 가중치 높음)
+     */
+    Query buildQuery(String queryText, String type) {
+        if (queryText == null || queryText.isBlank()) {
+            return null;
+        }
+        String text = queryText.length() > MAX_QUERY_LENGTH ? queryText.substring(0, MAX_QUERY_LENGTH) : queryText;
+        QueryBuilder builder = new QueryBuilder(analyzer);
+        Query title = builder.createBooleanQuery(FIELD_TITLE, text, BooleanClause.Occur.MUST);
+        Query body = builder.createBooleanQuery(FIELD_BODY, text, BooleanClause.Occur.MUST);
+        if (title == null && body == null) {
+            return null;
+        }
+
+        BooleanQuery.Builder match = new BooleanQuery.Builder();
+        if (title != null) {
+            match.add(new BoostQuery(title, TITLE_BOOST), BooleanClause.Occur.SHOULD);
+        }
+        if (body != null) {
+            match.add(body, BooleanClause.Occur.SHOULD);
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(match.build(), BooleanClause.Occur.MUST);
+        if (type != null && !type.isBlank()) {
+            query.add(new TermQuery(new Term(FIELD_TYPE, type)), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private Document toDocument(KitmsNotice notice) {
+        String body = notice.getNoticeContent() != null ? NoticeSummaryService.toPlainText(notice.getNoticeContent()) : "";
+        return document(
+            TYPE_NOTICE,
+            String.valueOf(notice.getNoticeNo()),
+            notice.getNoticeTitle(),
+            body,
+            summary(body),
+            "/sub0303.html?noticeNo=" + notice.getNoticeNo(),
+            notice.getCreateDt()
+        );
+    }
+
+    private Optional<Document> toDocument(KitmsNewsroom newsroom) {
+        if (!STATUS_ACTIVE.equals(newsroom.getNewsroomStatus())) {
+            return Optional.empty();
+        }
+        // 보도자료는 외부 기사 링크이므로 제목만 색인
+        return Optional.of(
+            document(
+                TYPE_NEWSROOM,
+                String.valueOf(newsroom.getNewsroomNo()),
+                newsroom.getNewsroomTitle(),
+                "",
+                "",
+                newsroom.getNewsroomUrl(),
+                newsroom.getCreatedAt()
+            )
+        );
+    }
+
+    private Optional<Document> toDocument(CmsContent content) {
+        if (!STATUS_ACTIVE.equals(content.getStatus())) {
+            return Optional.empty();
+        }
+        String text = content.getPageContent() != null ? NoticeSummaryService.toPlainText(content.getPageContent()) : "";
+        String body = String.join(" ", text, nullToEmpty(content.getMetaDescription()), nullToEmpty(content.getMetaKeywords()));
+        String description = content.getMetaDescription();
+        return Optional.of(
+            document(
+                TYPE_CMS,
+                String.valueOf(content.getId()),
+                content.getPageTitle(),
+                body,
+                description != null && !description.isBlank() ? summary(description) : summary(text),
+                "/cms-template.html?page=" + content.getPageCode(),
+                content.getUpdatedAt() != null ? content.getUpdatedAt() : content.getCreatedAt()
+            )
+        );
+    }
+
+    private static Document document(
+        String type,
+        String id,
+        String title,
+        String body,
+        String summary,
+        String url,
+        TemporalAccessor date
+    ) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_UID, uid(type, id), Field.Store.NO));
+        document.add(new StringField(FIELD_TYPE, type, Field.Store.YES));
+        document.add(new StoredField(FIELD_ID, id));
+        document.add(new TextField(FIELD_TITLE, nullToEmpty(title), Field.Store.YES));
+        document.add(new TextField(FIELD_BODY, body, Field.Store.NO));
+        document.add(new StoredField(FIELD_SUMMARY, summary));
+        document.add(new StoredField(FIELD_URL, nullToEmpty(url)));
+        if (date != null) {
+            document.add(new StoredField(FIELD_DATE, DATE_FORMAT.format(date)));
+        }
+        return document;
+    }
+
+    private static String uid(String type, String id) {
+        return type + ":" + id;
+    }
+
+    private static String summary(String text) {
+        return text.length() > NoticeSummaryService.SUMMARY_MAX_LENGTH ? text.substring(0, NoticeSummaryService.SUMMARY_MAX_LENGTH) : text;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * 한글/한자 bigram 분석기
+     *
+     * StandardTokenizer가 나눈 한글/한자 연속 구간을 2글자씩 겹쳐 나누고 (예: 공지사항 -> 공지, 지사, 사항),
+     * 영문/숫자는 단어 단위로 소문자화합니다. 전각/반각 문자는 같은 문자로 맞춥니다.
+     */
+    static final class KoreanBigramAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            StandardTokenizer tokenizer = new StandardTokenizer();
+            TokenStream stream = new CJKWidthFilter(tokenizer);
+            stream = new LowerCaseFilter(stream);
+            stream = new CJKBigramFilter(stream, CJKBigramFilter.HANGUL | CJKBigramFilter.HAN, false);
+            return new TokenStreamComponents(tokenizer, stream);
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new LowerCaseFilter(new CJKWidthFilter(in));
+        }
+    }
+
+    /**
+     * 검색 결과 한 페이지
+     */
+    public static final class SearchResult {
+
+        private final List<SearchHitDTO> hits;
+
+        private final int total;
+
+        public SearchResult(List<SearchHitDTO> hits, int total) {
+            this.hits = hits;
+            this.total = total;
+        }
+
+        public List<SearchHitDTO> getHits() {
+            return hits;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+}
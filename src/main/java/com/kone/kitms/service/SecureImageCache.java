@@ -0,0 +1,309 @@
+package com.kone.kitms.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/**
+ * KITMS 보안 이미지 바이트 캐시
+ *
+ * 이 클래스는 /api/secure-images/{token} 응답에 사용되는 이미지 데이터를 메모리에 보관합니다:
+ * - 파일 경로(jar 내부 리소스는 URL) + 수정 시간 + 크기 기준 캐시 (파일이 바뀌면 자동 재로딩)
+ * - 전체 바이트 수 기준 LRU 제거
+ * - 선택적으로 다이렉트(off-heap) ByteBuffer에 보관
+ * - 내용 기반 강한 ETag(SHA-256) 생성
+ *
+ * 항목 최대 크기를 넘는 파일은 캐시하지 않으며 {@code null}을 반환합니다.
+ * 이런 파일도 {@link #eTag(Resource)}로 같은 방식(SHA-256)의 ETag를 받으므로
+ * 이미지가 캐시에 들어가거나 빠져도 ETag가 바뀌지 않습니다 (해시는 파일 버전별로 한 번만 계산).
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class SecureImageCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SecureImageCache.class);
+
+    public static final String CACHE_METER_NAME = "secure.image.cache";
+
+    @Value("${secure-image.cache.max-bytes:67108864}")
+    private long maxBytes = 64L * 1024 * 1024;
+
+    @Value("${secure-image.cache.max-entry-bytes:2097152}")
+    private long maxEntryBytes = 2L * 1024 * 1024;
+
+    @Value("${secure-image.cache.off-heap:false}")
+    private boolean offHeap;
+
+    // 캐시하지 않는 파일의 ETag 보관 개수
+    @Value("${secure-image.cache.max-etag-entries:10000}")
+    private int maxETagEntries = 10000;
+
+    // 접근 순서 LinkedHashMap (LRU), 모든 접근은 this 동기화
+    private final LinkedHashMap<String, CachedImage> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    // 캐시하지 않는(큰) 파일의 ETag (접근 순서 LRU), 모든 접근은 this 동기화
+    private final LinkedHashMap<String, FileETag> eTags = new LinkedHashMap<>(64, 0.75f, true);
+
+    private long currentBytes;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public SecureImageCache(MeterRegistry registry) {
+        this.hitCounter = Counter.builder(CACHE_METER_NAME + ".requests").tag("result", "hit").register(registry);
+        this.missCounter = Counter.builder(CACHE_METER_NAME + ".requests").tag("result", "miss").register(registry);
+        Gauge.builder(CACHE_METER_NAME + ".size", this, SecureImageCache::getCurrentBytes).baseUnit("bytes").register(registry);
+    }
+
+    /**
+     * 리소스에 해당하는 캐시 이미지 조회 (없거나 변경된 경우 파일에서 로딩)
+     *
+     * @return 캐시 이미지, 파일이 캐시 항목 최대 크기를 넘으면 null
+     */
+    public CachedImage get(Resource resource) throws IOException {
+        String key = keyOf(resource);
+        long lastModified = resource.lastModified();
+        long size = resource.contentLength();
+
+        synchronized (this) {
+            CachedImage cached = entries.get(key);
+            if (cached != null && cached.lastModified == lastModified && cached.contentLength == size) {
+                hitCounter.increment();
+                return cached;
+            }
+        }
+        missCounter.increment();
+
+        if (size > maxEntryBytes) {
+            return null;
+        }
+
+        CachedImage loaded = load(resource, lastModified, size);
+        synchronized (this) {
+            CachedImage previous = entries.put(key, loaded);
+            if (previous != null) {
+                currentBytes -= previous.contentLength;
+            }
+            currentBytes += loaded.contentLength;
+            evictIfNecessary();
+        }
+        return loaded;
+    }
+
+    /**
+     * 파일 경로에 해당하는 캐시 이미지 조회 (없거나 변경된 경우 파일에서 로딩)
+     *
+     * @return 캐시 이미지, 파일이 캐시 항목 최대 크기를 넘으면 null
+     */
+    public CachedImage get(Path path) throws IOException {
+        return get(new FileSystemResource(path.toAbsolutePath().normalize()));
+    }
+
+    /**
+     * 캐시 여부와 관계없이 같은 방식(내용 SHA-256)의 강한 ETag 조회
+     *
+     * 캐시된 이미지는 캐시 항목의 ETag를, 캐시하지 않는 파일은 한 번 계산한 값을 재사용합니다.
+     */
+    public String eTag(Resource resource) throws IOException {
+        String key = keyOf(resource);
+        long lastModified = resource.lastModified();
+        long size = resource.contentLength();
+
+        synchronized (this) {
+            CachedImage cached = entries.get(key);
+            if (cached != null && cached.lastModified == lastModified && cached.contentLength == size) {
+                return cached.eTag;
+            }
+            FileETag known = eTags.get(key);
+            if (known != null && known.lastModified == lastModified && known.contentLength == size) {
+                return known.eTag;
+            }
+        }
+
+        String eTag = "\"" + sha256Hex(resource) + "\"";
+        synchronized (this) {
+            eTags.put(key, new FileETag(lastModified, size, eTag));
+            Iterator<FileETag> iterator = eTags.values().iterator();
+            while (eTags.size() > maxETagEntries && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        return eTag;
+    }
+
+    /**
+     * 캐시 전체 비우기
+     */
+    public synchronized void clear() {
+        entries.clear();
+        eTags.clear();
+        currentBytes = 0;
+    }
+
+    public synchronized long getCurrentBytes() {
+        return currentBytes;
+    }
+
+    private void evictIfNecessary() {
+        Iterator<Map.Entry<String, CachedImage>> iterator = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && iterator.hasNext()) {
+            CachedImage eldest = iterator.next().getValue();
+            iterator.remove();
+            currentBytes -= eldest.contentLength;
+        }
+    }
+
+    private CachedImage load(Resource resource, long lastModified, long size) throws IOException {
+        ByteBuffer buffer = offHeap ? ByteBuffer.allocateDirect((int) size) : ByteBuffer.allocate((int) size);
+        // 파일은 FileChannel, jar 내부 리소스는 스트림 채널로 읽음
+        try (ReadableByteChannel channel = resource.readableChannel()) {
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // 파일 끝까지 읽기
+            }
+        }
+        buffer.flip();
+
+        String eTag = "\"" + sha256Hex(buffer.duplicate()) + "\"";
+        log.debug("보안 이미지 캐시 로딩: {} ({} bytes)", resource.getDescription(), buffer.remaining());
+        return new CachedImage(resource.getFilename(), buffer, buffer.remaining(), lastModified, eTag);
+    }
+
+    /**
+     * 캐시 키 (파일은 정규화한 경로, jar 내부 리소스는 URL)
+     */
+    private static String keyOf(Resource resource) throws IOException {
+        return resource.isFile() ? resource.getFile().toPath().toAbsolutePath().normalize().toString() : resource.getURL().toString();
+    }
+
+    private static String sha256Hex(Resource resource) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(resource.getInputStream(), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sha256Hex(ByteBuffer buffer) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(buffer);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 캐시하지 않는 파일의 ETag와 계산 당시 수정 시간/크기
+     */
+    private static final class FileETag {
+
+        private final long lastModified;
+        private final long contentLength;
+        private final String eTag;
+
+        private FileETag(long lastModified, long contentLength, String eTag) {
+            this.lastModified = lastModified;
+            this.contentLength = contentLength;
+            this.eTag = eTag;
+        }
+    }
+
+    /**
+     * 캐시된 이미지 데이터
+     */
+    public static final class CachedImage {
+
+        private final String fileName;
+        private final ByteBuffer data;
+        private final long contentLength;
+        private final long lastModified;
+        private final String eTag;
+
+        private CachedImage(String fileName, ByteBuffer data, long contentLength, long lastModified, String eTag) {
+            this.fileName = fileName;
+            this.data = data;
+            this.contentLength = contentLength;
+            this.lastModified = lastModified;
+            this.eTag = eTag;
+        }
+
+        public Resource toResource() {
+            return new ByteBufferResource(data, fileName);
+        }
+
+        public long getContentLength() {
+            return contentLength;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        /**
+         * If-None-Match 헤더 값과 ETag 일치 여부 확인
+         */
+        public boolean matches(String ifNoneMatch) {
+            return SecureImageCache.matchesETag(ifNoneMatch, eTag);
+        }
+    }
+
+    /**
+     * 문자열 내용의 SHA-256 강한 ETag (여러 ETag를 묶은 집계 응답용)
+     */
+    public static String strongETag(CharSequence content) {
+        return "\"" + sha256Hex(StandardCharsets.UTF_8.encode(CharBuffer.wrap(content))) + "\"";
+    }
+
+    /**
+     * If-None-Match 헤더 값(목록, 약한 ETag, * 포함)이 주어진 ETag와 일치하는지 확인
+     */
+    public static boolean matchesETag(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,224 @@
+package com.kone.kitms.service;
+
+import com.kone.kitms.security.FileSecurityValidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * KITMS 단일 패스 업로드 저장 서비스
+ *
+ * 이 클래스는 업로드 스트림을 한 번만 읽으면서 검증, 해시 계산, 저장을 함께 처리합니다:
+ * - 파일명/확장자 검증은 스트림을 열기 전에 수행
+ * - 처음 읽은 바이트로 파일 시그니처 검증 (스트림을 다시 열지 않음)
+ * - 읽은 크기가 최대 크기를 넘으면 즉시 중단
+ * - SHA-256은 AttachmentStore가 임시 저장하면서 함께 계산
+ * - 임시 저장 후 키로 게시 (검증 실패/오류 시 저장소에 아무것도 남지 않음)
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Service
+public class SecureUploadWriter {
+
+    public static final String UPLOAD_METER_NAME = "attach.upload";
+
+    // 제한 없음
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    private final FileSecurityValidator fileSecurityValidator;
+
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+
+    public SecureUploadWriter(FileSecurityValidator fileSecurityValidator, MeterRegistry registry) {
+        this.fileSecurityValidator = fileSecurityValidator;
+        this.acceptedCounter = Counter.builder(UPLOAD_METER_NAME + ".writes").tag("result", "accepted").register(registry);
+        this.rejectedCounter = Counter.builder(UPLOAD_METER_NAME + ".writes").tag("result", "rejected").register(registry);
+    }
+
+    /**
+     * 이미지 파일 검증 후 저장
+     *
+     * @param file 업로드 파일
+     * @param store 저장소
+     * @param key 저장 키 (UUID + 확장자)
+     * @param maxSize 최대 크기 (바이트)
+     * @return 저장된 파일 정보
+     * @throws RejectedUploadException 검증 실패 (저장된 파일 없음)
+     */
+    public WrittenFile writeImage(MultipartFile file, AttachmentStore store, String key, long maxSize) throws IOException {
+        String filename = file.getOriginalFilename();
+        return write(file, filename, store, key, maxSize, fileSecurityValidator.validateImageFile(filename, null));
+    }
+
+    /**
+     * 일반 파일 검증 후 저장
+     *
+     * @param file 업로드 파일
+     * @param store 저장소
+     * @param key 저장 키 (UUID + 확장자)
+     * @param maxSize 최대 크기 (바이트)
+     * @return 저장된 파일 정보
+     * @throws RejectedUploadException 검증 실패 (저장된 파일 없음)
+     */
+    public WrittenFile writeDocument(MultipartFile file, AttachmentStore store, String key, long maxSize) throws IOException {
+        String filename = file.getOriginalFilename();
+        return write(file, filename, store, key, maxSize, fileSecurityValidator.validateDocumentFile(filename, null));
+    }
+
+    private WrittenFile write(
+        MultipartFile file,
+        String filename,
+        AttachmentStore store,
+        String key,
+        long maxSize,
+        FileSecurityValidator.ValidationResult nameResult
+    ) throws IOException {
+        // 파일명/확장자 검증 (스트림 열기 전)
+        reject(nameResult);
+
+        AttachmentStore.StagedObject staged;
+        try (InputStream in = new ValidatingInputStream(file.getInputStream(), filename, maxSize)) {
+            staged = store.stage(in);
+        }
+        if (!store.publish(staged, key)) {
+            throw new IOException("이미 존재하는 첨부파일 키: " + key);
+        }
+        acceptedCounter.increment();
+        return new WrittenFile(key, store.location(key), store.localPath(key).orElse(null), staged.getSize(), staged.getSha256());
+    }
+
+    private void reject(FileSecurityValidator.ValidationResult result) {
+        if (!result.isValid()) {
+            rejectedCounter.increment();
+            throw new RejectedUploadException(result.getErrorMessage());
+        }
+    }
+
+    /**
+     * 읽으면서 크기 제한과 파일 시그니처를 확인하는 스트림 (위반 시 RejectedUploadException)
+     */
+    private final class ValidatingInputStream extends FilterInputStream {
+
+        private final String filename;
+        private final long maxSize;
+        private final byte[] header;
+        private int headerFilled;
+        private boolean signatureChecked;
+        private long size;
+
+        private ValidatingInputStream(InputStream in, String filename, long maxSize) {
+            super(in);
+            this.filename = filename;
+            this.maxSize = maxSize;
+            this.header = new byte[fileSecurityValidator.getSignatureLength(filename)];
+            this.signatureChecked = header.length == 0;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read == -1) {
+                if (!signatureChecked) {
+                    // 시그니처보다 짧은 파일
+                    signatureChecked = true;
+                    reject(fileSecurityValidator.validateSignature(filename, Arrays.copyOf(header, headerFilled)));
+                }
+                return read;
+            }
+            size += read;
+            if (size > maxSize) {
+                reject(FileSecurityValidator.ValidationResult.failure("파일 크기가 허용된 최대 크기를 초과했습니다."));
+            }
+            if (!signatureChecked) {
+                int copy = Math.min(read, header.length - headerFilled);
+                System.arraycopy(buffer, offset, header, headerFilled, copy);
+                headerFilled += copy;
+                if (headerFilled == header.length) {
+                    // 시그니처가 맞지 않으면 나머지는 읽지 않고 중단
+                    signatureChecked = true;
+                    reject(fileSecurityValidator.validateSignature(filename, header));
+                }
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            // 검증을 건너뛰지 않도록 skip 미지원
+            return 0;
+        }
+    }
+
+    /**
+     * 저장된 업로드 파일 정보
+     */
+    public static final class WrittenFile {
+
+        private final String key;
+        private final String location;
+        private final Path path;
+        private final long size;
+        private final String sha256;
+
+        private WrittenFile(String key, String location, Path path, long size, String sha256) {
+            this.key = key;
+            this.location = location;
+            this.path = path;
+            this.size = size;
+            this.sha256 = sha256;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * 저장소 루트 기준 상대 위치 (예: ab/cd/key)
+         */
+        public String getLocation() {
+            return location;
+        }
+
+        /**
+         * 로컬 파일 경로 (로컬 저장소가 아니면 null)
+         */
+        public Path getPath() {
+            return path;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public String getSha256() {
+            return sha256;
+        }
+    }
+
+    /**
+     * 업로드 검증 실패 (메시지는 사용자에게 그대로 반환)
+     */
+    public static class RejectedUploadException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public RejectedUploadException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.kone.kitms.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * KITMS 서명 기반(무상태) 이미지 토큰 저장소
+ *
+ * 이 클래스는 서버 메모리에 토큰을 저장하지 않는 {@link ImageTokenStore} 구현체입니다:
+ * - 토큰 = base64url(파일 경로) + "." + 만료 시각(36진수 초) + "." + base64url(HMAC-SHA256)
+ * - 어느 서버 노드에서 발급한 토큰이든 같은 비밀키를 가진 노드면 검증 가능 (sticky session 불필요)
+ * - 세션 토큰도 서명 토큰으로 발급하여 노드 간 세션 공유 없이 검증
+ * - 만료 시각을 발급 구간(window) 단위로 맞춰 같은 구간에는 같은 토큰 발급 (브라우저 캐시 유지)
+ *
+ * 세션ID:파일명 형식의 키는 파일명만 서명하므로 세션ID가 URL에 노출되지 않습니다.
+ * 서버 시작 시 스캔된 고정 키 목록만 보관하며(이미지 파일 수만큼), 요청마다 증가하는 상태는 없습니다.
+ * (secure-image.token.mode=signed)
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+@ConditionalOnProperty(name = "secure-image.token.mode", havingValue = "signed")
+public class SignedImageTokenStore implements ImageTokenStore {
+
+    public static final String INVALID_SIGNATURE_METER_NAME = "secure.image.tokens.invalid";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String TOKEN_SEPARATOR = ".";
+    private static final String SESSION_TOKEN_SUBJECT = "session";
+
+    // 토큰 종류 (서명 대상에 포함하여 이미지 토큰과 세션 토큰을 서로 바꿔 쓸 수 없도록 함)
+    private static final String IMAGE_TOKEN_TYPE = "image";
+    private static final String SESSION_TOKEN_TYPE = "session";
+
+    private static final Base64.Encoder BASE64_URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+
+    // 서명 비밀키 (Base64, 기본: JWT 비밀키)
+    @Value("${secure-image.token.secret:${jhipster.security.authentication.jwt.base64-secret}}")
+    private String secret;
+
+    // 개별 이미지 토큰 만료 시간 (기본 2시간)
+    @Value("${secure-image.token.image-expiry-ms:7200000}")
+    private long imageTokenExpiryTime = 2 * 60 * 60 * 1000;
+
+    // 세션 토큰 만료 시간 (기본 2시간)
+    @Value("${secure-image.token.session-expiry-ms:7200000}")
+    private long sessionTokenExpiryTime = 2 * 60 * 60 * 1000;
+
+    // 만료 후 재발급 리다이렉트를 허용하는 유예 시간
+    @Value("${secure-image.token.eviction-grace-ms:600000}")
+    private long evictionGraceTime = 10 * 60 * 1000;
+
+    // 토큰 발급 구간 (같은 구간에 발급된 토큰은 동일)
+    @Value("${secure-image.token.signed-window-ms:600000}")
+    private long signingWindow = 10 * 60 * 1000;
+
+    // 서버 시작 시 스캔된 고정 키 (세션 범위 키는 보관하지 않음)
+    private final Set<String> pinnedKeys = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong pinnedKeyChanges = new AtomicLong();
+
+    private final Counter invalidSignatureCounter;
+
+    private Mac macPrototype;
+
+    public SignedImageTokenStore(MeterRegistry registry) {
+        this.invalidSignatureCounter = Counter
+            .builder(INVALID_SIGNATURE_METER_NAME)
+            .description("Number of secure image tokens rejected because of an invalid signature.")
+            .register(registry);
+    }
+
+    @PostConstruct
+    public void init() throws NoSuchAlgorithmException, InvalidKeyException {
+        byte[] keyBytes = Base64.getDecoder().decode(secret);
+        macPrototype = Mac.getInstance(HMAC_ALGORITHM);
+        macPrototype.init(new SecretKeySpec(keyBytes, HMAC_ALGORITHM));
+    }
+
+    @Override
+    public String getOrIssueImageToken(String key) {
+        if (!isSessionScoped(key) && pinnedKeys.add(key)) {
+            pinnedKeyChanges.incrementAndGet();
+        }
+        return sign(IMAGE_TOKEN_TYPE, fileNameOf(key), windowExpiry(imageTokenExpiryTime));
+    }
+
+    @Override
+    public String reissueImageToken(String key) {
+        return getOrIssueImageToken(key);
+    }
+
+    @Override
+    public String findTokenByKey(String key) {
+        return sign(IMAGE_TOKEN_TYPE, fileNameOf(key), windowExpiry(imageTokenExpiryTime));
+    }
+
+    /**
+     * 토큰 서명 검증 후 파일 경로 반환 (만료 후 유예 시간까지는 재발급을 위해 반환)
+     */
+    @Override
+    public String findKeyByToken(String token) {
+        SignedToken signedToken = verify(IMAGE_TOKEN_TYPE, token);
+        if (signedToken == null || signedToken.expiresAt + evictionGraceTime < System.currentTimeMillis()) {
+            return null;
+        }
+        return signedToken.subject;
+    }
+
+    @Override
+    public boolean isImageTokenExpired(String token) {
+        SignedToken signedToken = verify(IMAGE_TOKEN_TYPE, token);
+        return signedToken == null || signedToken.expiresAt < System.currentTimeMillis();
+    }
+
+    /**
+     * 서명 토큰 모드에서는 세션 토큰을 서버에 저장하지 않음
+     */
+    @Override
+    public void putSessionToken(String sessionId, String sessionToken) {
+        // 무상태: 저장하지 않음
+    }
+
+    @Override
+    public String issueSessionToken(String sessionId) {
+        return sign(SESSION_TOKEN_TYPE, SESSION_TOKEN_SUBJECT, System.currentTimeMillis() + sessionTokenExpiryTime);
+    }
+
+    /**
+     * 서버에 저장된 세션 정보가 없으므로 클라이언트 세션 토큰 없이는 항상 유효하지 않음
+     */
+    @Override
+    public boolean isSessionTokenValid(String sessionId) {
+        return false;
+    }
+
+    @Override
+    public boolean isSessionTokenValid(String sessionId, String sessionToken) {
+        SignedToken signedToken = verify(SESSION_TOKEN_TYPE, sessionToken);
+        return (
+            signedToken != null &&
+            SESSION_TOKEN_SUBJECT.equals(signedToken.subject) &&
+            signedToken.expiresAt >= System.currentTimeMillis()
+        );
+    }
+
+    @Override
+    public Map<String, String> getImageTokens() {
+        long expiresAt = windowExpiry(imageTokenExpiryTime);
+        Map<String, String> snapshot = new HashMap<>();
+        for (String key : pinnedKeys) {
+            snapshot.put(key, sign(IMAGE_TOKEN_TYPE, key, expiresAt));
+        }
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    @Override
+    public void clearImageTokens() {
+        pinnedKeys.clear();
+        pinnedKeyChanges.incrementAndGet();
+    }
+
+    /**
+     * 고정 키 변경 횟수 + 발급 구간 번호 (구간이 바뀌면 발급 토큰도 바뀜)
+     */
+    @Override
+    public long getGeneration() {
+        return pinnedKeyChanges.get() + System.currentTimeMillis() / signingWindow;
+    }
+
+    @Override
+    public int getImageTokenCount() {
+        return pinnedKeys.size();
+    }
+
+    @Override
+    public int getSessionTokenCount() {
+        return 0;
+    }
+
+    /**
+     * 서버에 저장된 만료 토큰이 없으므로 정리 대상 없음
+     */
+    @Override
+    public int evictExpired() {
+        return 0;
+    }
+
+    /**
+     * 현재 발급 구간 종료 시각 + 만료 시간 (같은 구간 내에서는 동일한 값)
+     */
+    private long windowExpiry(long expiryTime) {
+        long windowEnd = (System.currentTimeMillis() / signingWindow + 1) * signingWindow;
+        return windowEnd + expiryTime;
+    }
+
+    private String sign(String type, String subject, long expiresAt) {
+        String payload =
+            BASE64_URL_ENCODER.encodeToString(subject.getBytes(StandardCharsets.UTF_8)) +
+            TOKEN_SEPARATOR +
+            Long.toString(expiresAt / 1000, 36);
+        return payload + TOKEN_SEPARATOR + BASE64_URL_ENCODER.encodeToString(hmac(type, payload));
+    }
+
+    /**
+     * 토큰 서명 검증 (만료 여부는 확인하지 않음)
+     *
+     * @return 검증된 토큰 정보, 형식 오류 또는 서명 불일치 시 null
+     */
+    private SignedToken verify(String type, String token) {
+        if (token == null) {
+            return null;
+        }
+        int signatureSeparator = token.lastIndexOf(TOKEN_SEPARATOR);
+        int expirySeparator = signatureSeparator > 0 ? token.lastIndexOf(TOKEN_SEPARATOR, signatureSeparator - 1) : -1;
+        if (expirySeparator <= 0) {
+            return null;
+        }
+        try {
+            String payload = token.substring(0, signatureSeparator);
+            byte[] signature = BASE64_URL_DECODER.decode(token.substring(signatureSeparator + 1));
+            if (!MessageDigest.isEqual(hmac(type, payload), signature)) {
+                invalidSignatureCounter.increment();
+                return null;
+            }
+            String subject = new String(BASE64_URL_DECODER.decode(token.substring(0, expirySeparator)), StandardCharsets.UTF_8);
+            long expiresAt = Long.parseLong(token.substring(expirySeparator + 1, signatureSeparator), 36) * 1000;
+            return new SignedToken(subject, expiresAt);
+        } catch (IllegalArgumentException e) {
+            // Base64 / 숫자 형식 오류
+            return null;
+        }
+    }
+
+    private byte[] hmac(String type, String payload) {
+        try {
+            Mac mac = (Mac) macPrototype.clone();
+            mac.update((type + SESSION_KEY_SEPARATOR).getBytes(StandardCharsets.UTF_8));
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean isSessionScoped(String key) {
+        return key.contains(SESSION_KEY_SEPARATOR);
+    }
+
+    /**
+     * 세션ID:파일명 형식의 키에서 파일명만 추출
+     */
+    private static String fileNameOf(String key) {
+        return isSessionScoped(key) ? key.substring(key.indexOf(SESSION_KEY_SEPARATOR) + 1) : key;
+    }
+
+    /**
+     * 검증된 토큰 정보
+     */
+    private static final class SignedToken {
+
+        private final String subject;
+        private final long expiresAt;
+
+        private SignedToken(String subject, long expiresAt) {
+            this.subject = subject;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
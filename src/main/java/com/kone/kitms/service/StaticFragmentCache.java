@@ -0,0 +1,204 @@
+package com.kone.kitms.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import tech.jhipster.config.JHipsterConstants;
+
+/**
+ * KITMS 정적 HTML/JS 조각(fragment) 캐시
+ *
+ * 이 클래스는 헤더/푸터/공지사항 섹션처럼 모든 공개 페이지가 요청하는 조각 파일을 메모리에 보관합니다:
+ * - 후보 경로를 순서대로 확인하여 처음 찾은 파일을 한 번만 읽어 캐시
+ * - 원본 바이트와 미리 압축한 gzip 바이트를 함께 보관 (요청마다 압축하지 않음)
+ * - 내용 기반 강한 ETag(SHA-256) 생성 (gzip 본문은 인코딩이 다르므로 "-gz"를 붙인 별도 ETag)
+ * - 개발(dev) 프로파일에서만 파일 수정 시간을 확인하여 변경 시 다시 로딩
+ * - 어느 경로에도 없는 조각도 기억하여 요청마다 후보 경로를 다시 확인하지 않음 (dev 프로파일 제외)
+ *
+ * 캐시된 조각은 불변 객체이므로 요청 처리 시 복사 없이 그대로 응답에 사용합니다.
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Component
+public class StaticFragmentCache {
+
+    private static final Logger log = LoggerFactory.getLogger(StaticFragmentCache.class);
+
+    // gzip 표현 ETag 접미사 (따옴표 안에 붙임)
+    private static final String GZIP_ETAG_SUFFIX = "-gz";
+
+    private final ResourceLoader resourceLoader;
+
+    private final boolean reloadOnChange;
+
+    // 후보 경로 목록 -> 캐시된 조각
+    private final Map<List<String>, Fragment> fragments = new ConcurrentHashMap<>();
+
+    // 어느 후보 경로에도 파일이 없는 후보 경로 목록
+    private final Set<List<String>> missing = ConcurrentHashMap.newKeySet();
+
+    public StaticFragmentCache(ResourceLoader resourceLoader, Environment env) {
+        this.resourceLoader = resourceLoader;
+        this.reloadOnChange = env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT));
+    }
+
+    /**
+     * 후보 경로 중 처음 존재하는 파일의 캐시 조각 조회
+     *
+     * @param locations 리소스 경로 목록 (예: "classpath:static/header.html", "file:src/main/webapp/header.html")
+     * @return 캐시 조각, 어느 경로에도 파일이 없으면 null
+     */
+    public Fragment get(String... locations) throws IOException {
+        List<String> key = List.of(locations);
+        Fragment cached = fragments.get(key);
+        if (cached != null && (!reloadOnChange || !cached.isModified())) {
+            return cached;
+        }
+        if (!reloadOnChange && missing.contains(key)) {
+            return null;
+        }
+
+        Fragment loaded = load(locations);
+        if (loaded == null) {
+            fragments.remove(key);
+            missing.add(key);
+            return null;
+        }
+        missing.remove(key);
+        fragments.put(key, loaded);
+        return loaded;
+    }
+
+    /**
+     * 캐시 전체 비우기
+     */
+    public void clear() {
+        fragments.clear();
+        missing.clear();
+    }
+
+    private Fragment load(String[] locations) throws IOException {
+        for (String location : locations) {
+            Resource resource = resourceLoader.getResource(location);
+            if (!resource.exists()) {
+                continue;
+            }
+            long lastModified = lastModifiedOf(resource);
+            byte[] content;
+            try (InputStream in = resource.getInputStream()) {
+                content = in.readAllBytes();
+            }
+            byte[] gzipped = gzip(content);
+            log.debug("정적 조각 캐시 로딩: {} ({} bytes, gzip {} bytes)", location, content.length, gzipped.length);
+            return new Fragment(
+                resource,
+                content,
+                // 압축 효과가 없으면 gzip 변형을 보관하지 않음
+                gzipped.length < content.length ? gzipped : null,
+                sha256Hex(content),
+                lastModified
+            );
+        }
+        return null;
+    }
+
+    private static long lastModifiedOf(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            // jar 내부 등 수정 시간을 알 수 없는 경우
+            return 0L;
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256Hex(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 캐시된 조각 데이터 (불변)
+     */
+    public static final class Fragment {
+
+        private final Resource resource;
+        private final byte[] content;
+        private final byte[] gzipContent;
+        private final String eTag;
+        private final String gzipETag;
+        private final long lastModified;
+
+        private Fragment(Resource resource, byte[] content, byte[] gzipContent, String contentHash, long lastModified) {
+            this.resource = resource;
+            this.content = content;
+            this.gzipContent = gzipContent;
+            this.eTag = "\"" + contentHash + "\"";
+            this.gzipETag = "\"" + contentHash + GZIP_ETAG_SUFFIX + "\"";
+            this.lastModified = lastModified;
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+
+        /**
+         * gzip 압축 데이터, 압축 효과가 없는 경우 null
+         */
+        public byte[] getGzipContent() {
+            return gzipContent;
+        }
+
+        /**
+         * 원본(identity) 표현의 ETag
+         */
+        public String getETag() {
+            return eTag;
+        }
+
+        /**
+         * gzip 표현의 ETag (같은 내용이라도 인코딩이 다르면 다른 표현이므로 별도 값)
+         */
+        public String getGzipETag() {
+            return gzipETag;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * 원본 파일이 로딩 이후 변경되었거나 삭제되었는지 확인
+         */
+        private boolean isModified() {
+            return !resource.exists() || lastModifiedOf(resource) != lastModified;
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package com.kone.kitms.service;
+
+import com.kone.kitms.repository.KitmsNewsroomRepository;
+import com.kone.kitms.repository.KitmsNoticeRepository;
+import com.kone.kitms.repository.KitmsUserRepository;
+import com.kone.kitms.service.dto.SuggestionDTO;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * KITMS 제목 자동완성 서비스
+ *
+ * 이 클래스는 관리자 화면 검색창의 입력 중 자동완성을 메모리에서 처리합니다:
+ * - 공지사항 제목, 활성 보도자료 제목, 사용자 이름을 유형별 압축 트라이(radix trie)에 보관
+ * - 제목 전체와 각 단어 시작 위치를 키로 넣어 "점검"으로 "2024년 정기 점검 안내"도 찾음
+ * - 대소문자/연속 공백 구분 없이 앞부분 일치, 조회 시 DB를 사용하지 않음
+ * - 애플리케이션 시작 후 DB에서 번호/제목만 읽어 구성
+ * - 변경 이벤트(공지사항/보도자료/사용자)를 커밋 후 받아 해당 항목만 갱신
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@Service
+public class TitleSuggestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TitleSuggestionService.class);
+
+    public static final String TYPE_NOTICE = "notice";
+    public static final String TYPE_NEWSROOM = "newsroom";
+    public static final String TYPE_USER = "user";
+
+    // 키 최대 길이 (긴 제목의 뒷부분까지 넣지 않도록 메모리 제한, 입력이 더 길면 잘라서 조회)
+    @Value("${suggest.max-key-length:40}")
+    private int maxKeyLength = 40;
+
+    private final Map<String, SuggestionDictionary> dictionaries = new HashMap<>();
+
+    public TitleSuggestionService(
+        KitmsNoticeRepository kitmsNoticeRepository,
+        KitmsNewsroomRepository kitmsNewsroomRepository,
+        KitmsUserRepository kitmsUserRepository
+    ) {
+        dictionaries.put(
+            TYPE_NOTICE,
+            new SuggestionDictionary(
+                TYPE_NOTICE,
+                kitmsNoticeRepository::findAllNoticeTitles,
+                kitmsNoticeRepository::findNoticeTitleByNoticeNo
+            )
+        );
+        dictionaries.put(
+            TYPE_NEWSROOM,
+            new SuggestionDictionary(
+                TYPE_NEWSROOM,
+                kitmsNewsroomRepository::findActiveNewsroomTitles,
+                kitmsNewsroomRepository::findActiveNewsroomTitle
+            )
+        );
+        dictionaries.put(
+            TYPE_USER,
+            new SuggestionDictionary(TYPE_USER, kitmsUserRepository::findAllUserNames, kitmsUserRepository::findUserNameByUserNo)
+        );
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNoticeChanged(KitmsNoticeChangedEvent event) {
+        refresh(TYPE_NOTICE, event.getNoticeNo());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNewsroomChanged(KitmsNewsroomChangedEvent event) {
+        refresh(TYPE_NEWSROOM, event.getNewsroomNo());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(KitmsUserChangedEvent event) {
+        refresh(TYPE_USER, event.getUserNo());
+    }
+
+    /**
+     * 항목 하나를 DB 기준으로 갱신 (번호를 모르면 해당 유형 전체 재구성)
+     */
+    private void refresh(String type, Long id) {
+        SuggestionDictionary dictionary = dictionaries.get(type);
+        try {
+            if (id != null) {
+                dictionary.refresh(id);
+            } else {
+                dictionary.rebuild();
+            }
+        } catch (RuntimeException e) {
+            // 자동완성 갱신 실패가 저장 요청을 실패시키지 않도록 기록만 함
+            log.error("자동완성 갱신 실패: {}:{}", type, id, e);
+        }
+    }
+
+    /**
+     * DB에서 전체 자동완성 사전 재구성
+     *
+     * @return 유형별 항목 수
+     */
+    public Map<String, Integer> rebuild() {
+        Map<String, Integer> counts = new TreeMap<>();
+        for (SuggestionDictionary dictionary : dictionaries.values()) {
+            try {
+                counts.put(dictionary.type, dictionary.rebuild());
+            } catch (RuntimeException e) {
+                log.error("자동완성 사전 구성 실패: {}", dictionary.type, e);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * 입력 중인 검색어로 시작하는 제목/이름 조회
+     *
+     * @param queryText 입력 중인 검색어
+     * @param type 유형 (notice, newsroom, user), 없으면 전체
+     * @param limit 최대 개수
+     */
+    public List<SuggestionDTO> suggest(String queryText, String type, int limit) {
+        String prefix = normalize(queryText);
+        if (prefix.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (prefix.length() > maxKeyLength) {
+            prefix = prefix.substring(0, maxKeyLength);
+        }
+
+        List<SuggestionDTO> result = new ArrayList<>();
+        if (type != null && !type.isBlank()) {
+            SuggestionDictionary dictionary = dictionaries.get(type.trim().toLowerCase(Locale.ROOT));
+            if (dictionary != null) {
+                dictionary.collect(prefix, limit, result);
+            }
+            return result;
+        }
+        for (String each : List.of(TYPE_NOTICE, TYPE_NEWSROOM, TYPE_USER)) {
+            dictionaries.get(each).collect(prefix, limit - result.size(), result);
+            if (result.size() >= limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 소문자, 연속 공백을 하나로 (전각/반각 차이는 그대로)
+     */
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 제목 전체와 각 단어 시작 위치부터의 키 (최대 길이로 자름)
+     */
+    private Set<String> keysOf(String text) {
+        Set<String> keys = new LinkedHashSet<>();
+        String normalized = normalize(text);
+        for (int i = 0; i < normalized.length(); i++) {
+            if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                String key = normalized.substring(i, Math.min(normalized.length(), i + maxKeyLength));
+                if (!key.isBlank()) {
+                    keys.add(key.trim());
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 유형 하나의 자동완성 사전 (트라이 + 번호별 원래 제목)
+     */
+    private final class SuggestionDictionary {
+
+        private final String type;
+
+        private final Supplier<List<Object[]>> allLoader;
+
+        private final Function<Long, Optional<String>> oneLoader;
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        // 재구성은 한 번에 하나씩
+        private final Object rebuildLock = new Object();
+
+        // 아래 필드는 lock으로 보호
+        private RadixTrie trie = new RadixTrie();
+
+        private Map<Long, String> texts = new HashMap<>();
+
+        // 재구성 중 갱신된 번호 (재구성 결과에 빠졌을 수 있으므로 교체 후 다시 갱신)
+        private Set<Long> changedDuringRebuild;
+
+        private SuggestionDictionary(String type, Supplier<List<Object[]>> allLoader, Function<Long, Optional<String>> oneLoader) {
+            this.type = type;
+            this.allLoader = allLoader;
+            this.oneLoader = oneLoader;
+        }
+
+        private int rebuild() {
+            synchronized (rebuildLock) {
+                long started = System.currentTimeMillis();
+                lock.writeLock().lock();
+                try {
+                    changedDuringRebuild = new HashSet<>();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+
+                // DB 조회와 트라이 구성은 잠금 밖에서 (그동안 기존 사전으로 응답)
+                RadixTrie newTrie = new RadixTrie();
+                Map<Long, String> newTexts = new HashMap<>();
+                try {
+                    for (Object[] row : allLoader.get()) {
+                        Long id = ((Number) row[0]).longValue();
+                        String text = (String) row[1];
+                        if (text != null && !text.isBlank()) {
+                            newTexts.put(id, text);
+                            for (String key : keysOf(text)) {
+                                newTrie.add(key, id);
+                            }
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    lock.writeLock().lock();
+                    try {
+                        changedDuringRebuild = null;
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                    throw e;
+                }
+
+                Set<Long> changed;
+                lock.writeLock().lock();
+                try {
+                    trie = newTrie;
+                    texts = newTexts;
+                    changed = changedDuringRebuild;
+                    changedDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                changed.forEach(this::refresh);
+                log.info("자동완성 사전 구성 완료: {} {}건 ({}ms)", type, newTexts.size(), System.currentTimeMillis() - started);
+                return newTexts.size();
+            }
+        }
+
+        private void refresh(Long id) {
+            // DB 조회는 잠금 밖에서, 같은 유형의 갱신끼리는 순서대로
+            synchronized (this) {
+                Optional<String> text = oneLoader.apply(id).filter(value -> !value.isBlank());
+                lock.writeLock().lock();
+                try {
+                    if (changedDuringRebuild != null) {
+                        changedDuringRebuild.add(id);
+                    }
+                    String previous = text.isPresent() ? texts.put(id, text.get()) : texts.remove(id);
+                    if (previous != null) {
+                        for (String key : keysOf(previous)) {
+                            trie.remove(key, id);
+                        }
+                    }
+                    if (text.isPresent()) {
+                        for (String key : keysOf(text.get())) {
+                            trie.add(key, id);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+
+        private void collect(String prefix, int limit, List<SuggestionDTO> result) {
+            if (limit <= 0) {
+                return;
+            }
+            lock.readLock().lock();
+            try {
+                for (Long id : trie.find(prefix, limit)) {
+                    result.add(new SuggestionDTO(type, id, texts.get(id)));
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * 압축 트라이 (간선마다 문자열, 자식이 하나뿐인 빈 노드는 합침)
+     *
+     * 스레드 안전하지 않으므로 SuggestionDictionary의 잠금 안에서만 사용합니다.
+     */
+    static final class RadixTrie {
+
+        private final Node root = new Node("");
+
+        void add(String key, Long id) {
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                Node child = node.children.get(key.charAt(i));
+                if (child == null) {
+                    Node leaf = new Node(key.substring(i));
+                    leaf.ids.add(id);
+                    node.children.put(key.charAt(i), leaf);
+                    return;
+                }
+                int common = commonPrefixLength(child.label, key, i);
+                if (common < child.label.length()) {
+                    // 간선 중간에서 갈라지면 공통 부분을 새 노드로 분리
+                    Node middle = new Node(child.label.substring(0, common));
+                    child.label = child.label.substring(common);
+                    middle.children.put(child.label.charAt(0), child);
+                    node.children.put(key.charAt(i), middle);
+                    child = middle;
+                }
+                node = child;
+                i += common;
+            }
+            node.ids.add(id);
+        }
+
+        void remove(String key, Long id) {
+            List<Node> path = new ArrayList<>();
+            Node node = root;
+            int i = 0;
+            path.add(node);
+            while (i < key.length()) {
+                node = node.children.get(key.charAt(i));
+                if (node == null || !key.startsWith(node.label, i)) {
+                    return;
+                }
+                path.add(node);
+                i += node.label.length();
+            }
+            if (!node.ids.remove(id)) {
+                return;
+            }
+
+            // 빈 노드 정리 (아래에서 위로)
+            for (int depth = path.size() - 1; depth > 0; depth--) {
+                Node current = path.get(depth);
+                Node parent = path.get(depth - 1);
+                if (!current.ids.isEmpty()) {
+                    break;
+                }
+                if (current.children.isEmpty()) {
+                    parent.children.remove(current.label.charAt(0));
+                } else if (current.children.size() == 1) {
+                    Node only = current.children.firstEntry().getValue();
+                    current.label = current.label + only.label;
+                    current.ids.addAll(only.ids);
+                    current.children.clear();
+                    current.children.putAll(only.children);
+                    break;
+                } else {
+                    break;
+                }
+            }
+        }
+
+        /**
+         * prefix로 시작하는 키의 번호 (트라이에서 얕은 키 우선, 같은 깊이는 사전순)
+         */
+        Set<Long> find(String prefix, int limit) {
+            Set<Long> found = new LinkedHashSet<>();
+            Node node = root;
+            int i = 0;
+            while (i < prefix.length()) {
+                node = node.children.get(prefix.charAt(i));
+                if (node == null) {
+                    return found;
+                }
+                int remaining = prefix.length() - i;
+                if (node.label.length() >= remaining) {
+                    // 입력이 간선 중간에서 끝남
+                    if (!node.label.startsWith(prefix.substring(i))) {
+                        return found;
+                    }
+                    break;
+                }
+                if (!prefix.startsWith(node.label, i)) {
+                    return found;
+                }
+                i += node.label.length();
+            }
+
+            // 너비 우선으로 모아 입력과 더 가까운 짧은 키를 먼저
+            List<Node> level = List.of(node);
+            while (!level.isEmpty() && found.size() < limit) {
+                List<Node> next = new ArrayList<>();
+                for (Node each : level) {
+                    for (Long id : each.ids) {
+                        found.add(id);
+                        if (found.size() >= limit) {
+                            return found;
+                        }
+                    }
+                    next.addAll(each.children.values());
+                }
+                level = next;
+            }
+            return found;
+        }
+
+        private static int commonPrefixLength(String label, String key, int offset) {
+            int max = Math.min(label.length(), key.length() - offset);
+            int length = 0;
+            while (length < max && label.charAt(length) == key.charAt(offset + length)) {
+                length++;
+            }
+            return length;
+        }
+
+        private static final class Node {
+
+            private String label;
+
+            private final TreeMap<Character, Node> children = new TreeMap<>();
+
+            private final Set<Long> ids = new LinkedHashSet<>(1);
+
+            private Node(String label) {
+                this.label = label;
+            }
+        }
+    }
+}
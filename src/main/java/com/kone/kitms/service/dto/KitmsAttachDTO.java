@@ -0,0 +1,115 @@
+package com.kone.kitms.service.dto;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+
+/**
+ * KITMS 첨부파일 메타데이터 DTO
+ *
+ * 첨부파일 목록 조회용 프로젝션으로, 파일 바이너리 데이터 없이 메타데이터만 담습니다.
+ * JSON 필드명은 {@link com.kone.kitms.domain.KitmsAttach} 엔티티와 동일합니다.
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+public class KitmsAttachDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long attachNo;
+
+    private String attachTableName;
+
+    private Long attachTablePk;
+
+    private String attachFilePath;
+
+    private String attachFileName;
+
+    private long attachFileSize;
+
+    private ZonedDateTime createDt;
+
+    private String createUserId;
+
+    private Boolean isThumbnail;
+
+    public KitmsAttachDTO(
+        Long attachNo,
+        String attachTableName,
+        Long attachTablePk,
+        String attachFilePath,
+        String attachFileName,
+        long attachFileSize,
+        ZonedDateTime createDt,
+        String createUserId,
+        Boolean isThumbnail
+    ) {
+        this.attachNo = attachNo;
+        this.attachTableName = attachTableName;
+        this.attachTablePk = attachTablePk;
+        this.attachFilePath = attachFilePath;
+        this.attachFileName = attachFileName;
+        this.attachFileSize = attachFileSize;
+        this.createDt = createDt;
+        this.createUserId = createUserId;
+        this.isThumbnail = isThumbnail;
+    }
+
+    public Long getAttachNo() {
+        return attachNo;
+    }
+
+    public String getAttachTableName() {
+        return attachTableName;
+    }
+
+    public Long getAttachTablePk() {
+        return attachTablePk;
+    }
+
+    public String getAttachFilePath() {
+        return attachFilePath;
+    }
+
+    public String getAttachFileName() {
+        return attachFileName;
+    }
+
+    public long getAttachFileSize() {
+        return attachFileSize;
+    }
+
+    public ZonedDateTime getCreateDt() {
+        return createDt;
+    }
+
+    public String getCreateUserId() {
+        return createUserId;
+    }
+
+    public Boolean getIsThumbnail() {
+        return isThumbnail;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "KitmsAttachDTO{" +
+            "attachNo=" +
+            attachNo +
+            ", attachTableName='" +
+            attachTableName +
+            '\'' +
+            ", attachTablePk=" +
+            attachTablePk +
+            ", attachFileName='" +
+            attachFileName +
+            '\'' +
+            ", attachFileSize=" +
+            attachFileSize +
+            '}'
+        );
+    }
+}
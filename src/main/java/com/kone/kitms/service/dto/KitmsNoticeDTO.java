@@ -1,6 +1,5 @@
 package com.kone.kitms.service.dto;
 
-import com.kone.kitms.domain.KitmsAttach;
 import com.kone.kitms.domain.KitmsNotice;
 
 import java.io.Serializable;
@@ -25,7 +24,7 @@ public class KitmsNoticeDTO implements Serializable {
 
     private Boolean staticFlag;
 
-    private List<KitmsAttach> attachList;
+    private List<KitmsAttachDTO> attachList;
 
     public KitmsNoticeDTO(KitmsNotice kitmsNotice, String userName) {
         this.noticeNo = kitmsNotice.getNoticeNo();
@@ -121,11 +120,11 @@ public class KitmsNoticeDTO implements Serializable {
         this.staticFlag = staticFlag;
     }
 
-    public List<KitmsAttach> getAttachList() {
+    public List<KitmsAttachDTO> getAttachList() {
         return attachList;
     }
 
-    public void setAttachList(List<KitmsAttach> attachList) {
+    public void setAttachList(List<KitmsAttachDTO> attachList) {
         this.attachList = attachList;
     }
 }
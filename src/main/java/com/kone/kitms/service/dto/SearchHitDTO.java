@@ -0,0 +1,75 @@
+package com.kone.kitms.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * KITMS 통합 검색 결과 DTO
+ *
+ * 검색 색인에 저장된 필드만으로 구성되며, 결과 표시를 위해 DB를 다시 조회하지 않습니다.
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+public class SearchHitDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // notice, newsroom, cms
+    private String type;
+
+    private String id;
+
+    private String title;
+
+    private String summary;
+
+    private String url;
+
+    private String date;
+
+    private float score;
+
+    public SearchHitDTO(String type, String id, String title, String summary, String url, String date, float score) {
+        this.type = type;
+        this.id = id;
+        this.title = title;
+        this.summary = summary;
+        this.url = url;
+        this.date = date;
+        this.score = score;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchHitDTO{type='" + type + "', id='" + id + "', title='" + title + "', score=" + score + "}";
+    }
+}
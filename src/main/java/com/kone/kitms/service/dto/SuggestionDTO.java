@@ -0,0 +1,47 @@
+package com.kone.kitms.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * KITMS 검색어 자동완성 항목 DTO
+ *
+ * 메모리 자동완성 사전에 보관된 원래 제목/이름으로 구성됩니다.
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+public class SuggestionDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    // notice, newsroom, user
+    private String type;
+
+    private Long id;
+
+    private String text;
+
+    public SuggestionDTO(String type, Long id, String text) {
+        this.type = type;
+        this.id = id;
+        this.text = text;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return "SuggestionDTO{type='" + type + "', id=" + id + ", text='" + text + "'}";
+    }
+}
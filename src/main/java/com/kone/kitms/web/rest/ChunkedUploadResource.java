@@ -0,0 +1,189 @@
+package com.kone.kitms.web.rest;
+
+import com.kone.kitms.service.ChunkedUploadService;
+import com.kone.kitms.service.dto.CustomReturnDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * KITMS 분할 업로드 REST 컨트롤러
+ *
+ * 이 클래스는 큰 첨부파일의 이어받기 가능한 분할 업로드 API를 제공합니다:
+ * - POST   /api/kitms-attaches/uploads : 업로드 세션 생성
+ * - PUT    /api/kitms-attaches/uploads/{uploadId}?offset=N : 조각 전송 (본문: application/octet-stream)
+ * - GET    /api/kitms-attaches/uploads/{uploadId} : 현재 오프셋 조회 (연결이 끊긴 뒤 재개용)
+ * - POST   /api/kitms-attaches/uploads/{uploadId}/complete : 업로드 완료 및 첨부파일 저장
+ * - DELETE /api/kitms-attaches/uploads/{uploadId} : 업로드 취소
+ *
+ * 완료 응답은 /api/kitms-attaches/upload-file 응답과 같은 형식입니다.
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@RestController
+@RequestMapping("/api/kitms-attaches/uploads")
+public class ChunkedUploadResource {
+
+    private final Logger log = LoggerFactory.getLogger(ChunkedUploadResource.class);
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    public ChunkedUploadResource(ChunkedUploadService chunkedUploadService) {
+        this.chunkedUploadService = chunkedUploadService;
+    }
+
+    /**
+     * 업로드 세션 생성
+     *
+     * @param fileName 원본 파일명
+     * @param tableName 첨부 대상 테이블명
+     * @param tablePk 첨부 대상 PK ("temp"이면 DB에 저장하지 않음)
+     * @param fileSize 전체 파일 크기
+     * @return 업로드 ID와 시작 오프셋
+     */
+    @PostMapping("")
+    public ResponseEntity<CustomReturnDTO> createUpload(
+        @RequestParam("fileName") String fileName,
+        @RequestParam("tableName") String tableName,
+        @RequestParam("tablePk") String tablePk,
+        @RequestParam("fileSize") long fileSize
+    ) {
+        try {
+            ChunkedUploadService.UploadSession session = chunkedUploadService.createSession(fileName, tableName, tablePk, fileSize);
+            return ResponseEntity.status(HttpStatus.CREATED).body(sessionResponse(HttpStatus.CREATED, session));
+        } catch (ChunkedUploadService.UploadException e) {
+            return errorResponse(e.getStatus(), e.getMessage());
+        } catch (IOException e) {
+            log.error("분할 업로드 세션 생성 오류", e);
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "업로드 세션 생성 중 오류가 발생했습니다.");
+        }
+    }
+
+    /**
+     * 조각 전송
+     *
+     * 오프셋이 서버의 현재 오프셋과 다르면 409와 함께 현재 오프셋을 반환합니다.
+     *
+     * @param uploadId 업로드 ID
+     * @param offset 조각 시작 위치
+     * @return 조각 추가 후 오프셋
+     */
+    @PutMapping(value = "/{uploadId}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<CustomReturnDTO> uploadChunk(
+        @PathVariable("uploadId") String uploadId,
+        @RequestParam("offset") long offset,
+        HttpServletRequest request
+    ) {
+        try {
+            chunkedUploadService.appendChunk(uploadId, offset, request.getInputStream());
+            return ResponseEntity.ok(sessionResponse(HttpStatus.OK, chunkedUploadService.getSession(uploadId)));
+        } catch (ChunkedUploadService.UploadException e) {
+            if (e.getStatus() == HttpStatus.CONFLICT) {
+                return conflictResponse(uploadId, e.getMessage());
+            }
+            return errorResponse(e.getStatus(), e.getMessage());
+        } catch (IOException e) {
+            log.warn("분할 업로드 조각 수신 중단: {} - {}", uploadId, e.getMessage());
+            return conflictResponse(uploadId, "조각 수신이 중단되었습니다. 현재 오프셋부터 다시 전송하세요.");
+        }
+    }
+
+    /**
+     * 업로드 상태(현재 오프셋) 조회
+     */
+    @GetMapping("/{uploadId}")
+    public ResponseEntity<CustomReturnDTO> getUpload(@PathVariable("uploadId") String uploadId) {
+        try {
+            return ResponseEntity.ok(sessionResponse(HttpStatus.OK, chunkedUploadService.getSession(uploadId)));
+        } catch (ChunkedUploadService.UploadException e) {
+            return errorResponse(e.getStatus(), e.getMessage());
+        }
+    }
+
+    /**
+     * 업로드 완료
+     *
+     * @return 저장된 첨부파일 정보 (/upload-file 응답과 같은 형식)
+     */
+    @PostMapping("/{uploadId}/complete")
+    public ResponseEntity<CustomReturnDTO> completeUpload(@PathVariable("uploadId") String uploadId) {
+        try {
+            ChunkedUploadService.CompletedUpload completed = chunkedUploadService.complete(uploadId);
+
+            CustomReturnDTO response = new CustomReturnDTO();
+            response.setStatusCode(200);
+            response.setMessage("파일이 성공적으로 업로드되었습니다.");
+            Map<String, Object> data = new HashMap<>();
+            if (completed.getAttachNo() != null) {
+                data.put("attachNo", completed.getAttachNo());
+                data.put("fileName", completed.getOriginalName());
+            } else {
+                data.put("fileName", completed.getFileName());
+                data.put("originalName", completed.getOriginalName());
+            }
+            data.put("filePath", completed.getFilePath());
+            data.put("fileSize", completed.getFileSize());
+            data.put("jobId", completed.getJobId());
+            response.setData(data);
+            return ResponseEntity.ok(response);
+        } catch (ChunkedUploadService.UploadException e) {
+            if (e.getStatus() == HttpStatus.SERVICE_UNAVAILABLE) {
+                CustomReturnDTO response = new CustomReturnDTO();
+                response.setStatus(e.getStatus());
+                response.setMessage(e.getMessage());
+                return ResponseEntity.status(e.getStatus()).header(HttpHeaders.RETRY_AFTER, "5").body(response);
+            }
+            return errorResponse(e.getStatus(), e.getMessage());
+        } catch (IOException e) {
+            log.error("분할 업로드 완료 처리 오류", e);
+            return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "파일 업로드 중 오류가 발생했습니다.");
+        }
+    }
+
+    /**
+     * 업로드 취소
+     */
+    @DeleteMapping("/{uploadId}")
+    public ResponseEntity<Void> abortUpload(@PathVariable("uploadId") String uploadId) throws IOException {
+        chunkedUploadService.abort(uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static CustomReturnDTO sessionResponse(HttpStatus status, ChunkedUploadService.UploadSession session) {
+        CustomReturnDTO response = new CustomReturnDTO();
+        response.setStatus(status);
+        Map<String, Object> data = new HashMap<>();
+        data.put("uploadId", session.getUploadId());
+        data.put("offset", session.getReceived());
+        data.put("fileSize", session.getFileSize());
+        response.setData(data);
+        return response;
+    }
+
+    private ResponseEntity<CustomReturnDTO> conflictResponse(String uploadId, String message) {
+        try {
+            CustomReturnDTO response = sessionResponse(HttpStatus.CONFLICT, chunkedUploadService.getSession(uploadId));
+            response.setMessage(message);
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (ChunkedUploadService.UploadException e) {
+            return errorResponse(e.getStatus(), e.getMessage());
+        }
+    }
+
+    private static ResponseEntity<CustomReturnDTO> errorResponse(HttpStatus status, String message) {
+        CustomReturnDTO response = new CustomReturnDTO();
+        response.setStatus(status);
+        response.setMessage(message);
+        return ResponseEntity.status(status).body(response);
+    }
+}
@@ -1,8 +1,8 @@
 package com.kone.kitms.web.rest;
 
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
+import com.kone.kitms.service.StaticFragmentCache;
+import com.kone.kitms.web.rest.util.FileResponseUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -28,40 +28,36 @@ import java.nio.charset.StandardCharsets;
 @RequestMapping("/api/footer-section")
 public class FooterSectionResource {
 
+    private final StaticFragmentCache staticFragmentCache;
+
+    public FooterSectionResource(StaticFragmentCache staticFragmentCache) {
+        this.staticFragmentCache = staticFragmentCache;
+    }
+
     /**
      * 푸터 HTML 파일 제공
      * 
      * 웹사이트의 푸터 HTML 파일을 찾아서 제공합니다.
-     * 여러 경로를 순차적으로 확인하여 파일을 찾습니다.
+     * 여러 경로를 순차적으로 확인하여 찾은 파일을 캐시하고, 미리 압축된 gzip 본문과 ETag로 응답합니다.
      * 
      * @return 푸터 HTML 내용과 함께 200 상태코드, 또는 파일을 찾을 수 없는 경우 404 상태코드
      */
     @GetMapping("/html")
-    public ResponseEntity<String> getFooterSectionHtml() {
+    public ResponseEntity<byte[]> getFooterSectionHtml(HttpServletRequest request) {
         try {
-            Resource resource = new ClassPathResource("static/footer.html");
+            // 캐시된 조각 조회 (후보 경로 순서대로 확인)
+            StaticFragmentCache.Fragment fragment = staticFragmentCache.get("classpath:static/footer.html", "classpath:webapp/footer.html");
             
-            if (!resource.exists()) {
-                // webapp 경로에서 찾기
-                resource = new ClassPathResource("webapp/footer.html");
-            }
-            
-            if (!resource.exists()) {
+            if (fragment == null) {
                 return ResponseEntity.notFound().build();
             }
             
-            String htmlContent = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.TEXT_HTML);
-            
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(htmlContent);
+            return FileResponseUtil.fragment(request, fragment, new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8));
                     
         } catch (IOException e) {
             return ResponseEntity.internalServerError()
-                    .body("푸터 섹션을 불러올 수 없습니다: " + e.getMessage());
+                    .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                    .body(("푸터 섹션을 불러올 수 없습니다: " + e.getMessage()).getBytes(StandardCharsets.UTF_8));
         }
     }
 }
@@ -1,16 +1,14 @@
 package com.kone.kitms.web.rest;
 
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
-import org.springframework.http.HttpHeaders;
+import com.kone.kitms.service.StaticFragmentCache;
+import com.kone.kitms.web.rest.util.FileResponseUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 
@@ -30,50 +28,36 @@ import java.nio.charset.StandardCharsets;
 @RequestMapping("/api/header")
 public class HeaderResource {
 
+    private final StaticFragmentCache staticFragmentCache;
+
+    public HeaderResource(StaticFragmentCache staticFragmentCache) {
+        this.staticFragmentCache = staticFragmentCache;
+    }
+
     /**
      * 헤더 HTML 파일 제공
      * 
      * 웹사이트의 헤더 HTML 파일을 찾아서 제공합니다.
-     * 여러 경로를 순차적으로 확인하여 파일을 찾습니다.
+     * 여러 경로를 순차적으로 확인하여 찾은 파일을 캐시하고, 미리 압축된 gzip 본문과 ETag로 응답합니다.
      * 
      * @return 헤더 HTML 내용과 함께 200 상태코드, 또는 파일을 찾을 수 없는 경우 404 상태코드
      */
     @GetMapping("/html")
-    public ResponseEntity<String> getHeaderHtml() {
+    public ResponseEntity<byte[]> getHeaderHtml(HttpServletRequest request) {
         try {
-            Resource resource = null;
+            // 캐시된 조각 조회 (후보 경로 순서대로 확인)
+            StaticFragmentCache.Fragment fragment = staticFragmentCache.get("classpath:webapp/header.html", "classpath:static/header.html", "file:src/main/webapp/header.html");
             
-            // 1. ClassPathResource로 webapp 경로에서 찾기
-            resource = new ClassPathResource("webapp/header.html");
-            if (!resource.exists()) {
-                // 2. ClassPathResource로 static 경로에서 찾기
-                resource = new ClassPathResource("static/header.html");
-            }
-            if (!resource.exists()) {
-                // 3. FileSystemResource로 직접 경로에서 찾기
-                String webappPath = "src/main/webapp/header.html";
-                File file = new File(webappPath);
-                if (file.exists()) {
-                    resource = new FileSystemResource(file);
-                }
-            }
-            
-            if (resource == null || !resource.exists()) {
+            if (fragment == null) {
                 return ResponseEntity.notFound().build();
             }
             
-            String htmlContent = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.TEXT_HTML);
-            
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(htmlContent);
+            return FileResponseUtil.fragment(request, fragment, new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8));
                     
         } catch (IOException e) {
             return ResponseEntity.internalServerError()
-                    .body("헤더를 불러올 수 없습니다: " + e.getMessage());
+                    .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                    .body(("헤더를 불러올 수 없습니다: " + e.getMessage()).getBytes(StandardCharsets.UTF_8));
         }
     }
     
@@ -81,46 +65,26 @@ public class HeaderResource {
      * 헤더 JavaScript 파일 제공
      * 
      * 웹사이트의 헤더 JavaScript 파일을 찾아서 제공합니다.
-     * 여러 경로를 순차적으로 확인하여 파일을 찾습니다.
+     * 여러 경로를 순차적으로 확인하여 찾은 파일을 캐시하고, 미리 압축된 gzip 본문과 ETag로 응답합니다.
      * 
      * @return 헤더 JavaScript 내용과 함께 200 상태코드, 또는 파일을 찾을 수 없는 경우 404 상태코드
      */
     @GetMapping("/script")
-    public ResponseEntity<String> getHeaderScript() {
+    public ResponseEntity<byte[]> getHeaderScript(HttpServletRequest request) {
         try {
-            Resource resource = null;
-            
-            // 1. ClassPathResource로 webapp 경로에서 찾기
-            resource = new ClassPathResource("webapp/header.js");
-            if (!resource.exists()) {
-                // 2. ClassPathResource로 static 경로에서 찾기
-                resource = new ClassPathResource("static/header.js");
-            }
-            if (!resource.exists()) {
-                // 3. FileSystemResource로 직접 경로에서 찾기
-                String webappPath = "src/main/webapp/header.js";
-                File file = new File(webappPath);
-                if (file.exists()) {
-                    resource = new FileSystemResource(file);
-                }
-            }
+            // 캐시된 조각 조회 (후보 경로 순서대로 확인)
+            StaticFragmentCache.Fragment fragment = staticFragmentCache.get("classpath:webapp/header.js", "classpath:static/header.js", "file:src/main/webapp/header.js");
             
-            if (resource == null || !resource.exists()) {
+            if (fragment == null) {
                 return ResponseEntity.notFound().build();
             }
             
-            String scriptContent = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.TEXT_PLAIN);
-            
-            return ResponseEntity.ok()
-                    .headers(headers)
-                    .body(scriptContent);
+            return FileResponseUtil.fragment(request, fragment, new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
                     
         } catch (IOException e) {
             return ResponseEntity.internalServerError()
-                    .body("헤더 JavaScript를 불러올 수 없습니다: " + e.getMessage());
+                    .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                    .body(("헤더 JavaScript를 불러올 수 없습니다: " + e.getMessage()).getBytes(StandardCharsets.UTF_8));
         }
     }
 }
@@ -2,15 +2,28 @@ package com.kone.kitms.web.rest;
 
 import com.kone.kitms.domain.KitmsAttach;
 import com.kone.kitms.repository.KitmsAttachRepository;
-import com.kone.kitms.security.FileSecurityValidator;
+import com.kone.kitms.service.AttachmentProcessingService;
+import com.kone.kitms.service.AttachmentStore;
+import com.kone.kitms.service.AttachmentStoreMigrationService;
+import com.kone.kitms.service.ContentAddressedFileStore;
+import com.kone.kitms.service.DownloadOffloadService;
+import com.kone.kitms.service.FileDeletionQueue;
+import com.kone.kitms.service.ImageFileIndex;
+import com.kone.kitms.service.KitmsAttachChangedEvent;
+import com.kone.kitms.service.SecureUploadWriter;
 import com.kone.kitms.web.rest.errors.BadRequestAlertException;
 import com.kone.kitms.service.dto.CustomReturnDTO;
+import com.kone.kitms.service.dto.KitmsAttachDTO;
+import com.kone.kitms.web.rest.util.FileResponseUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.ZonedDateTime;
@@ -20,11 +33,19 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -62,7 +83,32 @@ public class KitmsAttachResource {
     private String uploadPath;
 
     @Autowired
-    private FileSecurityValidator fileSecurityValidator;
+    private ImageFileIndex imageFileIndex;
+
+    @Autowired
+    private AttachmentProcessingService attachmentProcessingService;
+
+    @Autowired
+    private SecureUploadWriter secureUploadWriter;
+
+    @Autowired
+    private FileDeletionQueue fileDeletionQueue;
+
+    @Autowired
+    private AttachmentStoreMigrationService attachmentStoreMigrationService;
+
+    @Autowired
+    private DownloadOffloadService downloadOffloadService;
+
+    @Autowired
+    @Qualifier("imageAttachmentStore")
+    private AttachmentStore imageAttachmentStore;
+
+    @Autowired
+    private ContentAddressedFileStore contentAddressedFileStore;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
 
     private final KitmsAttachRepository kitmsAttachRepository;
 
@@ -86,6 +132,7 @@ public class KitmsAttachResource {
             throw new BadRequestAlertException("A new kitmsAttach cannot already have an ID", ENTITY_NAME, "idexists");
         }
         KitmsAttach result = kitmsAttachRepository.save(kitmsAttach);
+        publishAttachChanged(result.getAttachTableName(), result.getAttachTablePk());
         return ResponseEntity
             .created(new URI("/api/kitms-attaches/" + result.getAttachNo()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getAttachNo().toString()))
@@ -120,6 +167,8 @@ public class KitmsAttachResource {
         }
 
         KitmsAttach result = kitmsAttachRepository.save(kitmsAttach);
+        // 대상 테이블/PK가 바뀔 수 있으므로 대상 미지정으로 발행
+        publishAttachChanged(null, null);
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, kitmsAttach.getAttachNo().toString()))
@@ -179,6 +228,7 @@ public class KitmsAttachResource {
                 return existingKitmsAttach;
             })
             .map(kitmsAttachRepository::save);
+        publishAttachChanged(null, null);
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -192,9 +242,9 @@ public class KitmsAttachResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of kitmsAttaches in body.
      */
     @GetMapping("")
-    public List<KitmsAttach> getAllKitmsAttaches() {
+    public List<KitmsAttachDTO> getAllKitmsAttaches() {
         log.debug("REST request to get all KitmsAttaches");
-        return kitmsAttachRepository.findAll();
+        return kitmsAttachRepository.findAllAttachDTOs();
     }
 
     /**
@@ -231,42 +281,39 @@ public class KitmsAttachResource {
                 return ResponseEntity.badRequest().body(response);
             }
 
-            // 보안 검증 - 파일 시그니처 및 확장자 검증
-            String originalFilename = file.getOriginalFilename();
-            FileSecurityValidator.ValidationResult validationResult = 
-                fileSecurityValidator.validateImageFile(originalFilename, file.getInputStream());
-            
-            if (!validationResult.isValid()) {
-                log.warn("이미지 파일 보안 검증 실패: {} - {}", originalFilename, validationResult.getErrorMessage());
-                CustomReturnDTO response = new CustomReturnDTO();
-                response.setStatus(HttpStatus.BAD_REQUEST);
-                response.setMessage(validationResult.getErrorMessage());
-                return ResponseEntity.badRequest().body(response);
+            // 후처리 큐가 가득 차면 저장 전에 거절
+            if (!attachmentProcessingService.isAcceptingJobs()) {
+                return processingBusyResponse();
             }
 
-            // 업로드 디렉토리 생성
-            String uploadDirName = noticeNo != null ? "notice_" + noticeNo : "temp";
-            String noticeDir = uploadPath + "/" + uploadDirName;
-            Path uploadDir = Paths.get(noticeDir);
-            if (!Files.exists(uploadDir)) {
-                Files.createDirectories(uploadDir);
-            }
+            String originalFilename = file.getOriginalFilename();
 
-            // 파일명 생성 (UUID + 원본 확장자)
+            // 파일명 생성 (UUID + 원본 확장자, 저장 위치는 첨부파일 저장소가 키 해시로 분산)
             String fileExtension = getFileExtension(originalFilename);
             String fileName = UUID.randomUUID().toString() + fileExtension;
-            Path filePath = uploadDir.resolve(fileName);
 
-            // 파일 저장
-            Files.copy(file.getInputStream(), filePath);
+            // 보안 검증(확장자/시그니처) + 해시 계산 + 저장을 한 번의 읽기로 처리
+            SecureUploadWriter.WrittenFile writtenFile;
+            try {
+                writtenFile = secureUploadWriter.writeImage(file, imageAttachmentStore, fileName, SecureUploadWriter.UNLIMITED);
+            } catch (SecureUploadWriter.RejectedUploadException e) {
+                log.warn("이미지 파일 보안 검증 실패: {} - {}", originalFilename, e.getMessage());
+                CustomReturnDTO response = new CustomReturnDTO();
+                response.setStatus(HttpStatus.BAD_REQUEST);
+                response.setMessage(e.getMessage());
+                return ResponseEntity.badRequest().body(response);
+            }
+            registerFile(writtenFile);
 
-            String fileUrl = "/images/" + uploadDirName + "/" + fileName;
+            String fileUrl = "/images/" + writtenFile.getLocation();
 
             // CKEditor용 응답인지 확인 (noticeNo가 없으면 CKEditor용)
             if (noticeNo == null) {
+                String jobId = submitProcessing(null, writtenFile, originalFilename);
                 // CKEditor는 특별한 JSON 형식을 기대함
                 Map<String, Object> ckResponse = new HashMap<>();
                 ckResponse.put("url", fileUrl);
+                ckResponse.put("jobId", jobId);
                 return ResponseEntity.ok(ckResponse);
             }
 
@@ -276,12 +323,14 @@ public class KitmsAttachResource {
             attach.setAttachTablePk(Long.parseLong(noticeNo));
             attach.setAttachFilePath(fileUrl);
             attach.setAttachFileName(originalFilename);
-            attach.setAttachFileSize(file.getSize());
+            attach.setAttachFileSize(writtenFile.getSize());
             attach.setCreateDt(ZonedDateTime.now());
             attach.setCreateUserId("admin");
             attach.setIsThumbnail(false);
 
             KitmsAttach savedAttach = kitmsAttachRepository.save(attach);
+            publishAttachChanged(savedAttach.getAttachTableName(), savedAttach.getAttachTablePk());
+            String jobId = submitProcessing(savedAttach.getAttachNo(), writtenFile, originalFilename);
 
             CustomReturnDTO response = new CustomReturnDTO();
             response.setStatus(HttpStatus.OK);
@@ -290,10 +339,14 @@ public class KitmsAttachResource {
             data.put("attachNo", savedAttach.getAttachNo());
             data.put("fileName", savedAttach.getAttachFileName());
             data.put("filePath", savedAttach.getAttachFilePath());
+            data.put("jobId", jobId);
             response.setData(data);
 
             return ResponseEntity.ok(response);
 
+        } catch (RejectedExecutionException e) {
+            // 후처리 큐가 가득 차 저장한 업로드를 되돌림
+            return processingBusyResponse();
         } catch (IOException e) {
             log.error("파일 업로드 오류", e);
             CustomReturnDTO response = new CustomReturnDTO();
@@ -312,7 +365,7 @@ public class KitmsAttachResource {
     @GetMapping("/notice/{noticeNo}")
     public ResponseEntity<CustomReturnDTO> getNoticeImages(@PathVariable("noticeNo") Long noticeNo) {
         try {
-            List<KitmsAttach> images = kitmsAttachRepository.findByAttachTableNameAndAttachTablePk("KITMS_NOTICE", noticeNo);
+            List<KitmsAttachDTO> images = kitmsAttachRepository.findAttachDTOsByTable("KITMS_NOTICE", noticeNo);
             
             CustomReturnDTO response = new CustomReturnDTO();
             response.setStatus(HttpStatus.OK);
@@ -352,29 +405,11 @@ public class KitmsAttachResource {
             }
 
             KitmsAttach attach = attachOpt.get();
-            String filePath = attach.getAttachFilePath();
-            
-            // 실제 파일 삭제
-            try {
-                if (filePath != null && !filePath.isEmpty()) {
-                    // 웹 경로를 실제 파일 경로로 변환
-                    String actualFilePath = uploadPath + filePath.replace("/images/", "/");
-                    Path fileToDelete = Paths.get(actualFilePath);
-                    
-                    if (Files.exists(fileToDelete)) {
-                        Files.delete(fileToDelete);
-                        log.info("파일 삭제 완료: {}", actualFilePath);
-                    } else {
-                        log.warn("삭제할 파일이 존재하지 않음: {}", actualFilePath);
-                    }
-                }
-            } catch (IOException e) {
-                log.error("파일 삭제 중 오류 발생: {}", filePath, e);
-                // 파일 삭제 실패해도 DB에서 제거는 진행
-            }
 
-            // 데이터베이스에서 첨부파일 정보 삭제
+            // 데이터베이스에서 첨부파일 정보 삭제, 실제 파일은 커밋 후 삭제 대기열에서 처리
             kitmsAttachRepository.delete(attach);
+            fileDeletionQueue.enqueueAttachFiles(List.of(attach));
+            publishAttachChanged(attach.getAttachTableName(), attach.getAttachTablePk());
             
             CustomReturnDTO response = new CustomReturnDTO();
             response.setStatus(HttpStatus.OK);
@@ -424,6 +459,7 @@ public class KitmsAttachResource {
                 KitmsAttach attach = attachOpt.get();
                 attach.setIsThumbnail(true);
                 kitmsAttachRepository.save(attach);
+                publishAttachChanged("KITMS_NOTICE", noticeNo);
 
                 CustomReturnDTO response = new CustomReturnDTO();
                 response.setStatus(HttpStatus.OK);
@@ -446,6 +482,112 @@ public class KitmsAttachResource {
     }
 
 
+    /**
+     * {@code GET  /kitms-attaches/jobs/{jobId}} : Get upload post-processing status
+     *
+     * @param jobId the job id returned by the upload endpoints
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the job status, or {@code 404 (Not Found)}
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<CustomReturnDTO> getProcessingJob(@PathVariable("jobId") String jobId) {
+        Optional<AttachmentProcessingService.ProcessingJob> job = attachmentProcessingService.getJob(jobId);
+        CustomReturnDTO response = new CustomReturnDTO();
+        if (job.isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND);
+            response.setMessage("후처리 작업을 찾을 수 없습니다.");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        response.setStatus(HttpStatus.OK);
+        response.addColumn("job", job.get());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * {@code POST  /kitms-attaches/store/migrate} : Move existing attachment files into the attachment store layout
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the migration counts, or {@code 409 (Conflict)} if already running
+     */
+    @PostMapping("/store/migrate")
+    public ResponseEntity<CustomReturnDTO> migrateAttachmentStore() {
+        CustomReturnDTO response = new CustomReturnDTO();
+        try {
+            AttachmentStoreMigrationService.MigrationResult result = attachmentStoreMigrationService.migrate();
+            response.setStatus(HttpStatus.OK);
+            response.setMessage("첨부파일 저장소 이전이 완료되었습니다.");
+            response.addColumn("result", result);
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            response.setStatus(HttpStatus.CONFLICT);
+            response.setMessage(e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        } catch (IOException e) {
+            log.error("첨부파일 저장소 이전 오류", e);
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR);
+            response.setMessage("첨부파일 저장소 이전 중 오류가 발생했습니다.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
+    /**
+     * 후처리 큐가 가득 찬 경우의 응답 (잠시 후 재시도)
+     */
+    private ResponseEntity<CustomReturnDTO> processingBusyResponse() {
+        CustomReturnDTO response = new CustomReturnDTO();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        response.setMessage("업로드 처리 대기 중인 파일이 많습니다. 잠시 후 다시 시도해주세요.");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").body(response);
+    }
+
+    /**
+     * 저장 결과를 이미지 색인에 등록 (로컬 파일이 있을 때만)
+     */
+    private void registerFile(SecureUploadWriter.WrittenFile writtenFile) {
+        if (writtenFile.getPath() != null) {
+            imageFileIndex.registerFile(writtenFile.getPath());
+        }
+    }
+
+    /**
+     * 로컬 파일이 있을 때만 후처리 작업 등록 (메모리 저장소는 후처리 없음)
+     */
+    private String submitProcessing(Long attachNo, SecureUploadWriter.WrittenFile writtenFile, String originalFilename) {
+        if (writtenFile.getPath() == null) {
+            return null;
+        }
+        return attachmentProcessingService.submit(attachNo, writtenFile.getPath(), originalFilename, writtenFile.getSha256()).getJobId();
+    }
+
+    /**
+     * 첨부파일 변경 이벤트 발행 (공지사항 조회 캐시는 커밋 후 무효화)
+     */
+    private void publishAttachChanged(String tableName, Long tablePk) {
+        applicationEventPublisher.publishEvent(new KitmsAttachChangedEvent(tableName, tablePk));
+    }
+
+    /**
+     * 첨부파일의 로컬 파일 경로
+     * - 해시가 있으면(FileService 업로드) 내용 주소 저장소 (메모리 저장소는 null)
+     * - 웹 경로(/images/...)는 이미지 저장소 키로 먼저 찾고, 없으면 기존 경로 규칙
+     */
+    private Path resolveAttachPath(KitmsAttach attach) {
+        if (attach.getAttachFileHash() != null) {
+            return contentAddressedFileStore.localPath(attach.getAttachFileHash()).orElse(null);
+        }
+        String attachFilePath = attach.getAttachFilePath();
+        if (attachFilePath == null) {
+            return null;
+        }
+        String key = attachFilePath.substring(attachFilePath.lastIndexOf('/') + 1);
+        try {
+            if (imageAttachmentStore.exists(key)) {
+                return imageAttachmentStore.localPath(key).orElse(null);
+            }
+        } catch (IllegalArgumentException e) {
+            // 저장소 키 규칙에 맞지 않는 기존 파일명
+        }
+        return Paths.get("." + attachFilePath);
+    }
+
     private boolean isImageFile(String filename) {
         String extension = getFileExtension(filename).toLowerCase();
         return extension.equals(".jpg") || extension.equals(".jpeg") || 
@@ -484,6 +626,11 @@ public class KitmsAttachResource {
                 return ResponseEntity.badRequest().body(response);
             }
 
+            // 후처리 큐가 가득 차면 저장 전에 거절
+            if (!attachmentProcessingService.isAcceptingJobs()) {
+                return processingBusyResponse();
+            }
+
             // 파일 크기 체크 (10MB)
             if (file.getSize() > 10 * 1024 * 1024) {
                 CustomReturnDTO response = new CustomReturnDTO();
@@ -500,52 +647,38 @@ public class KitmsAttachResource {
                 return ResponseEntity.badRequest().body(response);
             }
 
-            // 보안 검증 - 파일 시그니처 및 확장자 검증
-            FileSecurityValidator.ValidationResult validationResult = 
-                fileSecurityValidator.validateDocumentFile(originalFilename, file.getInputStream());
-            
-            if (!validationResult.isValid()) {
-                log.warn("파일 보안 검증 실패: {} - {}", originalFilename, validationResult.getErrorMessage());
+            // 파일명 생성 (UUID + 원본 확장자, 저장 위치는 첨부파일 저장소가 키 해시로 분산)
+            String fileExtension = getFileExtension(originalFilename);
+            String fileName = UUID.randomUUID().toString() + fileExtension;
+
+            // 보안 검증(확장자/시그니처/크기) + 해시 계산 + 저장을 한 번의 읽기로 처리
+            SecureUploadWriter.WrittenFile writtenFile;
+            try {
+                writtenFile = secureUploadWriter.writeDocument(file, imageAttachmentStore, fileName, 10 * 1024 * 1024);
+            } catch (SecureUploadWriter.RejectedUploadException e) {
+                log.warn("파일 보안 검증 실패: {} - {}", originalFilename, e.getMessage());
                 CustomReturnDTO response = new CustomReturnDTO();
                 response.setStatusCode(400);
-                response.setMessage(validationResult.getErrorMessage());
+                response.setMessage(e.getMessage());
                 return ResponseEntity.badRequest().body(response);
             }
+            registerFile(writtenFile);
 
-            // 임시 디렉토리 사용 (tablePk가 'temp'인 경우)
-            String uploadDirName;
-            if ("temp".equals(tablePk)) {
-                uploadDirName = "temp_" + System.currentTimeMillis();
-            } else {
-                uploadDirName = tableName.toLowerCase() + "_" + tablePk;
-            }
-            
-            String fileDir = uploadPath + "/" + uploadDirName;
-            Path uploadDir = Paths.get(fileDir);
-            if (!Files.exists(uploadDir)) {
-                Files.createDirectories(uploadDir);
-            }
-
-            // 파일명 생성 (UUID + 원본 확장자)
-            String fileExtension = getFileExtension(originalFilename);
-            String fileName = UUID.randomUUID().toString() + fileExtension;
-            Path filePath = uploadDir.resolve(fileName);
-
-            // 파일 저장
-            Files.copy(file.getInputStream(), filePath);
-
-            String fileUrl = "/images/" + uploadDirName + "/" + fileName;
+            String fileUrl = "/images/" + writtenFile.getLocation();
 
             // 임시 파일인 경우 데이터베이스에 저장하지 않음
             if ("temp".equals(tablePk)) {
+                String jobId = submitProcessing(null, writtenFile, originalFilename);
+
                 CustomReturnDTO response = new CustomReturnDTO();
                 response.setStatusCode(200);
                 response.setMessage("파일이 성공적으로 업로드되었습니다.");
                 Map<String, Object> data = new HashMap<>();
                 data.put("fileName", fileName);
                 data.put("filePath", fileUrl);
-                data.put("fileSize", file.getSize());
+                data.put("fileSize", writtenFile.getSize());
                 data.put("originalName", originalFilename);
+                data.put("jobId", jobId);
                 response.setData(data);
 
                 return ResponseEntity.ok(response);
@@ -567,14 +700,16 @@ public class KitmsAttachResource {
             attach.setAttachTablePk(tablePkLong);
             attach.setAttachFilePath(fileUrl);
             attach.setAttachFileName(originalFilename);
-            attach.setAttachFileSize(file.getSize());
+            attach.setAttachFileSize(writtenFile.getSize());
             attach.setCreateDt(ZonedDateTime.now());
             attach.setCreateUserId("admin");
             attach.setIsThumbnail(false);
 
             KitmsAttach savedAttach = kitmsAttachRepository.save(attach);
+            publishAttachChanged(savedAttach.getAttachTableName(), savedAttach.getAttachTablePk());
             log.info("첨부파일 저장 완료 - attachNo: {}, 파일명: {}, 경로: {}", 
                     savedAttach.getAttachNo(), savedAttach.getAttachFileName(), savedAttach.getAttachFilePath());
+            String jobId = submitProcessing(savedAttach.getAttachNo(), writtenFile, originalFilename);
 
             CustomReturnDTO response = new CustomReturnDTO();
             response.setStatusCode(200);
@@ -584,10 +719,14 @@ public class KitmsAttachResource {
             data.put("fileName", savedAttach.getAttachFileName());
             data.put("filePath", savedAttach.getAttachFilePath());
             data.put("fileSize", savedAttach.getAttachFileSize());
+            data.put("jobId", jobId);
             response.setData(data);
 
             return ResponseEntity.ok(response);
 
+        } catch (RejectedExecutionException e) {
+            // 후처리 큐가 가득 차 저장한 업로드를 되돌림
+            return processingBusyResponse();
         } catch (IOException e) {
             log.error("파일 업로드 오류", e);
             CustomReturnDTO response = new CustomReturnDTO();
@@ -610,7 +749,7 @@ public class KitmsAttachResource {
         @PathVariable("tablePk") Long tablePk
     ) {
         try {
-            List<KitmsAttach> attachments = kitmsAttachRepository.findByAttachTableNameAndAttachTablePk(tableName, tablePk);
+            List<KitmsAttachDTO> attachments = kitmsAttachRepository.findAttachDTOsByTable(tableName, tablePk);
             
             CustomReturnDTO response = new CustomReturnDTO();
             response.setStatusCode(200);
@@ -647,36 +786,28 @@ public class KitmsAttachResource {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             }
 
-            // 하위 디렉토리들을 순회하며 파일 찾기
-            try (var stream = Files.walk(imagesDir)) {
-                Optional<Path> foundFile = stream
-                    .filter(Files::isRegularFile)
-                    .filter(path -> path.getFileName().toString().equals(fileName))
-                    .findFirst();
-
-                if (foundFile.isPresent()) {
-                    Path filePath = foundFile.get();
-                    String relativePath = imagesDir.relativize(filePath).toString();
-                    String fileUrl = "/images/" + relativePath.replace("\\", "/");
-                    
-                    CustomReturnDTO response = new CustomReturnDTO();
-                    response.setStatusCode(200);
-                    response.setMessage("파일을 찾았습니다.");
-                    Map<String, Object> data = new HashMap<>();
-                    data.put("filePath", fileUrl);
-                    data.put("fileName", fileName);
-                    response.setData(data);
-                    
-                    return ResponseEntity.ok(response);
-                } else {
-                    CustomReturnDTO response = new CustomReturnDTO();
-                    response.setStatusCode(404);
-                    response.setMessage("파일을 찾을 수 없습니다: " + fileName);
-                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-                }
+            // 이미지 파일 색인에서 파일명으로 조회 (하위 디렉토리 포함)
+            String relativePath = imageFileIndex.findExternalRelativePath(fileName);
+            if (relativePath != null) {
+                String fileUrl = "/images/" + relativePath;
+                
+                CustomReturnDTO response = new CustomReturnDTO();
+                response.setStatusCode(200);
+                response.setMessage("파일을 찾았습니다.");
+                Map<String, Object> data = new HashMap<>();
+                data.put("filePath", fileUrl);
+                data.put("fileName", fileName);
+                response.setData(data);
+                
+                return ResponseEntity.ok(response);
+            } else {
+                CustomReturnDTO response = new CustomReturnDTO();
+                response.setStatusCode(404);
+                response.setMessage("파일을 찾을 수 없습니다: " + fileName);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
             }
 
-        } catch (IOException e) {
+        } catch (Exception e) {
             log.error("이미지 파일 검색 오류", e);
             CustomReturnDTO response = new CustomReturnDTO();
             response.setStatusCode(500);
@@ -692,20 +823,45 @@ public class KitmsAttachResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the file content
      */
     @GetMapping("/file-download/{attachNo}")
-    public ResponseEntity<?> downloadFile(@PathVariable("attachNo") Long attachNo) {
+    public ResponseEntity<?> downloadFile(@PathVariable("attachNo") Long attachNo, HttpServletRequest request) {
         try {
             Optional<KitmsAttach> attachOpt = kitmsAttachRepository.findById(attachNo);
             if (attachOpt.isPresent()) {
                 KitmsAttach attach = attachOpt.get();
                 
-                Path filePath = Paths.get("." + attach.getAttachFilePath());
-                if (Files.exists(filePath)) {
-                    byte[] fileContent = Files.readAllBytes(filePath);
+                Path filePath = resolveAttachPath(attach);
+                String contentDisposition = "attachment; filename=\"" + attach.getAttachFileName() + "\"";
+                if (filePath == null && attach.getAttachFileHash() != null) {
+                    // 로컬 경로가 없는 저장소(메모리)는 스트림으로 전송
+                    Optional<ResponseEntity<?>> streamed = streamFromStore(attach, contentDisposition);
+                    if (streamed.isPresent()) {
+                        return streamed.get();
+                    }
+                }
+                if (filePath != null && Files.isRegularFile(filePath)) {
+
+                    // 위임 모드이면 앞단 웹 서버가 파일 전송 (Range / 조건부 요청도 웹 서버가 처리)
+                    Optional<ResponseEntity<Resource>> offloaded = downloadOffloadService.offload(
+                        ResponseEntity.ok().header("Content-Disposition", contentDisposition).contentType(MediaType.APPLICATION_OCTET_STREAM),
+                        filePath
+                    );
+                    if (offloaded.isPresent()) {
+                        return offloaded.get();
+                    }
+
+                    // 파일 전체를 메모리에 올리지 않고 스트리밍 (Range / 이어받기 지원)
+                    long lastModified = Files.getLastModifiedTime(filePath).toMillis();
+                    String eTag = FileResponseUtil.fileETag(Files.size(filePath), lastModified);
                     
-                    return ResponseEntity.ok()
-                        .header("Content-Disposition", "attachment; filename=\"" + attach.getAttachFileName() + "\"")
-                        .header("Content-Type", "application/octet-stream")
-                        .body(fileContent);
+                    return FileResponseUtil.rangeable(
+                        request,
+                        ResponseEntity.ok()
+                            .header("Content-Disposition", contentDisposition)
+                            .contentType(MediaType.APPLICATION_OCTET_STREAM),
+                        new FileSystemResource(filePath),
+                        eTag,
+                        lastModified
+                    );
                 } else {
                     CustomReturnDTO response = new CustomReturnDTO();
                     response.setStatusCode(404);
@@ -727,4 +883,22 @@ public class KitmsAttachResource {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    /**
+     * 내용 주소 저장소 파일을 스트림으로 응답 (파일이 없으면 empty)
+     */
+    private Optional<ResponseEntity<?>> streamFromStore(KitmsAttach attach, String contentDisposition) throws IOException {
+        InputStream in;
+        try {
+            in = contentAddressedFileStore.open(attach.getAttachFileHash());
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+        return Optional.of(
+            ResponseEntity.ok()
+                .header("Content-Disposition", contentDisposition)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(new InputStreamResource(in))
+        );
+    }
 }
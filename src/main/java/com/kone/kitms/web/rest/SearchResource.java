@@ -0,0 +1,93 @@
+package com.kone.kitms.web.rest;
+
+import com.kone.kitms.service.SearchIndexService;
+import com.kone.kitms.service.dto.CustomReturnDTO;
+import com.kone.kitms.service.dto.PagingListDTO;
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * KITMS 통합 검색 REST API 컨트롤러
+ *
+ * 이 클래스는 공지사항, 보도자료, CMS 페이지 통합 검색 기능을 제공합니다:
+ * - 검색어 점수 순 결과 및 페이징 (공개 API)
+ * - 유형별 검색 (notice, newsroom, cms)
+ * - DB 기준 검색 색인 재구성 (관리자)
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@RestController
+@RequestMapping("/api/search")
+public class SearchResource {
+
+    private final Logger log = LoggerFactory.getLogger(SearchResource.class);
+
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final SearchIndexService searchIndexService;
+
+    public SearchResource(SearchIndexService searchIndexService) {
+        this.searchIndexService = searchIndexService;
+    }
+
+    /**
+     * {@code GET  /search} : Search notices, newsroom articles and CMS pages.
+     *
+     * @param q the search text.
+     * @param type optional document type filter (notice, newsroom, cms).
+     * @param page the page number, starting at 1.
+     * @param size the page size.
+     * @return the {@link CustomReturnDTO} with the ranked hits in {@code list} and paging info in {@code page}.
+     */
+    @GetMapping("")
+    public CustomReturnDTO search(
+        @RequestParam(value = "q", required = false) String q,
+        @RequestParam(value = "type", required = false) String type,
+        @RequestParam(value = "page", defaultValue = "1") int page,
+        @RequestParam(value = "size", defaultValue = "10") int size
+    ) {
+        CustomReturnDTO result = new CustomReturnDTO();
+        int currentPage = Math.max(page, 1);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        try {
+            SearchIndexService.SearchResult searchResult = searchIndexService.search(q, type, currentPage, pageSize);
+            PagingListDTO paging = new PagingListDTO(searchResult.getHits(), currentPage, pageSize, searchResult.getTotal());
+            result.setStatus(HttpStatus.OK);
+            result.addColumn("list", paging.getList());
+            result.addColumn("page", paging.getPage());
+        } catch (IOException e) {
+            log.error("통합 검색 오류 - q: {}", q, e);
+            result.setStatus(HttpStatus.INTERNAL_SERVER_ERROR);
+            result.setMessage("검색 중 오류가 발생했습니다.");
+        }
+        return result;
+    }
+
+    /**
+     * {@code POST  /search/rebuild} : Rebuild the search index from the database.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the number of indexed documents.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<CustomReturnDTO> rebuild() {
+        CustomReturnDTO response = new CustomReturnDTO();
+        try {
+            int count = searchIndexService.rebuild();
+            response.setStatus(HttpStatus.OK);
+            response.setMessage("검색 색인 재구성이 완료되었습니다.");
+            response.addColumn("count", count);
+            return ResponseEntity.ok(response);
+        } catch (IOException e) {
+            log.error("검색 색인 재구성 오류", e);
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR);
+            response.setMessage("검색 색인 재구성 중 오류가 발생했습니다.");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+}
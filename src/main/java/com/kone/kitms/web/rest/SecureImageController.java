@@ -1,26 +1,45 @@
 package com.kone.kitms.web.rest;
 
 import com.kone.kitms.aop.logging.ExTokenCheck;
+import com.kone.kitms.service.DownloadOffloadService;
+import com.kone.kitms.service.ImageFileIndex;
 import com.kone.kitms.service.ImagePathService;
+import com.kone.kitms.service.ImageTokenStore;
+import com.kone.kitms.service.ImageVariantService;
+import com.kone.kitms.service.SecureImageCache;
 import com.kone.kitms.service.CssImageProcessor;
+import com.kone.kitms.web.rest.util.FileResponseUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.WebUtils;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.TreeMap;
 
 /**
  * KITMS 보안 이미지 관리 컨트롤러
@@ -47,36 +66,51 @@ public class SecureImageController {
     @Autowired
     private CssImageProcessor cssImageProcessor;
 
-    // 이미지 파일 경로와 임시 토큰 매핑 (동적 생성)
-    private static final Map<String, String> imageTokens = new HashMap<>();
+    // 이미지 토큰 및 세션 토큰 저장소 (동시성 지원, 만료 토큰 자동 정리)
+    @Autowired
+    private ImageTokenStore imageTokenStore;
     
-    // 토큰 생성 시간 저장 (만료 시간 관리용)
-    private static final Map<String, Long> tokenTimestamps = new HashMap<>();
+    // 이미지 파일 색인 (파일명 조회)
+    @Autowired
+    private ImageFileIndex imageFileIndex;
     
-    // 세션별 토큰 매핑 (세션ID -> 토큰)
-    private static final Map<String, String> sessionTokens = new HashMap<>();
+    // 파일 전송 위임 (X-Accel-Redirect / X-Sendfile)
+    @Autowired
+    private DownloadOffloadService downloadOffloadService;
     
-    // 세션 토큰 생성 시간 저장
-    private static final Map<String, Long> sessionTokenTimestamps = new HashMap<>();
+    // 이미지 변형(리사이즈/포맷 변환) 디스크 캐시
+    @Autowired
+    private ImageVariantService imageVariantService;
+    
+    // 이미지 바이트 메모리 캐시 (ETag 기반 304 응답 지원)
+    @Autowired
+    private SecureImageCache secureImageCache;
     
     // 세션 토큰 만료 시간 (2시간)
-    private static final long SESSION_TOKEN_EXPIRY_TIME = 2 * 60 * 60 * 1000;
+    @Value("${secure-image.token.session-expiry-ms:7200000}")
+    private long sessionTokenExpiryTime;
+
+    // 일괄 토큰 발급 최대 파일 수
+    private static final int MAX_BATCH_TOKEN_FILES = 200;
     
-    // 개별 이미지 토큰 만료 시간 (2시간)
-    private static final long IMAGE_TOKEN_EXPIRY_TIME = 2 * 60 * 60 * 1000;
+    // 세션 토큰 쿠키 이름
+    private static final String SESSION_TOKEN_COOKIE = "SECURE_IMAGE_SESSION";
 
     // 이미지 확장자 목록
     private static final String[] IMAGE_EXTENSIONS = {".png", ".jpg", ".jpeg", ".gif", ".svg", ".ico", ".webp"};
     
-    static {
-        // 서버 시작 시 자동으로 모든 이미지 파일을 스캔하여 토큰 생성
+    /**
+     * 서버 시작 시 자동으로 모든 이미지 파일을 스캔하여 토큰 생성
+     */
+    @PostConstruct
+    public void init() {
         initializeImageTokens();
     }
     
     /**
      * 이미지 토큰 초기화 (자동 스캔)
      */
-    private static void initializeImageTokens() {
+    private void initializeImageTokens() {
         try {
             // images 디렉토리에서 모든 이미지 파일 스캔
             scanImageDirectory("static/images/");
@@ -88,7 +122,7 @@ public class SecureImageController {
     /**
      * 디렉토리에서 이미지 파일 스캔
      */
-    private static void scanImageDirectory(String basePath) {
+    private void scanImageDirectory(String basePath) {
         try {
             // ClassPathResource를 사용하여 디렉토리 스캔
             ClassPathResource resource = new ClassPathResource(basePath);
@@ -101,9 +135,7 @@ public class SecureImageController {
                             .filter(path -> isImageFile(path.getFileName().toString()))
                             .forEach(path -> {
                                 String relativePath = imagesPath.relativize(path).toString().replace("\\", "/");
-                                String token = generateToken();
-                                imageTokens.put(relativePath, token);
-                                tokenTimestamps.put(token, System.currentTimeMillis());
+                                imageTokenStore.reissueImageToken(relativePath);
                             });
                 }
             }
@@ -127,11 +159,19 @@ public class SecureImageController {
 
     /**
      * 토큰으로 이미지 제공
+     * 
+     * w(너비), format(png, jpeg, webp) 파라미터가 있으면 리사이즈/변환된 이미지를 제공합니다.
      */
     @GetMapping("/{token}")
-    public ResponseEntity<byte[]> getSecureImage(@PathVariable String token, 
+    public ResponseEntity<Resource> getSecureImage(@PathVariable String token, 
+                                                @RequestParam(value = "w", required = false) Integer width,
+                                                @RequestParam(value = "format", required = false) String format,
                                                 HttpServletRequest request) {
         try {
+            if (width != null && width <= 0) {
+                return ResponseEntity.badRequest().build();
+            }
+            
             // 보안 검증
             if (!isValidRequest(request)) {
                 return ResponseEntity.status(403).build();
@@ -144,13 +184,14 @@ public class SecureImageController {
             }
             
             // 토큰 만료 시간 검증
-            if (isTokenExpired(token)) {
+            if (imageTokenStore.isImageTokenExpired(token)) {
                 // 토큰이 만료된 경우 자동으로 새 토큰 생성
                 String newToken = regenerateTokenForFile(fileName);
                 if (newToken != null) {
-                    // 새 토큰으로 리다이렉트
+                    // 새 토큰으로 리다이렉트 (너비/포맷 파라미터 유지)
+                    String queryString = request.getQueryString();
                     return ResponseEntity.status(302)
-                            .header("Location", "/api/secure-images/" + newToken)
+                            .header("Location", "/api/secure-images/" + newToken + (queryString != null ? "?" + queryString : ""))
                             .build();
                 } else {
                     return ResponseEntity.status(410).build(); // Gone
@@ -163,20 +204,64 @@ public class SecureImageController {
                 return ResponseEntity.notFound().build();
             }
             
-            // 파일을 바이트 배열로 읽기
-            byte[] imageBytes = Files.readAllBytes(resource.getFile().toPath());
-            
             // Content-Type 설정
             String contentType = getContentType(fileName);
             
-            return ResponseEntity.ok()
+            // 너비/포맷 파라미터가 있으면 변형 이미지 사용 (한 번 생성 후 디스크 캐시)
+            ImageVariantService.Variant variant = null;
+            if (width != null || format != null) {
+                variant = imageVariantService.getVariant(resource, width, format);
+            }
+            
+            // 메모리 캐시에서 이미지 조회 (파일 변경 시 자동 재로딩, 전송 위임 시 디스크 파일은 웹 서버가 전송)
+            boolean offloadable = downloadOffloadService.isEnabled() && resource.isFile();
+            SecureImageCache.CachedImage cachedImage = variant == null && !offloadable ? secureImageCache.get(resource) : null;
+            Resource body;
+            Path bodyFile = null;
+            String eTag;
+            long lastModified;
+            if (variant != null) {
+                Path variantPath = variant.getFile();
+                contentType = variant.getContentType();
+                body = new FileSystemResource(variantPath);
+                lastModified = body.lastModified();
+                eTag = secureImageCache.eTag(body);
+                bodyFile = variantPath;
+            } else if (cachedImage != null) {
+                body = cachedImage.toResource();
+                eTag = cachedImage.getETag();
+                lastModified = cachedImage.getLastModified();
+            } else {
+                // 캐시 항목 최대 크기를 넘는 파일은 원본에서 바로 스트리밍 (ETag는 캐시 항목과 같은 내용 해시)
+                lastModified = resource.lastModified();
+                eTag = secureImageCache.eTag(resource);
+                body = resource;
+                bodyFile = resource.isFile() ? resource.getFile().toPath() : null;
+            }
+            
+            // 브라우저가 같은 이미지를 갖고 있으면 본문 없이 304 응답
+            if (SecureImageCache.matchesETag(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag)
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .header("X-Content-Type-Options", "nosniff")
+                        .header("X-Frame-Options", "DENY")
+                        .build();
+            }
+            
+            // 저장은 허용하되 매 요청마다 재검증 (토큰 검증은 항상 서버에서 수행)
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
                     .contentType(MediaType.parseMediaType(contentType))
-                    .header(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, must-revalidate")
-                    .header(HttpHeaders.PRAGMA, "no-cache")
-                    .header(HttpHeaders.EXPIRES, "0")
+                    .cacheControl(CacheControl.noCache().cachePrivate())
                     .header("X-Content-Type-Options", "nosniff")
-                    .header("X-Frame-Options", "DENY")
-                    .body(imageBytes);
+                    .header("X-Frame-Options", "DENY");
+            
+            // 위임 모드이면 토큰 검증 후 파일 전송은 앞단 웹 서버가 처리
+            Optional<ResponseEntity<Resource>> offloaded = downloadOffloadService.offload(builder, bodyFile);
+            if (offloaded.isPresent()) {
+                return offloaded.get();
+            }
+            return FileResponseUtil.rangeable(request, builder, body, eTag, lastModified);
                     
         } catch (IOException e) {
             return ResponseEntity.notFound().build();
@@ -192,15 +277,24 @@ public class SecureImageController {
             String sessionId = request.getSession().getId();
             
             // 항상 새로운 세션 토큰 생성 (새로고침할 때마다)
-            String sessionToken = generateToken();
-            sessionTokens.put(sessionId, sessionToken);
-            sessionTokenTimestamps.put(sessionId, System.currentTimeMillis());
+            String sessionToken = imageTokenStore.issueSessionToken(sessionId);
             
             Map<String, Object> response = new HashMap<>();
             response.put("sessionToken", sessionToken);
-            response.put("expiresIn", SESSION_TOKEN_EXPIRY_TIME);
+            response.put("expiresIn", sessionTokenExpiryTime);
             
-            return ResponseEntity.ok(response);
+            // 이미지 요청(img 태그)에 함께 전송되도록 쿠키로도 전달 (서명 토큰 모드에서 검증에 사용)
+            ResponseCookie sessionCookie = ResponseCookie.from(SESSION_TOKEN_COOKIE, sessionToken)
+                    .httpOnly(true)
+                    .secure(request.isSecure())
+                    .sameSite("Strict")
+                    .path("/api/secure-images")
+                    .maxAge(Duration.ofMillis(sessionTokenExpiryTime))
+                    .build();
+            
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, sessionCookie.toString())
+                    .body(response);
             
         } catch (Exception e) {
             System.err.println("세션 토큰 생성 오류: " + e.getMessage());
@@ -213,16 +307,22 @@ public class SecureImageController {
     
     /**
      * 이미지 토큰 매핑 정보 제공
+     * 
+     * @deprecated 전체 토큰 매핑을 내려주므로 응답이 큼. 필요한 파일만 {@code POST /api/secure-images/tokens}로 요청할 것
      */
+    @Deprecated
     @GetMapping("/mapping")
     public ResponseEntity<Map<String, String>> getImageMappings() {
         Map<String, String> mappings = new HashMap<>();
         
-        for (Map.Entry<String, String> entry : imageTokens.entrySet()) {
+        for (Map.Entry<String, String> entry : imageTokenStore.getImageTokens().entrySet()) {
             mappings.put(entry.getKey(), "/api/secure-images/" + entry.getValue());
         }
         
-        return ResponseEntity.ok(mappings);
+        return ResponseEntity.ok()
+                .header("Deprecation", "true")
+                .header(HttpHeaders.LINK, "</api/secure-images/tokens>; rel=\"successor-version\"")
+                .body(mappings);
     }
     
     /**
@@ -249,35 +349,11 @@ public class SecureImageController {
         final String finalDecodedFileName = decodedFileName;
         
         try {
-            // 파일이 존재하는지 확인
-            String imagePath = imagePathService.findImagePath(finalDecodedFileName);
-            
-            Resource resource;
-            
-            // 외부 파일인지 확인 (images/로 시작하는 경우)
-            if (imagePath.startsWith("images/")) {
-                resource = new FileSystemResource(imagePath);
-            } else {
-                resource = new ClassPathResource(imagePath);
-            }
-            
-            if (!resource.exists()) {
+            String token = issueTokenForFile(finalDecodedFileName, request.getSession().getId(), false);
+            if (token == null) {
                 return ResponseEntity.notFound().build();
             }
             
-            
-            // 토큰 생성 (세션별로 고유한 토큰 생성)
-            String sessionId = request.getSession().getId();
-            String tokenKey = sessionId + ":" + finalDecodedFileName;
-            String token = imageTokens.computeIfAbsent(tokenKey, k -> {
-                String newToken = generateToken();
-                tokenTimestamps.put(newToken, System.currentTimeMillis());
-                // 세션 토큰도 저장
-                sessionTokens.put(sessionId, newToken);
-                sessionTokenTimestamps.put(sessionId, System.currentTimeMillis());
-                return newToken;
-            });
-            
             Map<String, String> response = new HashMap<>();
             response.put("fileName", finalDecodedFileName);
             response.put("token", token);
@@ -291,18 +367,96 @@ public class SecureImageController {
         }
     }
     
+    /**
+     * 여러 파일의 이미지 토큰 일괄 발급
+     * 
+     * 요청 본문: 파일명 배열 (예: ["slides/slide_main_1-1.png", "ico.ico"])
+     * 응답: urls(파일명 -> 보안 URL), missing(찾을 수 없는 파일명)
+     */
+    @PostMapping("/tokens")
+    public ResponseEntity<Map<String, Object>> generateTokensForFiles(@RequestBody List<String> fileNames,
+                                                                      HttpServletRequest request) {
+        if (fileNames == null || fileNames.size() > MAX_BATCH_TOKEN_FILES) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "한 번에 최대 " + MAX_BATCH_TOKEN_FILES + "개 파일까지 요청할 수 있습니다.");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        
+        String sessionId = request.getSession().getId();
+        Map<String, String> urls = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String fileName : new LinkedHashSet<>(fileNames)) {
+            String token = fileName != null && !fileName.isBlank() ? issueTokenForFile(fileName, sessionId, true) : null;
+            if (token != null) {
+                urls.put(fileName, "/api/secure-images/" + token);
+            } else {
+                missing.add(fileName);
+            }
+        }
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("urls", urls);
+        response.put("missing", missing);
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * 파일 존재 확인 후 이미지 토큰 발급 (단건 / 일괄 발급 공통)
+     * 
+     * @param preferPinned true면 서버 시작 시 발급된 고정 토큰이 있을 때 그 토큰을 사용 (CSS와 같은 URL로 브라우저 캐시 공유)
+     * @return 토큰, 파일이 없으면 null
+     */
+    private String issueTokenForFile(String fileName, String sessionId, boolean preferPinned) {
+        // 파일이 존재하는지 확인 (이미지 파일 색인 조회)
+        String imagePath = imagePathService.findImagePath(fileName);
+        
+        Resource resource;
+        
+        // 외부 파일인지 확인 (images/로 시작하는 경우)
+        if (imagePathService.isExternalPath(imagePath)) {
+            resource = new FileSystemResource(imagePath);
+        } else {
+            resource = new ClassPathResource(imagePath);
+        }
+        
+        if (!resource.exists()) {
+            return null;
+        }
+        
+        if (preferPinned) {
+            String pinnedToken = imageTokenStore.findTokenByKey(fileName);
+            if (pinnedToken != null) {
+                return pinnedToken;
+            }
+        }
+        
+        // 토큰 생성 (세션별로 고유한 토큰 생성)
+        String tokenKey = sessionId + ImageTokenStore.SESSION_KEY_SEPARATOR + fileName;
+        String token = imageTokenStore.findTokenByKey(tokenKey);
+        if (token == null) {
+            token = imageTokenStore.getOrIssueImageToken(tokenKey);
+            // 세션 토큰도 저장
+            imageTokenStore.putSessionToken(sessionId, token);
+        }
+        return token;
+    }
+    
     /**
      * 모든 이미지 토큰 새로고침
      */
     @PostMapping("/refresh")
     public ResponseEntity<Map<String, Object>> refreshImageTokens() {
         try {
+            // 이미지 파일 전체 재색인
+            imageFileIndex.rebuild();
+            
             // 기존 토큰 초기화
-            imageTokens.clear();
+            imageTokenStore.clearImageTokens();
             
             // 새로 스캔하여 토큰 생성
             initializeImageTokens();
             
+            Map<String, String> imageTokens = imageTokenStore.getImageTokens();
             Map<String, Object> response = new HashMap<>();
             response.put("message", "이미지 토큰이 새로고침되었습니다.");
             response.put("totalImages", imageTokens.size());
@@ -321,26 +475,26 @@ public class SecureImageController {
      * CSS 파일을 보안 URL로 처리하여 제공
      */
     @GetMapping("/css/{cssFileName}")
-    public ResponseEntity<String> getSecureCssFile(@PathVariable String cssFileName) {
+    public ResponseEntity<String> getSecureCssFile(@PathVariable String cssFileName, HttpServletRequest request) {
         try {
-            // CSS 파일 경로
-            String cssFilePath = "static/style/" + cssFileName;
-            Resource resource = new ClassPathResource(cssFilePath);
-            
-            if (!resource.exists()) {
+            // 변환된 CSS 조회 (원본 내용과 이미지 토큰이 그대로면 캐시 사용)
+            CssImageProcessor.ProcessedCss processedCss = cssImageProcessor.getProcessedCss("static/style/" + cssFileName);
+            if (processedCss == null) {
                 return ResponseEntity.notFound().build();
             }
             
-            // CSS 파일 내용 읽기
-            String cssContent = Files.readString(resource.getFile().toPath());
-            
-            // 이미지 URL을 보안 URL로 변환
-            String processedCss = cssImageProcessor.processCssFile(cssContent, imageTokens);
+            if (SecureImageCache.matchesETag(request.getHeader(HttpHeaders.IF_NONE_MATCH), processedCss.getETag())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(processedCss.getETag())
+                        .cacheControl(CacheControl.noCache())
+                        .build();
+            }
             
             return ResponseEntity.ok()
                     .contentType(MediaType.valueOf("text/css"))
-                    .header(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, must-revalidate")
-                    .body(processedCss);
+                    .eTag(processedCss.getETag())
+                    .cacheControl(CacheControl.noCache())
+                    .body(processedCss.getContent());
                     
         } catch (IOException e) {
             return ResponseEntity.notFound().build();
@@ -351,10 +505,22 @@ public class SecureImageController {
      * 모든 CSS 파일의 보안 URL 처리 결과 제공
      */
     @GetMapping("/css/processed")
-    public ResponseEntity<Map<String, String>> getAllProcessedCssFiles() {
+    public ResponseEntity<Map<String, String>> getAllProcessedCssFiles(HttpServletRequest request) {
         try {
-            Map<String, String> processedCssFiles = cssImageProcessor.processAllCssFiles(imageTokens);
-            return ResponseEntity.ok(processedCssFiles);
+            Map<String, CssImageProcessor.ProcessedCss> processed = cssImageProcessor.getAllProcessedCss();
+            Map<String, String> processedCssFiles = new HashMap<>();
+            StringBuilder eTags = new StringBuilder();
+            // 파일명 순으로 묶어 맵 순서와 관계없이 같은 ETag 생성
+            for (Map.Entry<String, CssImageProcessor.ProcessedCss> entry : new TreeMap<>(processed).entrySet()) {
+                processedCssFiles.put(entry.getKey(), entry.getValue().getContent());
+                eTags.append(entry.getKey()).append('=').append(entry.getValue().getETag()).append(';');
+            }
+            String eTag = SecureImageCache.strongETag(eTags);
+            
+            if (SecureImageCache.matchesETag(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache()).build();
+            }
+            return ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache()).body(processedCssFiles);
         } catch (Exception e) {
             Map<String, String> errorResponse = new HashMap<>();
             errorResponse.put("error", "CSS 파일 처리 중 오류 발생: " + e.getMessage());
@@ -392,38 +558,13 @@ public class SecureImageController {
         return true;
     }
     
-    /**
-     * 토큰 만료 여부 확인
-     */
-    private boolean isTokenExpired(String token) {
-        Long timestamp = tokenTimestamps.get(token);
-        if (timestamp == null) {
-            return true; // 타임스탬프가 없으면 만료된 것으로 간주
-        }
-        
-        long currentTime = System.currentTimeMillis();
-        return (currentTime - timestamp) > IMAGE_TOKEN_EXPIRY_TIME;
-    }
-    
-    /**
-     * 세션 토큰 만료 여부 확인
-     */
-    private boolean isSessionTokenExpired(String sessionId) {
-        Long timestamp = sessionTokenTimestamps.get(sessionId);
-        if (timestamp == null) {
-            return true; // 타임스탬프가 없으면 만료된 것으로 간주
-        }
-        
-        long currentTime = System.currentTimeMillis();
-        return (currentTime - timestamp) > SESSION_TOKEN_EXPIRY_TIME;
-    }
-    
     /**
      * 세션 토큰 유효성 검증
      */
     private boolean isValidSessionToken(HttpServletRequest request) {
         String sessionId = request.getSession().getId();
-        return sessionTokens.containsKey(sessionId) && !isSessionTokenExpired(sessionId);
+        Cookie sessionCookie = WebUtils.getCookie(request, SESSION_TOKEN_COOKIE);
+        return imageTokenStore.isSessionTokenValid(sessionId, sessionCookie != null ? sessionCookie.getValue() : null);
     }
     
     /**
@@ -448,17 +589,15 @@ public class SecureImageController {
      * 토큰으로 파일명 찾기 (세션 기반)
      */
     private String findFileNameByToken(String token) {
-        for (Map.Entry<String, String> entry : imageTokens.entrySet()) {
-            if (entry.getValue().equals(token)) {
-                String tokenKey = entry.getKey();
-                // 세션ID:파일명 형식에서 파일명만 추출
-                if (tokenKey.contains(":")) {
-                    return tokenKey.substring(tokenKey.indexOf(":") + 1);
-                }
-                return tokenKey;
-            }
+        String tokenKey = imageTokenStore.findKeyByToken(token);
+        if (tokenKey == null) {
+            return null;
+        }
+        // 세션ID:파일명 형식에서 파일명만 추출
+        if (tokenKey.contains(ImageTokenStore.SESSION_KEY_SEPARATOR)) {
+            return tokenKey.substring(tokenKey.indexOf(ImageTokenStore.SESSION_KEY_SEPARATOR) + 1);
         }
-        return null;
+        return tokenKey;
     }
     
     /**
@@ -474,18 +613,8 @@ public class SecureImageController {
                 return null;
             }
             
-            // 새 토큰 생성
-            String newToken = generateToken();
-            
-            // 기존 토큰 제거
-            imageTokens.entrySet().removeIf(entry -> entry.getKey().equals(fileName));
-            tokenTimestamps.entrySet().removeIf(entry -> entry.getKey().equals(imageTokens.get(fileName)));
-            
-            // 새 토큰 등록
-            imageTokens.put(fileName, newToken);
-            tokenTimestamps.put(newToken, System.currentTimeMillis());
-            
-            return newToken;
+            // 기존 토큰 폐기 후 새 토큰 등록
+            return imageTokenStore.reissueImageToken(fileName);
             
         } catch (Exception e) {
             System.err.println("토큰 재생성 중 오류: " + e.getMessage());
@@ -502,7 +631,7 @@ public class SecureImageController {
         Resource resource;
         
         // 외부 파일인지 확인 (images/로 시작하는 경우)
-        if (imagePath.startsWith("images/")) {
+        if (imagePathService.isExternalPath(imagePath)) {
             resource = new FileSystemResource(imagePath);
         } else {
             resource = new ClassPathResource(imagePath);
@@ -517,43 +646,11 @@ public class SecureImageController {
     }
     
     /**
-     * 파일명으로 이미지 찾기 (하위 폴더 포함)
+     * 파일명으로 이미지 찾기 (하위 폴더 포함, 이미지 파일 색인 조회)
      */
     private Resource findImageByFileName(String fileName) {
-        try {
-            // 실제 파일 시스템에서 검색
-            Path imagesDir = Paths.get("src/main/resources/static/images");
-            if (Files.exists(imagesDir)) {
-                return findFileInDirectory(imagesDir, fileName);
-            }
-        } catch (Exception e) {
-            // 파일 시스템 검색 실패 시 null 반환
-        }
-        return null;
-    }
-    
-    /**
-     * 디렉토리에서 파일 재귀적으로 찾기
-     */
-    private Resource findFileInDirectory(Path directory, String fileName) {
-        try {
-            return Files.walk(directory)
-                    .filter(Files::isRegularFile)
-                    .filter(path -> path.getFileName().toString().equals(fileName))
-                    .findFirst()
-                    .map(path -> new ClassPathResource("static/images/" + 
-                            directory.relativize(path).toString().replace("\\", "/")))
-                    .orElse(null);
-        } catch (Exception e) {
-            return null;
-        }
-    }
-    
-    /**
-     * 토큰 생성
-     */
-    private static String generateToken() {
-        return UUID.randomUUID().toString().replace("-", "");
+        String relativePath = imageFileIndex.findClasspathRelativePath(fileName);
+        return relativePath != null ? new ClassPathResource(ImageFileIndex.CLASSPATH_ROOT + relativePath) : null;
     }
     
     /**
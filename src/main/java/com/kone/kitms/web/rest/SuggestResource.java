@@ -0,0 +1,68 @@
+package com.kone.kitms.web.rest;
+
+import com.kone.kitms.service.TitleSuggestionService;
+import com.kone.kitms.service.dto.CustomReturnDTO;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * KITMS 검색어 자동완성 REST API 컨트롤러
+ *
+ * 이 클래스는 관리자 화면 검색창의 입력 중 자동완성 기능을 제공합니다:
+ * - 공지사항 제목, 보도자료 제목, 사용자 이름 앞부분 일치 조회 (DB 조회 없음)
+ * - 유형별 조회 (notice, newsroom, user)
+ * - DB 기준 자동완성 사전 재구성
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+@RestController
+@RequestMapping("/api/suggest")
+public class SuggestResource {
+
+    private static final int MAX_LIMIT = 20;
+
+    private final TitleSuggestionService titleSuggestionService;
+
+    public SuggestResource(TitleSuggestionService titleSuggestionService) {
+        this.titleSuggestionService = titleSuggestionService;
+    }
+
+    /**
+     * {@code GET  /suggest} : Suggest notice titles, newsroom titles and user names starting with the typed text.
+     *
+     * @param q the text typed so far.
+     * @param type optional type filter (notice, newsroom, user).
+     * @param limit the maximum number of suggestions.
+     * @return the {@link CustomReturnDTO} with the suggestions in {@code list}.
+     */
+    @GetMapping("")
+    public CustomReturnDTO suggest(
+        @RequestParam(value = "q", required = false) String q,
+        @RequestParam(value = "type", required = false) String type,
+        @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        CustomReturnDTO result = new CustomReturnDTO();
+        result.setStatus(HttpStatus.OK);
+        result.addColumn("list", titleSuggestionService.suggest(q, type, Math.min(Math.max(limit, 1), MAX_LIMIT)));
+        return result;
+    }
+
+    /**
+     * {@code POST  /suggest/rebuild} : Rebuild the suggestion dictionaries from the database.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the number of entries per type.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<CustomReturnDTO> rebuild() {
+        Map<String, Integer> counts = titleSuggestionService.rebuild();
+        CustomReturnDTO response = new CustomReturnDTO();
+        response.setStatus(HttpStatus.OK);
+        response.setMessage("자동완성 사전 재구성이 완료되었습니다.");
+        response.addColumn("count", counts);
+        return ResponseEntity.ok(response);
+    }
+}
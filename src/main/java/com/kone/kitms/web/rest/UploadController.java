@@ -1,22 +1,18 @@
 package com.kone.kitms.web.rest;
 
-import com.kone.kitms.security.FileSecurityValidator;
+import com.kone.kitms.service.AttachmentStore;
+import com.kone.kitms.service.ImageFileIndex;
+import com.kone.kitms.service.SecureUploadWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -27,9 +23,9 @@ import java.util.UUID;
  * 이 클래스는 KITMS 시스템의 파일 업로드 관리를 위한 모든 기능을 제공합니다:
  * - 이미지 파일 업로드 (CKEditor용)
  * - 일반 파일 업로드
- * - 파일 유효성 검사 (크기, 타입)
+ * - 파일 유효성 검사 (크기, 타입) - 검증과 저장을 단일 패스로 처리
  * - 고유한 파일명 생성
- * - 날짜별 디렉토리 구조 관리
+ * - 첨부파일 저장소(AttachmentStore)에 키 해시 분산 디렉토리로 저장
  * - 에러 처리 및 응답 관리
  * 
  * @author KITMS Development Team
@@ -42,11 +38,15 @@ public class UploadController {
 
     private static final Logger log = LoggerFactory.getLogger(UploadController.class);
 
-    @Value("${app.upload.path:uploads}")
-    private String uploadPath;
+    @Autowired
+    @Qualifier("imageAttachmentStore")
+    private AttachmentStore imageAttachmentStore;
+
+    @Autowired
+    private SecureUploadWriter secureUploadWriter;
 
     @Autowired
-    private FileSecurityValidator fileSecurityValidator;
+    private ImageFileIndex imageFileIndex;
 
     /**
      * 이미지 업로드 (CKEditor용)
@@ -66,23 +66,6 @@ public class UploadController {
                 return ResponseEntity.badRequest().body(createErrorResponse("파일 크기는 5MB를 초과할 수 없습니다."));
             }
 
-            // 보안 검증 - 파일 시그니처 및 확장자 검증
-            FileSecurityValidator.ValidationResult validationResult = 
-                fileSecurityValidator.validateImageFile(file.getOriginalFilename(), file.getInputStream());
-            
-            if (!validationResult.isValid()) {
-                log.warn("이미지 파일 보안 검증 실패: {} - {}", file.getOriginalFilename(), validationResult.getErrorMessage());
-                return ResponseEntity.badRequest().body(createErrorResponse(validationResult.getErrorMessage()));
-            }
-
-            // 업로드 디렉토리 생성
-            String datePath = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
-            String fullUploadPath = uploadPath + "/images/" + datePath;
-            File uploadDir = new File(fullUploadPath);
-            if (!uploadDir.exists()) {
-                uploadDir.mkdirs();
-            }
-
             // 고유한 파일명 생성
             String originalFilename = file.getOriginalFilename();
             String extension = "";
@@ -91,12 +74,20 @@ public class UploadController {
             }
             String uniqueFilename = UUID.randomUUID().toString() + extension;
 
-            // 파일 저장
-            Path filePath = Paths.get(fullUploadPath, uniqueFilename);
-            Files.copy(file.getInputStream(), filePath);
+            // 보안 검증(확장자/시그니처/크기) + 저장을 한 번의 읽기로 처리 (실패 시 파일이 남지 않음)
+            SecureUploadWriter.WrittenFile writtenFile;
+            try {
+                writtenFile = secureUploadWriter.writeImage(file, imageAttachmentStore, uniqueFilename, 5 * 1024 * 1024);
+            } catch (SecureUploadWriter.RejectedUploadException e) {
+                log.warn("이미지 파일 보안 검증 실패: {} - {}", file.getOriginalFilename(), e.getMessage());
+                return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+            }
+            if (writtenFile.getPath() != null) {
+                imageFileIndex.registerFile(writtenFile.getPath());
+            }
 
-            // 웹 접근 가능한 URL 생성
-            String fileUrl = "/uploads/images/" + datePath + "/" + uniqueFilename;
+            // 웹 접근 가능한 URL 생성 (저장 위치는 첨부파일 저장소가 키 해시로 분산)
+            String fileUrl = "/images/" + writtenFile.getLocation();
 
             // CKEditor 5 Classic 응답 형식
             Map<String, Object> response = new HashMap<>();
@@ -130,23 +121,6 @@ public class UploadController {
                 return ResponseEntity.badRequest().body(createErrorResponse("파일 크기는 10MB를 초과할 수 없습니다."));
             }
 
-            // 보안 검증 - 파일 시그니처 및 확장자 검증
-            FileSecurityValidator.ValidationResult validationResult = 
-                fileSecurityValidator.validateDocumentFile(file.getOriginalFilename(), file.getInputStream());
-            
-            if (!validationResult.isValid()) {
-                log.warn("파일 보안 검증 실패: {} - {}", file.getOriginalFilename(), validationResult.getErrorMessage());
-                return ResponseEntity.badRequest().body(createErrorResponse(validationResult.getErrorMessage()));
-            }
-
-            // 업로드 디렉토리 생성
-            String datePath = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
-            String fullUploadPath = uploadPath + "/files/" + datePath;
-            File uploadDir = new File(fullUploadPath);
-            if (!uploadDir.exists()) {
-                uploadDir.mkdirs();
-            }
-
             // 고유한 파일명 생성
             String originalFilename = file.getOriginalFilename();
             String extension = "";
@@ -155,12 +129,20 @@ public class UploadController {
             }
             String uniqueFilename = UUID.randomUUID().toString() + extension;
 
-            // 파일 저장
-            Path filePath = Paths.get(fullUploadPath, uniqueFilename);
-            Files.copy(file.getInputStream(), filePath);
+            // 보안 검증(확장자/시그니처/크기) + 저장을 한 번의 읽기로 처리 (실패 시 파일이 남지 않음)
+            SecureUploadWriter.WrittenFile writtenFile;
+            try {
+                writtenFile = secureUploadWriter.writeDocument(file, imageAttachmentStore, uniqueFilename, 10 * 1024 * 1024);
+            } catch (SecureUploadWriter.RejectedUploadException e) {
+                log.warn("파일 보안 검증 실패: {} - {}", file.getOriginalFilename(), e.getMessage());
+                return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
+            }
+            if (writtenFile.getPath() != null) {
+                imageFileIndex.registerFile(writtenFile.getPath());
+            }
 
-            // 웹 접근 가능한 URL 생성
-            String fileUrl = "/uploads/files/" + datePath + "/" + uniqueFilename;
+            // 웹 접근 가능한 URL 생성 (저장 위치는 첨부파일 저장소가 키 해시로 분산)
+            String fileUrl = "/images/" + writtenFile.getLocation();
 
             // 응답 데이터
             Map<String, Object> response = new HashMap<>();
@@ -0,0 +1,162 @@
+package com.kone.kitms.web.rest.util;
+
+import com.kone.kitms.service.SecureImageCache;
+import com.kone.kitms.service.StaticFragmentCache;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.Locale;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * KITMS 파일 응답 유틸리티
+ *
+ * 이 클래스는 파일 다운로드/이미지 응답을 스트리밍 방식으로 생성합니다:
+ * - 파일 전체를 byte[]로 읽지 않고 {@link Resource}를 그대로 응답 본문으로 사용
+ * - Accept-Ranges 헤더 및 단일/다중 Range 요청(206) 지원
+ *   (Range 해석과 ResourceRegion 전송은 Spring MVC가 처리)
+ * - ETag / Last-Modified 기반 조건부 요청 및 If-Range 재개 요청 처리
+ * - 캐시된 HTML/JS 조각의 미리 압축된(gzip) 응답 생성
+ *
+ * 응답 본문이 {@link Resource}이면 Spring MVC가 Range 헤더를 보고 206/416 응답을
+ * 자동으로 만들기 때문에, Content-Length는 직접 지정하지 않습니다.
+ *
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+public final class FileResponseUtil {
+
+    public static final String ACCEPT_RANGES_BYTES = "bytes";
+
+    public static final String GZIP_ENCODING = "gzip";
+
+    private FileResponseUtil() {}
+
+    /**
+     * 파일 크기와 수정 시간으로 만든 강한 ETag
+     */
+    public static String fileETag(long contentLength, long lastModified) {
+        return "\"" + Long.toHexString(contentLength) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    /**
+     * Range 요청을 지원하는 파일 응답 생성
+     *
+     * @param request 현재 요청 (Range / If-Range 헤더 확인용)
+     * @param builder 상태 코드와 부가 헤더가 설정된 응답 빌더
+     * @param resource 응답 본문 리소스
+     * @param eTag 리소스 ETag
+     * @param lastModified 리소스 수정 시간 (밀리초)
+     */
+    public static ResponseEntity<Resource> rangeable(
+        HttpServletRequest request,
+        ResponseEntity.BodyBuilder builder,
+        Resource resource,
+        String eTag,
+        long lastModified
+    ) throws IOException {
+        builder.eTag(eTag).lastModified(lastModified).header(HttpHeaders.ACCEPT_RANGES, ACCEPT_RANGES_BYTES);
+
+        if (request.getHeader(HttpHeaders.RANGE) != null && !isIfRangeSatisfied(request, eTag, lastModified)) {
+            // 재개 조건 불일치 (파일 변경됨): Range를 무시하고 전체 파일을 200으로 전송
+            return builder.contentLength(resource.contentLength()).body(new InputStreamResource(resource.getInputStream()));
+        }
+        return builder.body(resource);
+    }
+
+    /**
+     * If-Range 조건 확인 (헤더가 없으면 true)
+     *
+     * ETag 형식이면 강한 비교, 날짜 형식이면 초 단위 수정 시간 비교를 수행합니다.
+     */
+    public static boolean isIfRangeSatisfied(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null || ifRange.isBlank()) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // 약한 ETag는 Range 재개에 사용할 수 없음
+            return !ifRange.startsWith("W/") && ifRange.equals(eTag);
+        }
+        try {
+            long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return ifRangeDate != -1 && (lastModified / 1000) == (ifRangeDate / 1000);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 캐시된 HTML/JS 조각 응답 생성
+     *
+     * If-None-Match가 일치하면 304, 클라이언트가 gzip을 허용하면 미리 압축된 본문을 gzip 전용 ETag로 전송합니다.
+     *
+     * @param request 현재 요청 (If-None-Match / Accept-Encoding 헤더 확인용)
+     * @param fragment 캐시 조각
+     * @param contentType 응답 Content-Type
+     */
+    public static ResponseEntity<byte[]> fragment(HttpServletRequest request, StaticFragmentCache.Fragment fragment, MediaType contentType) {
+        // 전송할 표현(gzip/원본)에 맞는 ETag 사용
+        boolean gzip = fragment.getGzipContent() != null && acceptsGzip(request);
+        String eTag = gzip ? fragment.getGzipETag() : fragment.getETag();
+        if (SecureImageCache.matchesETag(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            return ResponseEntity
+                .status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .build();
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity
+            .ok()
+            .contentType(contentType)
+            .eTag(eTag)
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (fragment.getLastModified() > 0) {
+            builder.lastModified(fragment.getLastModified());
+        }
+
+        if (gzip) {
+            byte[] gzipContent = fragment.getGzipContent();
+            return builder.header(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING).contentLength(gzipContent.length).body(gzipContent);
+        }
+        return builder.contentLength(fragment.getContent().length).body(fragment.getContent());
+    }
+
+    /**
+     * Accept-Encoding 헤더에 gzip(또는 *)이 q=0이 아닌 값으로 포함되어 있는지 확인
+     */
+    public static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (!coding.equals(GZIP_ENCODING) && !coding.equals("*")) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim().replace(" ", "");
+                if (param.startsWith("q=") && param.substring(2).matches("0(\\.0{0,3})?")) {
+                    rejected = true;
+                }
+            }
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,11 @@
+/**
+ * KITMS REST 유틸리티 패키지
+ * 
+ * 이 패키지는 KITMS 시스템의 REST 컨트롤러에서 공통으로 사용하는 유틸리티 클래스들을 포함합니다:
+ * - 파일 응답 생성 (Range 요청, ETag, 조건부 요청 처리)
+ * 
+ * @author KITMS Development Team
+ * @version 1.0
+ * @since 2024
+ */
+package com.kone.kitms.web.rest.util;
@@ -0,0 +1,7 @@
+-- 첨부파일 내용 주소(SHA-256) 컬럼 추가
+-- 내용 주소 저장소에 저장된 파일은 같은 해시를 가진 kitms_attach 행 수로 참조 횟수를 관리
+ALTER TABLE kitms_attach
+ADD COLUMN attach_file_hash VARCHAR(64) NULL COMMENT '첨부파일 SHA-256 해시 (내용 주소 저장소 키)';
+
+-- 인덱스 추가 (참조 횟수 조회용)
+CREATE INDEX idx_kitms_attach_file_hash ON kitms_attach(attach_file_hash);
@@ -0,0 +1,9 @@
+-- 첨부파일 기본 키 시퀀스 생성
+-- IDENTITY 방식은 INSERT마다 생성된 키를 받아와야 해서 Hibernate JDBC 배치가 동작하지 않으므로
+-- 시퀀스에서 50개 단위로 미리 할당 (KitmsAttach @SequenceGenerator allocationSize와 같아야 함)
+-- 기존 attach_no 최댓값 다음부터 시작
+SET @kitms_attach_seq_start = (SELECT COALESCE(MAX(attach_no), 0) + 1 FROM kitms_attach);
+SET @kitms_attach_seq_sql = CONCAT('CREATE SEQUENCE kitms_attach_seq START WITH ', @kitms_attach_seq_start, ' INCREMENT BY 50');
+PREPARE kitms_attach_seq_stmt FROM @kitms_attach_seq_sql;
+EXECUTE kitms_attach_seq_stmt;
+DEALLOCATE PREPARE kitms_attach_seq_stmt;
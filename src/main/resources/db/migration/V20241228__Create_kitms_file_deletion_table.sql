@@ -0,0 +1,14 @@
+-- 파일 삭제 대기열(outbox) 테이블 생성
+-- 첨부파일 행 삭제와 같은 트랜잭션에서 삭제할 파일을 기록하고, 커밋 후 백그라운드 작업이 실제 파일을 삭제
+-- (롤백되면 대기열 행도 함께 사라지므로 행이 남은 첨부파일의 파일이 지워지지 않음)
+CREATE TABLE kitms_file_deletion (
+    deletion_no BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '삭제 대기 번호',
+    file_path VARCHAR(500) NULL COMMENT '삭제할 파일 경로 (경로 저장 방식)',
+    file_hash VARCHAR(64) NULL COMMENT '삭제할 파일 해시 (내용 주소 저장소, 참조가 없을 때만 삭제)',
+    attempt_count INT NOT NULL DEFAULT 0 COMMENT '삭제 시도 횟수',
+    next_attempt_dt DATETIME NOT NULL COMMENT '다음 시도 일시',
+    last_error VARCHAR(500) NULL COMMENT '마지막 오류 메시지',
+    create_dt DATETIME NOT NULL COMMENT '등록 일시',
+
+    INDEX idx_file_deletion_next_attempt (attempt_count, next_attempt_dt)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='파일 삭제 대기열';
@@ -0,0 +1,6 @@
+-- 공지사항 목록 조회 인덱스 추가
+-- 목록 정렬 순서(고정 여부, 작성일시, 번호)와 같은 인덱스로 페이지 키를 인덱스만 읽어 선택 (키셋 페이징 seek 포함)
+CREATE INDEX idx_kitms_notice_list ON kitms_notice(static_flag, create_dt, notice_no);
+
+-- 첨부파일 여부 조회 및 테이블별 첨부파일 목록/삭제용
+CREATE INDEX idx_kitms_attach_table ON kitms_attach(attach_table_name, attach_table_pk);
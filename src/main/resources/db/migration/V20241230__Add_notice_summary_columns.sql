@@ -0,0 +1,7 @@
+-- 공지사항 목록용 요약 컬럼 추가
+-- 목록 조회 시 본문(LOB) 대신 저장 시 만든 요약만 읽음
+-- 기존 공지사항은 애플리케이션 시작 후 NoticeSummaryService가 본문에서 채움 (notice_content_length IS NULL 대상)
+ALTER TABLE kitms_notice
+ADD COLUMN notice_summary VARCHAR(200) NULL COMMENT '본문 요약 (태그 제거 텍스트 앞부분)',
+ADD COLUMN notice_content_length INT NULL COMMENT '본문 텍스트 길이 (태그 제거)',
+ADD COLUMN notice_image VARCHAR(500) NULL COMMENT '본문 첫 번째 이미지 경로';
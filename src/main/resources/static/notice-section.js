@@ -6,7 +6,7 @@
  * 
  * 주요 기능:
  * - API를 통한 공지사항 데이터 로드
- * - 공지사항 내용에서 이미지 추출 및 표시
+ * - 공지사항 대표 이미지(본문 첫 번째 이미지) 표시
  * - 이미지 URL 보안 처리
  * - 공지사항 클릭 이벤트 처리
  * 
@@ -19,41 +19,26 @@
 // let secureImageUrls = {};
 
 /**
- * 공지사항 HTML 내용에서 이미지 URL을 추출하는 함수
+ * 공지사항 대표 이미지 경로를 표시용 URL로 변환하는 함수
  * 
- * @param {string} noticeContent - 공지사항 HTML 내용
- * @returns {string|null} 추출된 이미지 URL 또는 null
+ * 대표 이미지(noticeImage)는 서버가 저장 시 본문의 첫 번째 이미지에서 추출합니다.
+ * 
+ * @param {string} noticeImage - 공지사항 본문의 첫 번째 이미지 경로
+ * @returns {string|null} 이미지 URL 또는 null
  */
-function extractImageFromContent(noticeContent) {
-    if (!noticeContent) return null;
+function resolveContentImage(noticeImage) {
+    if (!noticeImage) return null;
     
-    try {
-        // HTML 내용에서 img 태그 찾기
-        const imgRegex = /<img[^>]+src\s*=\s*["']([^"']+)["'][^>]*>/i;
-        const match = noticeContent.match(imgRegex);
-        
-        if (match && match[1]) {
-            let imageUrl = match[1];
-            
-            // base64 이미지인 경우 직접 반환
-            if (imageUrl.startsWith('data:image/')) {
-                return imageUrl;
-            }
-            
-            // 상대 경로를 절대 경로로 변환
-            if (imageUrl.startsWith('/upload/')) {
-                imageUrl = `${API_BASE_URL}${imageUrl}`;
-            } else if (imageUrl.startsWith('upload/')) {
-                imageUrl = `${API_BASE_URL}/${imageUrl}`;
-            }
-            
-            return imageUrl;
-        }
-    } catch (error) {
-        console.warn('이미지 추출 중 오류:', error);
+    let imageUrl = noticeImage;
+    
+    // 상대 경로를 절대 경로로 변환
+    if (imageUrl.startsWith('/upload/')) {
+        imageUrl = `${API_BASE_URL}${imageUrl}`;
+    } else if (imageUrl.startsWith('upload/')) {
+        imageUrl = `${API_BASE_URL}/${imageUrl}`;
     }
     
-    return null;
+    return imageUrl;
 }
 
 /**
@@ -74,8 +59,8 @@ async function loadNoticesForSection() {
             
             // 각 공지사항의 썸네일 이미지 처리
             for (let notice of notices) {
-                // 1. 먼저 공지사항 내용에서 이미지 추출 시도
-                const contentImage = extractImageFromContent(notice.noticeContent);
+                // 1. 먼저 공지사항 본문의 대표 이미지 사용
+                const contentImage = resolveContentImage(notice.noticeImage);
                 if (contentImage) {
                     notice.thumbnailPath = contentImage;
                     continue; // 내용에서 이미지를 찾았으면 첨부파일 확인 생략
@@ -118,10 +103,8 @@ function displayNoticesForSection(notices) {
     }
     
     const noticeHTML = notices.map(notice => {
-        // HTML 태그 제거하여 텍스트만 추출
-        const textContent = notice.noticeContent ? 
-            notice.noticeContent.replace(/<[^>]*>/g, '').trim() : 
-            notice.noticeTitle || '내용이 없습니다.';
+        // 서버에서 만든 본문 요약(태그 제거 텍스트) 사용
+        const textContent = notice.noticeSummary || notice.noticeTitle || '내용이 없습니다.';
         const truncatedContent = textContent.length > 100 ? textContent.substring(0, 100) + '...' : textContent;
         
         // 썸네일 이미지 URL 결정